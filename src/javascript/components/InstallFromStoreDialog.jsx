@@ -1,4 +1,4 @@
-import React, {useCallback, useMemo, useState} from 'react';
+import React, {useCallback, useEffect, useMemo, useState} from 'react';
 import * as PropTypes from 'prop-types';
 import {Button, Loader, Typography} from '@jahia/moonstone';
 import {Dialog, DialogActions, DialogContent, DialogTitle} from '@material-ui/core';
@@ -7,10 +7,17 @@ import gql from 'graphql-tag';
 import {useTranslation} from 'react-i18next';
 import styles from './GenerateScriptDialog.scss';
 
-const STORE_MODULES_QUERY = gql`query {
-    admin { modulesManagement { storeModules { symbolicName title icon latestVersion storeUrl } } }
+// Search, ranking and paging happen server-side against the store search index; only one page is fetched.
+const STORE_MODULES_QUERY = gql`query ($searchTerm: String, $limit: Int) {
+    admin { modulesManagement {
+        storeModules(searchTerm: $searchTerm, limit: $limit) { symbolicName title icon latestVersion storeUrl }
+        matchCount: storeModulesCount(searchTerm: $searchTerm)
+        totalCount: storeModulesCount
+    } }
 }`;
 
+const PAGE_SIZE = 50;
+
 const INSTALL_STORE_MODULES_MUTATION = gql`mutation ($symbolicNames: [String]!) {
     admin { modulesManagement { installStoreModules(symbolicNames: $symbolicNames) } }
 }`;
@@ -84,37 +91,50 @@ StoreModuleRow.propTypes = {
 export const InstallFromStoreDialog = ({isOpen, onClose, onInstallSuccess}) => {
     const {t} = useTranslation('module-management-community');
     const [search, setSearch] = useState('');
+    const [debouncedSearch, setDebouncedSearch] = useState('');
+    const [limit, setLimit] = useState(PAGE_SIZE);
     const [selected, setSelected] = useState(new Set());
     const [status, setStatus] = useState('idle'); // Idle | installing | success | error
     const [statusMessage, setStatusMessage] = useState('');
 
-    const [loadModules, {data, loading, error}] = useLazyQuery(STORE_MODULES_QUERY, {
+    const [loadModules, {data, previousData, loading, error}] = useLazyQuery(STORE_MODULES_QUERY, {
         fetchPolicy: 'network-only'
     });
 
     const [installModules] = useMutation(INSTALL_STORE_MODULES_MUTATION);
 
+    // Keep showing the previous page while the next search is in flight, so type-ahead does not flicker
+    const result = (data || previousData)?.admin?.modulesManagement;
     // A11y / react-hooks: memoise so the reference is stable across renders
-    const allModules = useMemo(
-        () => data?.admin?.modulesManagement?.storeModules || [],
-        [data]
-    );
-
-    const filteredModules = useMemo(() => {
-        const q = search.trim().toLowerCase();
-        return q ? allModules.filter(m =>
-            m.symbolicName.toLowerCase().includes(q) ||
-            (m.title && m.title.toLowerCase().includes(q))
-        ) : allModules;
-    }, [allModules, search]);
+    const filteredModules = useMemo(() => result?.storeModules || [], [result]);
+    const matchCount = result?.matchCount ?? filteredModules.length;
+    const totalCount = result?.totalCount ?? filteredModules.length;
+    const isInitialLoad = loading && !result;
+
+    useEffect(() => {
+        const timerId = setTimeout(() => {
+            setDebouncedSearch(search.trim());
+            setLimit(PAGE_SIZE);
+        }, 200);
+        return () => clearTimeout(timerId);
+    }, [search]);
+
+    useEffect(() => {
+        if (isOpen) {
+            loadModules({variables: {searchTerm: debouncedSearch || null, limit}});
+        }
+    }, [isOpen, debouncedSearch, limit, loadModules]);
 
     const handleOpen = useCallback(() => {
         setSearch('');
+        setDebouncedSearch('');
+        setLimit(PAGE_SIZE);
         setSelected(new Set());
         setStatus('idle');
         setStatusMessage('');
-        loadModules();
-    }, [loadModules]);
+    }, []);
+
+    const showMore = useCallback(() => setLimit(prev => prev + PAGE_SIZE), []);
 
     const toggleModule = useCallback(name => {
         setSelected(prev => {
@@ -215,7 +235,7 @@ export const InstallFromStoreDialog = ({isOpen, onClose, onInstallSuccess}) => {
                 {/* Module list */}
                 <div className={styles.moduleList}>
                     {/* A11y C-005: loader with role="status" */}
-                    {loading && (
+                    {isInitialLoad && (
                         <div style={{display: 'flex', alignItems: 'center', gap: 8, padding: 16}}
                              role="status"
                              aria-live="polite"
@@ -231,13 +251,13 @@ export const InstallFromStoreDialog = ({isOpen, onClose, onInstallSuccess}) => {
                         </Typography>
                     )}
 
-                    {!loading && !error && filteredModules.length === 0 && (
+                    {!isInitialLoad && !error && filteredModules.length === 0 && (
                         <Typography variant="body" className={styles.empty}>
                             {search ? t('label.installFromStore.noResults') : t('label.installFromStore.noneAvailable')}
                         </Typography>
                     )}
 
-                    {!loading && !error && filteredModules.map(m => (
+                    {!isInitialLoad && !error && filteredModules.map(m => (
                         <StoreModuleRow
                             key={m.symbolicName}
                             module={m}
@@ -247,6 +267,14 @@ export const InstallFromStoreDialog = ({isOpen, onClose, onInstallSuccess}) => {
                             onToggle={toggleModule}
                         />
                     ))}
+
+                    {!isInitialLoad && !error && filteredModules.length < matchCount && (
+                        <Button variant="ghost"
+                                size="small"
+                                label={t('label.installFromStore.showMore', {shown: filteredModules.length, total: matchCount})}
+                                isDisabled={isInstalling || loading}
+                                onClick={showMore}/>
+                    )}
                 </div>
 
                 {/* A11y A-009: status feedback as live regions; A-013: emoji aria roles */}
@@ -267,12 +295,12 @@ export const InstallFromStoreDialog = ({isOpen, onClose, onInstallSuccess}) => {
                 )}
 
                 {/* Summary */}
-                {!loading && !error && (
+                {!isInitialLoad && !error && (
                     <Typography variant="caption" className={styles.summary}>
                         {t('label.installFromStore.summary', {
                             selected: visibleSelected,
                             total: filteredModules.length,
-                            totalStore: allModules.length
+                            totalStore: totalCount
                         })}
                     </Typography>
                 )}
@@ -85,7 +85,10 @@ const INSTALLED_MODULES_QUERY = gql`query {
 }`;
 
 const AVAILABLE_UPDATES_QUERY = gql`query {
-    admin { modulesManagement { availableUpdates lastUpdateTime } }
+    admin { modulesManagement {
+        availableUpdatesV2 { key symbolicName installedVersion targetVersion majorUpdate }
+        lastUpdateTime
+    } }
 }`;
 
 const UPDATE_MODULES_MUTATION = gql`mutation (
@@ -239,11 +242,12 @@ const ModuleManagementCommunityApp = () => {
     // ── Effects ────────────────────────────────────────────────────────────────
 
     useEffect(() => {
-        if (data?.admin?.modulesManagement?.availableUpdates) {
-            setUpdates(data.admin.modulesManagement.availableUpdates.map(m => ({
-                name: m.substring(0, m.indexOf('/')).trim(),
-                version: m.substring(m.indexOf('/') + 1, m.indexOf(':')).trim(),
-                available: m.substring(m.indexOf(':') + 1).trim()
+        if (data?.admin?.modulesManagement?.availableUpdatesV2) {
+            setUpdates(data.admin.modulesManagement.availableUpdatesV2.map(u => ({
+                name: u.symbolicName,
+                version: u.installedVersion,
+                available: u.targetVersion,
+                majorUpdate: u.majorUpdate
             })));
         }
     }, [data]);
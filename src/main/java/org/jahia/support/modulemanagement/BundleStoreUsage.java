@@ -0,0 +1,63 @@
+package org.jahia.support.modulemanagement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Storage used by the JCR bundle store ({@code /module-management/bundles}), as known by its catalogue.
+ */
+public class BundleStoreUsage {
+
+    /**
+     * Storage used by the stored versions of one module.
+     */
+    public static class ModuleUsage {
+        private final String symbolicName;
+        private final String jcrPath;
+        private final int versionCount;
+        private final long size;
+
+        public ModuleUsage(String symbolicName, String jcrPath, int versionCount, long size) {
+            this.symbolicName = symbolicName;
+            this.jcrPath = jcrPath;
+            this.versionCount = versionCount;
+            this.size = size;
+        }
+
+        public String getSymbolicName() {
+            return symbolicName;
+        }
+
+        /** Path of the folder holding the versions of the module. */
+        public String getJcrPath() {
+            return jcrPath;
+        }
+
+        public int getVersionCount() {
+            return versionCount;
+        }
+
+        /** Size in bytes of the JARs of all the stored versions. */
+        public long getSize() {
+            return size;
+        }
+    }
+
+    private final long totalSize;
+    private final List<ModuleUsage> modules;
+
+    public BundleStoreUsage(long totalSize, List<ModuleUsage> modules) {
+        this.totalSize = totalSize;
+        this.modules = Collections.unmodifiableList(modules);
+    }
+
+    /** Size in bytes of all the JARs of the store. */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /** Usage of every module of the store, largest first. */
+    public List<ModuleUsage> getModules() {
+        return modules;
+    }
+}
@@ -0,0 +1,102 @@
+package org.jahia.support.modulemanagement;
+
+import java.time.Instant;
+
+/**
+ * A long-running module operation run in the background by the job engine.
+ *
+ * <p>Instances are immutable snapshots: every state change of a job publishes a new instance.
+ */
+public class ModuleJob {
+
+    /**
+     * Lifecycle of a job.
+     */
+    public enum Status {
+        /** Waiting for a free worker. */
+        QUEUED,
+        RUNNING,
+        /** The operation returned; see {@link #getResult()}. */
+        SUCCEEDED,
+        /** The operation threw; see {@link #getError()}. */
+        FAILED,
+        /** Cancelled before it started, or stopped at the operation's next cancellation point. */
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String operation;
+    private final String description;
+    private final Status status;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String result;
+    private final String error;
+    private final boolean cancelRequested;
+
+    public ModuleJob(String id, String operation, String description, Status status, Instant submittedAt,
+                     Instant startedAt, Instant finishedAt, String result, String error, boolean cancelRequested) {
+        this.id = id;
+        this.operation = operation;
+        this.description = description;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.result = result;
+        this.error = error;
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /** Name of the operation, e.g. {@code installStoreModules}. */
+    public String getOperation() {
+        return operation;
+    }
+
+    /** Human-readable summary of the arguments of the operation. */
+    public String getDescription() {
+        return description;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /** {@code null} until a worker picks the job up. */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /** {@code null} until the job is finished. */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /** Summary returned by the operation once it succeeded, {@code null} otherwise. */
+    public String getResult() {
+        return result;
+    }
+
+    /** Error message of a failed job, {@code null} otherwise. */
+    public String getError() {
+        return error;
+    }
+
+    /** {@code true} once cancellation was requested, even if the job has not stopped yet. */
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+}
@@ -11,6 +11,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ModuleManagementCommunityService {
 
@@ -71,8 +72,51 @@ public interface ModuleManagementCommunityService {
 
     UpdateModulesResult updateModules(boolean jahiaOnly, boolean dryRun, List<String> filters, boolean autostart, boolean uninstallPrevious, boolean forceUpdateAll, boolean onStartup) throws IOException;
 
+    /**
+     * Same as {@link #updateModules(boolean, boolean, List, boolean, boolean, boolean, boolean)}, rolling the
+     * updates out in waves of {@code waveSize} bundles when it is positive. Waves are ordered so that modules
+     * come after the modules they depend on; outside dry-run mode they are executed by a background
+     * {@link ModuleJob}, whose ID is returned, each one verified before the next starts, and the returned script
+     * lists them in order. Only one rollout runs at a time.
+     *
+     * @param waveSize bundles per wave; 0 writes a single provisioning script, a negative value uses the configured wave size
+     */
+    UpdateModulesResult updateModules(boolean jahiaOnly, boolean dryRun, List<String> filters, boolean autostart, boolean uninstallPrevious, boolean forceUpdateAll, boolean onStartup, int waveSize) throws IOException;
+
+    /**
+     * Follow a provisioning script written by {@link #updateModules}, by the job ID of its {@link UpdateModulesResult}.
+     * A pending job reports the current state of its bundles.
+     *
+     * @return the job, or {@code null} when it is unknown (never submitted, or evicted by more recent jobs)
+     */
+    ProvisioningJob getProvisioningJob(String jobId);
+
+    /**
+     * The provisioning jobs still known, most recent first.
+     */
+    List<ProvisioningJob> listProvisioningJobs();
+
     Set<String> listAvailableUpdates(boolean jahiaOnly, List<String> filters, boolean forceUpdate) throws IOException;
 
+    /**
+     * Structured variant of {@link #listAvailableUpdates}: the matching updates as {@link ModuleUpdate} records,
+     * sorted by symbolic name then installed version, one page at a time.
+     *
+     * @param jahiaOnly   if true, only Jahia modules (module / system / templatesSet) are checked
+     * @param filters     optional regex patterns matched against the bundle key, as for {@link #listAvailableUpdates}
+     * @param source      only return updates found in this source ({@code null} = all)
+     * @param forceUpdate when true, bypass the result cache and rescan every bundle
+     * @param offset      number of results to skip
+     * @param limit       maximum number of results to return
+     */
+    List<ModuleUpdate> listAvailableUpdatesV2(boolean jahiaOnly, List<String> filters, ModuleUpdate.Source source,
+                                              boolean forceUpdate, int offset, int limit) throws IOException;
+
+    /**
+     * Total number of results {@link #listAvailableUpdatesV2} would return for the same filters without paging.
+     */
+    int countAvailableUpdates(boolean jahiaOnly, List<String> filters, ModuleUpdate.Source source) throws IOException;
+
     List<Feature> getFeatures(boolean jahiaOnly, List<String> filters) throws IOException;
 
     Set<String> getInstalledModules() throws IOException;
@@ -90,8 +134,27 @@ public interface ModuleManagementCommunityService {
 
     List<Map<String, Object>> getBundleVersionsFromJcr(Bundle bundle) throws RepositoryException;
 
+    /**
+     * Storage used by the JCR bundle store, per module.
+     */
+    BundleStoreUsage getBundleStoreUsage() throws RepositoryException;
+
     String installBundleVersionFromJcr(String jcrPath) throws IOException;
 
+    /**
+     * Restore a set of bundle versions from the JCR bundle store at once: the JARs are read in one JCR
+     * session and installed together by the module manager in dependency order, and the versions they supersede
+     * are uninstalled through the module manager with a single framework refresh.
+     *
+     * @param bundles     {@code symbolicName@version} of the versions to restore, or {@code null} when
+     *                    restoring to {@code pointInTime}
+     * @param pointInTime restore every installed module to the newest version stored in JCR at that time,
+     *                    ignored when {@code bundles} is given
+     * @return a human-readable summary of the restored and skipped bundles, and of the superseded versions
+     *         removed or that could not be removed
+     */
+    String restoreBundlesFromJcr(List<String> bundles, Instant pointInTime) throws IOException;
+
     /**
      * Return all non-SNAPSHOT versions of the given module that are listed in the store
      * catalogue index, sorted newest-first.
@@ -133,12 +196,31 @@ public interface ModuleManagementCommunityService {
      * filtered to only those compatible with the running Jahia version and having at
      * least one non-SNAPSHOT release.
      *
-     * @param searchTerm optional substring filter on the symbolic name (null = all)
-     * @return sorted list of maps with keys {@code symbolicName}, {@code latestVersion},
-     *         {@code storeUrl}, {@code groupId}
+     * @param searchTerm optional search term on symbolic name, title and groupId (null = all)
+     * @return list of maps with keys {@code symbolicName}, {@code latestVersion},
+     *         {@code storeUrl}, {@code groupId}, ranked as described below
      */
     List<Map<String, String>> getStoreModulesNotInstalled(String searchTerm);
 
+    /**
+     * Paged variant of {@link #getStoreModulesNotInstalled(String)} backed by the in-memory store
+     * search index. Matches on symbolic name, title and groupId; with a search term the results are
+     * ranked by relevance (exact name, then prefixes, then substrings), otherwise sorted by symbolic name.
+     *
+     * @param searchTerm optional case-insensitive search term (null or blank = all)
+     * @param offset     number of results to skip
+     * @param limit      maximum number of results to return
+     * @return one page of maps with keys {@code symbolicName}, {@code title}, {@code icon},
+     *         {@code latestVersion}, {@code storeUrl}, {@code groupId}
+     */
+    List<Map<String, String>> getStoreModulesNotInstalled(String searchTerm, int offset, int limit);
+
+    /**
+     * Total number of results {@link #getStoreModulesNotInstalled(String, int, int)} would return for
+     * {@code searchTerm} without paging.
+     */
+    int countStoreModulesNotInstalled(String searchTerm);
+
     /**
      * Install one or more modules from the store catalogue in a single provisioning
      * script execution.  For each symbolic name the latest compatible non-SNAPSHOT
@@ -160,11 +242,80 @@ public interface ModuleManagementCommunityService {
     String generateProvisioningScript(List<String> symbolicNames);
 
     /**
-     * Refresh the in-memory store module index by fetching the latest module list from
-     * {@code https://store.jahia.com/…/modules-repository.moduleList.json}.
-     * Falls back to the bundled classpath copy if the URL is unreachable.
-     * Invalidates the {@link #listAvailableUpdates} cache so the next call recomputes
-     * against the fresh index.
+     * Refresh the in-memory store module index by fetching the latest module lists from the configured
+     * catalogue URLs (by default {@code https://store.jahia.com/…/modules-repository.moduleList.json}).
+     * Catalogues are fetched in parallel, each within its own timeout, and merged with the first
+     * configured URL taking precedence for modules listed by several catalogues.
+     * An unreachable or slow catalogue keeps its previously fetched modules; the bundled classpath
+     * copy is used only if no index has been loaded yet. Every successfully fetched catalogue is
+     * persisted under the Jahia var directory and reloaded on the next activation.
+     * Requests are conditional ({@code If-None-Match} / {@code If-Modified-Since}); when no
+     * catalogue changed the current index and the {@link #listAvailableUpdates} cache are kept.
+     * Otherwise the new index is diffed against the previous one: only the cached updates of installed
+     * modules whose latest compatible release changed are recomputed, and an EventAdmin event carrying
+     * the delta is posted on {@code org/jahia/support/modulemanagement/storeIndex/CHANGED}.
      */
     void refreshStoreIndex();
+
+    // ── Background jobs ─────────────────────────────────────────────────────────
+    // Asynchronous variants of the long operations: each one queues a job on a bounded pool and returns
+    // at once. Queuing fails with an IOException when the queue is full or in read-only mode.
+
+    /**
+     * Queue {@link #installStoreModules}.
+     */
+    ModuleJob installStoreModulesAsync(List<String> symbolicNames) throws IOException;
+
+    /**
+     * Queue {@link #installBundleVersionFromStore}.
+     */
+    ModuleJob installBundleVersionFromStoreAsync(String symbolicName, String version) throws IOException;
+
+    /**
+     * Queue {@link #importModuleArchive}. The archive is copied from {@code zipStream} before returning,
+     * so the stream may be closed as soon as this method returns.
+     */
+    ModuleJob importModuleArchiveAsync(InputStream zipStream, String archiveName) throws IOException;
+
+    /**
+     * Queue {@link #cleanupJcrVersions}. Once cancelled, the cleanup stops after the current module and
+     * keeps what it has removed.
+     */
+    ModuleJob cleanupJcrVersionsAsync() throws IOException;
+
+    /**
+     * Queue {@link #exportModulesArchive}. Once the job has succeeded, the archive is available from
+     * {@link #getJobArchive}.
+     */
+    ModuleJob exportModulesArchiveAsync(ExportOptions options) throws IOException;
+
+    /**
+     * @return the job, or {@code null} when it is unknown
+     */
+    ModuleJob getJob(String jobId);
+
+    /**
+     * The jobs still known, including those of previous runs, most recent first.
+     */
+    List<ModuleJob> listJobs();
+
+    /**
+     * Request cancellation of a job: a queued job is dropped, a running one stops at its next cancellation point.
+     *
+     * @return the job after the request, or {@code null} when it is unknown
+     */
+    ModuleJob cancelJob(String jobId);
+
+    /**
+     * The archive produced by a succeeded {@link #exportModulesArchiveAsync} job, {@code null} otherwise.
+     * The file belongs to the job: callers must not delete it.
+     */
+    File getJobArchive(String jobId);
+
+    /**
+     * Be notified of every state change of every job, until {@link #removeJobListener} is called.
+     */
+    void addJobListener(Consumer<ModuleJob> listener);
+
+    void removeJobListener(Consumer<ModuleJob> listener);
 }
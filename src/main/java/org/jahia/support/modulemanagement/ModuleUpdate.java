@@ -0,0 +1,123 @@
+package org.jahia.support.modulemanagement;
+
+/**
+ * One detected update of an installed bundle.
+ *
+ * <p>Every field the update APIs filter on is stored separately, so filtering needs neither string
+ * parsing nor bundle lookups. The legacy {@code bundleKey : targetVersion} form returned by
+ * {@link ModuleManagementCommunityService#listAvailableUpdates} is built once and kept as {@link #getKey()}.
+ */
+public class ModuleUpdate {
+
+    /**
+     * Where an update was found.
+     */
+    public enum Source {
+        /** The Jahia store catalogue (Jahia modules). */
+        STORE,
+        /** Maven repository metadata (other bundles). */
+        MAVEN
+    }
+
+    private final String symbolicName;
+    private final String bundleKey;
+    private final String installedVersion;
+    private final String targetVersion;
+    private final String url;
+    private final String moduleType;
+    private final boolean jahiaModule;
+    private final Source source;
+    private final String requiredJahiaVersion;
+    private final String key;
+    private final boolean majorUpdate;
+
+    public ModuleUpdate(String symbolicName, String bundleKey, String installedVersion, String targetVersion,
+                        String url, String moduleType, boolean jahiaModule, Source source, String requiredJahiaVersion) {
+        this.symbolicName = symbolicName;
+        this.bundleKey = bundleKey;
+        this.installedVersion = installedVersion;
+        this.targetVersion = targetVersion;
+        this.url = url;
+        this.moduleType = moduleType;
+        this.jahiaModule = jahiaModule;
+        this.source = source;
+        this.requiredJahiaVersion = requiredJahiaVersion;
+        this.key = bundleKey + " : " + targetVersion;
+        this.majorUpdate = majorOf(targetVersion) > majorOf(installedVersion);
+    }
+
+    /** OSGi symbolic name of the installed bundle. */
+    public String getSymbolicName() {
+        return symbolicName;
+    }
+
+    /**
+     * Identifier the update filters are matched against: {@code symbolicName/installedVersion} for
+     * Jahia modules; for other bundles the module manager key, which may start with the groupId.
+     */
+    public String getBundleKey() {
+        return bundleKey;
+    }
+
+    public String getInstalledVersion() {
+        return installedVersion;
+    }
+
+    public String getTargetVersion() {
+        return targetVersion;
+    }
+
+    /** Where to install the target version from: a store download URL or an {@code mvn:} coordinate. */
+    public String getUrl() {
+        return url;
+    }
+
+    /** {@code Jahia-Module-Type} header of the installed bundle, {@code null} for other bundles. */
+    public String getModuleType() {
+        return moduleType;
+    }
+
+    /** {@code true} for module / system / templatesSet bundles, i.e. what {@code jahiaOnly} keeps. */
+    public boolean isJahiaModule() {
+        return jahiaModule;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /** Minimum Jahia version required by the target version, {@code null} when unknown (always for Maven). */
+    public String getRequiredJahiaVersion() {
+        return requiredJahiaVersion;
+    }
+
+    /** {@code true} when the target version has a higher major version than the installed one. */
+    public boolean isMajorUpdate() {
+        return majorUpdate;
+    }
+
+    /** {@code bundleKey : targetVersion}, the form returned by {@code listAvailableUpdates}. */
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    /**
+     * Leading numeric component of {@code version} ({@code 0} when there is none).
+     */
+    private static int majorOf(String version) {
+        int major = 0;
+        for (int i = 0; i < version.length() && major < Integer.MAX_VALUE / 10; i++) {
+            char c = version.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            major = major * 10 + (c - '0');
+        }
+        return major;
+    }
+}
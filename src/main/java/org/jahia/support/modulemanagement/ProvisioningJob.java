@@ -0,0 +1,110 @@
+package org.jahia.support.modulemanagement;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A provisioning script handed over to the Jahia provisioning file watcher by {@code updateModules}.
+ *
+ * <p>The watcher renames a script it has executed to {@code <fileName>.installed}, or to
+ * {@code <fileName>.failed} when it could not be executed. Until then the job is {@link Status#PENDING} and
+ * its per-bundle outcomes show how far the installation got. Instances are immutable snapshots: a job that
+ * completes is replaced by a new instance.
+ */
+public class ProvisioningJob {
+
+    /**
+     * State of the script, as reported by the marker file of the provisioning watcher.
+     */
+    public enum Status {
+        /** No marker yet: the script is waiting for, or being executed by, the watcher. */
+        PENDING,
+        /** The watcher executed the script ({@code .installed} marker). */
+        INSTALLED,
+        /** The watcher could not execute the script ({@code .failed} marker). */
+        FAILED
+    }
+
+    /**
+     * What became of one bundle of the script.
+     */
+    public enum BundleOutcome {
+        /** The target version is not installed yet and the job is still pending. */
+        PENDING,
+        /** The target version (or a later one) is installed but not active. */
+        INSTALLED,
+        /** The target version (or a later one) is active. */
+        ACTIVE,
+        /** The job completed without the target version being installed. */
+        MISSING
+    }
+
+    private final String id;
+    private final String fileName;
+    private final Instant submittedAt;
+    private final Instant completedAt;
+    private final Status status;
+    private final List<ModuleUpdate> updates;
+    private final Map<String, BundleOutcome> outcomes;
+
+    public ProvisioningJob(String id, String fileName, Instant submittedAt, Instant completedAt, Status status,
+                           List<ModuleUpdate> updates, Map<String, BundleOutcome> outcomes) {
+        this.id = id;
+        this.fileName = fileName;
+        this.submittedAt = submittedAt;
+        this.completedAt = completedAt;
+        this.status = status;
+        this.updates = Collections.unmodifiableList(updates);
+        this.outcomes = Collections.unmodifiableMap(outcomes);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /** Name of the script in {@code patches/provisioning}. */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /** When the marker file appeared, {@code null} while pending. */
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /** The updates of the script, in script order. */
+    public List<ModuleUpdate> getUpdates() {
+        return updates;
+    }
+
+    /** Outcome of each update, keyed by {@link ModuleUpdate#getKey()}. */
+    public Map<String, BundleOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    /** Number of updates whose target version is installed or active. */
+    public int getCompletedBundles() {
+        int completed = 0;
+        for (BundleOutcome outcome : outcomes.values()) {
+            if (outcome == BundleOutcome.INSTALLED || outcome == BundleOutcome.ACTIVE) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    /** Percentage of the updates whose target version is installed or active. */
+    public int getProgress() {
+        return updates.isEmpty() ? 100 : getCompletedBundles() * 100 / updates.size();
+    }
+}
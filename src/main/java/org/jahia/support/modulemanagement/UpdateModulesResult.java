@@ -5,15 +5,22 @@ import java.util.Set;
 /**
  * Result of an updateModules operation, containing both the list of affected modules
  * and the generated provisioning YAML script (always populated, both in dry-run and live modes).
+ * When the script was handed over to the provisioning file watcher, the ID of the job following it is included.
  */
 public class UpdateModulesResult {
 
     private final Set<String> modules;
     private final String yamlScript;
+    private final String jobId;
 
     public UpdateModulesResult(Set<String> modules, String yamlScript) {
+        this(modules, yamlScript, null);
+    }
+
+    public UpdateModulesResult(Set<String> modules, String yamlScript, String jobId) {
         this.modules = modules;
         this.yamlScript = yamlScript;
+        this.jobId = jobId;
     }
 
     public Set<String> getModules() {
@@ -23,5 +30,13 @@ public class UpdateModulesResult {
     public String getYamlScript() {
         return yamlScript;
     }
+
+    /**
+     * ID of the {@link ProvisioningJob} following the script, or, for a rollout in waves, of the
+     * {@link ModuleJob} running it; {@code null} in dry run and for a startup update.
+     */
+    public String getJobId() {
+        return jobId;
+    }
 }
 
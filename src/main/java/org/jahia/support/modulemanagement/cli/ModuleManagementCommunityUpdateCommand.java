@@ -27,6 +27,9 @@ public class ModuleManagementCommunityUpdateCommand implements Action {
     @Option(name = "--clean", description = "Clean up old module versions after update and autostart new version", required = false, multiValued = false)
     private boolean clean = false;
 
+    @Option(name = "--waveSize", description = "Roll the updates out in waves of this many bundles, each one verified before the next (0 for a single provisioning script, default: configured wave size)", required = false, multiValued = false)
+    private int waveSize = -1;
+
     @Option(name = "--refresh", description = "Refresh the module list before checking for updates", required = false, multiValued = false)
     private boolean refresh = false;
 
@@ -41,7 +44,7 @@ public class ModuleManagementCommunityUpdateCommand implements Action {
         if (refresh) {
             return ((ModuleManagementCommunityServiceImpl) communityService).listAvailableUpdates(true, null, true);
         }
-        UpdateModulesResult result = communityService.updateModules(true, dryRun, null, clean, clean, force, false);
+        UpdateModulesResult result = communityService.updateModules(true, dryRun, null, clean, clean, force, false, waveSize);
         if (dryRun && result.getYamlScript() != null) {
             return "Dry run — provisioning script:\n" + result.getYamlScript();
         }
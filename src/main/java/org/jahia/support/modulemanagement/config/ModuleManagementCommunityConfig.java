@@ -37,10 +37,75 @@ public @interface ModuleManagementCommunityConfig {
     String refreshModuleUpdatesInBackgroundCron() default "0 0 2 * * ?"; // Default to every day at 2 AM
 
     @AttributeDefinition(
-            name = "Store Module List URL",
-            description = "URL of the Jahia store module catalogue JSON used to detect available updates " +
-                    "for Jahia modules without requiring Maven metadata resolution."
+            name = "Store Module List URLs",
+            description = "Comma-separated list of Jahia store module catalogue JSON URLs used to detect available updates " +
+                    "for Jahia modules without requiring Maven metadata resolution. Catalogues are fetched in parallel and merged; " +
+                    "when a module is listed by several catalogues, the first URL in the list wins."
     )
     String storeModuleListUrl() default "https://store.jahia.com/en/sites/private-app-store/contents/modules-repository.moduleList.json";
 
+    @AttributeDefinition(
+            name = "Store Module List Timeout",
+            description = "Maximum time in seconds allowed for fetching each store catalogue. " +
+                    "A catalogue that does not answer in time keeps its previously fetched modules."
+    )
+    int storeModuleListTimeoutSeconds() default 60;
+
+    @AttributeDefinition(
+            name = "Maven Resolution Concurrency",
+            description = "Maximum number of Maven metadata lookups run in parallel when checking non-Jahia bundles for updates."
+    )
+    int mavenResolutionConcurrency() default 8;
+
+    @AttributeDefinition(
+            name = "Maven Resolution Timeout",
+            description = "Maximum time in seconds allowed for checking a single non-Jahia bundle against its Maven metadata. " +
+                    "Bundles that do not answer in time are skipped for that check. The whole check is bounded too, by this " +
+                    "timeout times the number of rounds the concurrency requires; lookups not started by then are skipped."
+    )
+    int mavenResolutionTimeoutSeconds() default 30;
+
+    @AttributeDefinition(
+            name = "Maven Metadata Cache TTL",
+            description = "Time in minutes during which parsed Maven metadata (available versions per groupId:artifactId) " +
+                    "is reused without contacting the Maven repositories. 0 disables caching."
+    )
+    int mavenMetadataCacheTtlMinutes() default 60;
+
+    @AttributeDefinition(
+            name = "Update Rollout Wave Size",
+            description = "Number of bundles installed per wave when updates are rolled out. Updates are ordered so that " +
+                    "modules come after the modules they depend on, and each wave is executed and verified before the next one starts. " +
+                    "When set, the module update limit no longer applies. 0 writes all updates to a single provisioning script."
+    )
+    int rolloutWaveSize() default 0;
+
+    @AttributeDefinition(
+            name = "Update Rollout Wave Timeout",
+            description = "Maximum time in seconds the bundles of a rollout wave are given to reach their expected state. " +
+                    "The rollout stops at the first wave that does not complete in time."
+    )
+    int rolloutWaveTimeoutSeconds() default 300;
+
+    @AttributeDefinition(
+            name = "Bundle Ready Timeout",
+            description = "Maximum time in seconds a bundle restored from the JCR bundle store is given to show up in OSGi. " +
+                    "When it does not, the previously installed versions are kept."
+    )
+    int bundleReadyTimeoutSeconds() default 30;
+
+    @AttributeDefinition(
+            name = "Background Job Concurrency",
+            description = "Maximum number of long module operations (store installs, archive import/export, JCR cleanup) " +
+                    "run in the background at the same time."
+    )
+    int jobConcurrency() default 2;
+
+    @AttributeDefinition(
+            name = "Background Job Queue Capacity",
+            description = "Maximum number of background module operations waiting for a free worker. " +
+                    "Further operations are refused until the queue drains."
+    )
+    int jobQueueCapacity() default 20;
+
 }
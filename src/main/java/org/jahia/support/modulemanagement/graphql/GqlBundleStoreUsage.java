@@ -0,0 +1,81 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLNonNull;
+import org.jahia.support.modulemanagement.BundleStoreUsage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@GraphQLName("BundleStoreUsage")
+@GraphQLDescription("Storage used by the module versions stored in /module-management/bundles/")
+public class GqlBundleStoreUsage {
+
+    private final BundleStoreUsage usage;
+
+    public GqlBundleStoreUsage(BundleStoreUsage usage) {
+        this.usage = usage;
+    }
+
+    @GraphQLField
+    @GraphQLName("totalSize")
+    @GraphQLDescription("Size in bytes of all the stored JARs")
+    public long getTotalSize() {
+        return usage.getTotalSize();
+    }
+
+    @GraphQLField
+    @GraphQLName("versionCount")
+    @GraphQLDescription("Number of stored versions, all modules together")
+    public int getVersionCount() {
+        return usage.getModules().stream().mapToInt(BundleStoreUsage.ModuleUsage::getVersionCount).sum();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("modules")
+    @GraphQLDescription("Usage of every module of the store, largest first")
+    public List<GqlModuleUsage> getModules() {
+        return usage.getModules().stream().map(GqlModuleUsage::new).collect(Collectors.toList());
+    }
+
+    @GraphQLName("BundleStoreModuleUsage")
+    @GraphQLDescription("Storage used by the stored versions of one module")
+    public static class GqlModuleUsage {
+        private final BundleStoreUsage.ModuleUsage module;
+
+        public GqlModuleUsage(BundleStoreUsage.ModuleUsage module) {
+            this.module = module;
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("symbolicName")
+        public String getSymbolicName() {
+            return module.getSymbolicName();
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("jcrPath")
+        @GraphQLDescription("Folder holding the versions of the module")
+        public String getJcrPath() {
+            return module.getJcrPath();
+        }
+
+        @GraphQLField
+        @GraphQLName("versionCount")
+        public int getVersionCount() {
+            return module.getVersionCount();
+        }
+
+        @GraphQLField
+        @GraphQLName("size")
+        @GraphQLDescription("Size in bytes of the JARs of all the stored versions")
+        public long getSize() {
+            return module.getSize();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLNonNull;
+import org.jahia.support.modulemanagement.ModuleJob;
+
+import java.time.Instant;
+
+@GraphQLName("ModuleJob")
+@GraphQLDescription("A long-running module operation executed in the background")
+public class GqlModuleJob {
+
+    private final ModuleJob job;
+
+    public GqlModuleJob(ModuleJob job) {
+        this.job = job;
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("id")
+    @GraphQLDescription("Job ID, to pass to job, cancelJob or the moduleJobs subscription")
+    public String getId() {
+        return job.getId();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("operation")
+    @GraphQLDescription("Operation run by the job: installStoreModules, installBundleVersionFromStore, importModuleArchive, cleanupJcrVersions or exportModulesArchive")
+    public String getOperation() {
+        return job.getOperation();
+    }
+
+    @GraphQLField
+    @GraphQLName("description")
+    @GraphQLDescription("Summary of the arguments of the operation")
+    public String getDescription() {
+        return job.getDescription();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("status")
+    @GraphQLDescription("QUEUED, RUNNING, SUCCEEDED, FAILED or CANCELLED")
+    public String getStatus() {
+        return job.getStatus().name();
+    }
+
+    @GraphQLField
+    @GraphQLName("finished")
+    @GraphQLDescription("True once the job has succeeded, failed or been cancelled")
+    public boolean isFinished() {
+        return job.getStatus().isFinished();
+    }
+
+    @GraphQLField
+    @GraphQLName("cancelRequested")
+    @GraphQLDescription("True once cancellation was requested, even if the job has not stopped yet")
+    public boolean isCancelRequested() {
+        return job.isCancelRequested();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("submittedAt")
+    public String getSubmittedAt() {
+        return job.getSubmittedAt().toString();
+    }
+
+    @GraphQLField
+    @GraphQLName("startedAt")
+    public String getStartedAt() {
+        return toString(job.getStartedAt());
+    }
+
+    @GraphQLField
+    @GraphQLName("finishedAt")
+    public String getFinishedAt() {
+        return toString(job.getFinishedAt());
+    }
+
+    @GraphQLField
+    @GraphQLName("result")
+    @GraphQLDescription("Summary returned by the operation")
+    public String getResult() {
+        return job.getResult();
+    }
+
+    @GraphQLField
+    @GraphQLName("error")
+    @GraphQLDescription("Error message of a failed job")
+    public String getError() {
+        return job.getError();
+    }
+
+    private static String toString(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+}
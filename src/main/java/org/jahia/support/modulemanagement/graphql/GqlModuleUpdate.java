@@ -0,0 +1,86 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLNonNull;
+import org.jahia.support.modulemanagement.ModuleUpdate;
+
+@GraphQLName("ModuleUpdate")
+@GraphQLDescription("An update available for an installed bundle")
+public class GqlModuleUpdate {
+
+    private final ModuleUpdate update;
+
+    public GqlModuleUpdate(ModuleUpdate update) {
+        this.update = update;
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("key")
+    @GraphQLDescription("Stable identifier of this update, in the 'symbolicName/installedVersion : targetVersion' form returned by availableUpdates")
+    public String getKey() {
+        return update.getKey();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("symbolicName")
+    @GraphQLDescription("Symbolic name of the installed bundle")
+    public String getSymbolicName() {
+        return update.getSymbolicName();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("installedVersion")
+    @GraphQLDescription("Currently installed version")
+    public String getInstalledVersion() {
+        return update.getInstalledVersion();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("targetVersion")
+    @GraphQLDescription("Version the bundle would be updated to")
+    public String getTargetVersion() {
+        return update.getTargetVersion();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("source")
+    @GraphQLDescription("Where the update was found: STORE (Jahia store catalogue) or MAVEN (Maven repository metadata)")
+    public String getSource() {
+        return update.getSource().name();
+    }
+
+    @GraphQLField
+    @GraphQLName("downloadUrl")
+    @GraphQLDescription("URL the target version is installed from: a store download URL or an mvn: coordinate")
+    public String getDownloadUrl() {
+        return update.getUrl();
+    }
+
+    @GraphQLField
+    @GraphQLName("requiredJahiaVersion")
+    @GraphQLDescription("Minimum Jahia version required by the target version, when the store catalogue declares one")
+    public String getRequiredJahiaVersion() {
+        return update.getRequiredJahiaVersion();
+    }
+
+    @GraphQLField
+    @GraphQLName("majorUpdate")
+    @GraphQLDescription("True when the target version has a higher major version than the installed one")
+    public boolean isMajorUpdate() {
+        return update.isMajorUpdate();
+    }
+
+    @GraphQLField
+    @GraphQLName("moduleType")
+    @GraphQLDescription("Jahia-Module-Type of the installed bundle (module, system, templatesSet), null for plain OSGi bundles")
+    public String getModuleType() {
+        return update.getModuleType();
+    }
+}
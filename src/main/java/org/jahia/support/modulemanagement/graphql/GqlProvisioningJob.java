@@ -0,0 +1,119 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLNonNull;
+import org.jahia.support.modulemanagement.ModuleUpdate;
+import org.jahia.support.modulemanagement.ProvisioningJob;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@GraphQLName("ProvisioningJob")
+@GraphQLDescription("A provisioning script written by updateModules, followed until the provisioning watcher has executed it")
+public class GqlProvisioningJob {
+
+    private final ProvisioningJob job;
+
+    public GqlProvisioningJob(ProvisioningJob job) {
+        this.job = job;
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("id")
+    @GraphQLDescription("Job ID, as returned by updateModules")
+    public String getId() {
+        return job.getId();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("fileName")
+    @GraphQLDescription("Name of the script in the patches/provisioning folder")
+    public String getFileName() {
+        return job.getFileName();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("status")
+    @GraphQLDescription("PENDING until the watcher has run the script, then INSTALLED or FAILED")
+    public String getStatus() {
+        return job.getStatus().name();
+    }
+
+    @GraphQLField
+    @GraphQLNonNull
+    @GraphQLName("submittedAt")
+    @GraphQLDescription("When the script was written")
+    public String getSubmittedAt() {
+        return job.getSubmittedAt().toString();
+    }
+
+    @GraphQLField
+    @GraphQLName("completedAt")
+    @GraphQLDescription("When the watcher marked the script as installed or failed, null while pending")
+    public String getCompletedAt() {
+        return job.getCompletedAt() != null ? job.getCompletedAt().toString() : null;
+    }
+
+    @GraphQLField
+    @GraphQLName("progress")
+    @GraphQLDescription("Percentage of the bundles of the script whose target version is installed")
+    public int getProgress() {
+        return job.getProgress();
+    }
+
+    @GraphQLField
+    @GraphQLName("bundles")
+    @GraphQLDescription("Outcome of each bundle of the script, in script order")
+    public List<GqlProvisioningJobBundle> getBundles() {
+        return job.getUpdates().stream()
+                .map(update -> new GqlProvisioningJobBundle(update, job.getOutcomes().get(update.getKey())))
+                .collect(Collectors.toList());
+    }
+
+    @GraphQLName("ProvisioningJobBundle")
+    @GraphQLDescription("Outcome of one bundle of a provisioning job")
+    public static class GqlProvisioningJobBundle {
+        private final ModuleUpdate update;
+        private final ProvisioningJob.BundleOutcome outcome;
+
+        public GqlProvisioningJobBundle(ModuleUpdate update, ProvisioningJob.BundleOutcome outcome) {
+            this.update = update;
+            this.outcome = outcome;
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("key")
+        @GraphQLDescription("Update key, as returned by availableUpdates")
+        public String getKey() {
+            return update.getKey();
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("symbolicName")
+        public String getSymbolicName() {
+            return update.getSymbolicName();
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("targetVersion")
+        public String getTargetVersion() {
+            return update.getTargetVersion();
+        }
+
+        @GraphQLField
+        @GraphQLNonNull
+        @GraphQLName("outcome")
+        @GraphQLDescription("PENDING, INSTALLED or ACTIVE; MISSING when the job completed without installing the target version")
+        public String getOutcome() {
+            return outcome.name();
+        }
+    }
+}
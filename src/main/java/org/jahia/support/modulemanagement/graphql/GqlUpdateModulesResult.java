@@ -32,5 +32,13 @@ public class GqlUpdateModulesResult {
     public String getYamlScript() {
         return result.getYamlScript();
     }
+
+    @GraphQLField
+    @GraphQLName("jobId")
+    @GraphQLDescription("ID of the provisioning job following the script written to the patches folder (see provisioningJob), or, for a rollout in waves, " +
+            "of the background job running it (see job, moduleJobs and cancelJob); null in dry-run and startup modes")
+    public String getJobId() {
+        return result.getJobId();
+    }
 }
 
@@ -0,0 +1,119 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import org.jahia.support.modulemanagement.ModuleJob;
+import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the state changes of background module jobs to GraphQL subscribers.
+ *
+ * <p>Each subscriber gets its own job listener on the service, removed when the subscription is cancelled.
+ * Changes are buffered until requested; when a slow subscriber lets more than {@link #MAX_BUFFERED} pile up,
+ * the oldest are dropped — every change carries the full state of its job, so the latest ones suffice.
+ * When following a single job, the stream completes once that job is finished.
+ */
+class ModuleJobPublisher implements Publisher<GqlModuleJob> {
+
+    private static final int MAX_BUFFERED = 256;
+
+    private final ModuleManagementCommunityService service;
+    private final String jobId;
+
+    /**
+     * @param jobId only publish the changes of this job, {@code null} for all jobs
+     */
+    ModuleJobPublisher(ModuleManagementCommunityService service, String jobId) {
+        this.service = service;
+        this.jobId = jobId;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super GqlModuleJob> subscriber) {
+        JobSubscription subscription = new JobSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        service.addJobListener(subscription);
+        if (jobId != null) {
+            // The job may have finished before the listener was registered
+            ModuleJob current = service.getJob(jobId);
+            if (current != null) {
+                subscription.accept(current);
+            } else {
+                // Job IDs are only known once submitted: an unknown job will never change
+                subscription.cancel();
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    private final class JobSubscription implements Subscription, Consumer<ModuleJob> {
+        private final Subscriber<? super GqlModuleJob> subscriber;
+        private final Queue<ModuleJob> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        // Serializes the signals sent to the subscriber, whatever thread produced them
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+
+        JobSubscription(Subscriber<? super GqlModuleJob> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void accept(ModuleJob job) {
+            if (done || (jobId != null && !jobId.equals(job.getId()))) {
+                return;
+            }
+            buffer.offer(job);
+            if (buffered.incrementAndGet() > MAX_BUFFERED && buffer.poll() != null) {
+                buffered.decrementAndGet();
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested " + n + " items, must be positive"));
+                return;
+            }
+            requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            service.removeJobListener(this);
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!done && requested.get() > 0) {
+                    ModuleJob job = buffer.poll();
+                    if (job == null) {
+                        break;
+                    }
+                    buffered.decrementAndGet();
+                    requested.decrementAndGet();
+                    subscriber.onNext(new GqlModuleJob(job));
+                    if (jobId != null && job.getStatus().isFinished()) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class ModuleManagementGraphQLExtensionsProvider implements DXGraphQLExten
     public Collection<Class<?>> getExtensions() {
         return Arrays.asList(
                 settingsBean.isClusterActivated() ? ClusteredModuleManagementMutations.class : ModuleManagementMutations.class,
-                ModuleManagementQuery.class);
+                ModuleManagementQuery.class,
+                ModuleManagementSubscription.class);
     }
 }
@@ -4,12 +4,16 @@ import graphql.annotations.annotationTypes.GraphQLDefaultValue;
 import graphql.annotations.annotationTypes.GraphQLDescription;
 import graphql.annotations.annotationTypes.GraphQLField;
 import graphql.annotations.annotationTypes.GraphQLName;
+import org.jahia.modules.graphql.provider.dxm.DataFetchingException;
 import org.jahia.modules.graphql.provider.dxm.util.GqlUtils;
 import org.jahia.osgi.BundleUtils;
+import org.jahia.support.modulemanagement.ModuleJob;
 import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
 
 import javax.jcr.RepositoryException;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 public class ModuleManagementMutationResult {
@@ -27,8 +31,10 @@ public class ModuleManagementMutationResult {
                                      @GraphQLName("uninstallPrevious") @GraphQLDefaultValue(GqlUtils.SupplierFalse.class) boolean uninstallPrevious,
                                      @GraphQLName("forceUpdateAll") @GraphQLDefaultValue(GqlUtils.SupplierFalse.class) boolean forceUpdateAll,
                                      @GraphQLName("onStartup") @GraphQLDefaultValue(GqlUtils.SupplierFalse.class) boolean onStartup,
-                                     @GraphQLName("filters") List<String> filters) throws IOException {
-        return new GqlUpdateModulesResult(moduleManagementCommunityService().updateModules(jahiaOnly, dryRun, filters, autostart, uninstallPrevious, forceUpdateAll, onStartup));
+                                     @GraphQLName("filters") List<String> filters,
+                                     @GraphQLName("waveSize") @GraphQLDescription("Roll the updates out in waves of this many bundles, each one verified before the next (0: single provisioning script; default: configured wave size)") Integer waveSize) throws IOException {
+        return new GqlUpdateModulesResult(moduleManagementCommunityService().updateModules(jahiaOnly, dryRun, filters, autostart, uninstallPrevious, forceUpdateAll, onStartup,
+                waveSize != null ? waveSize : -1));
     }
 
     @GraphQLField
@@ -57,6 +63,25 @@ public class ModuleManagementMutationResult {
         return moduleManagementCommunityService().installBundleVersionFromJcr(jcrPath);
     }
 
+    @GraphQLField
+    @GraphQLName("restoreBundlesFromJcr")
+    @GraphQLDescription("Restore several bundle versions stored in /module-management/bundles/ at once, installed " +
+            "together in dependency order; the versions they supersede are uninstalled with a single framework refresh. " +
+            "Give either the versions to restore, or a point in time to restore every installed module to the newest version stored then.")
+    public String restoreBundlesFromJcr(
+            @GraphQLName("bundles") @GraphQLDescription("Versions to restore, as symbolicName@version") List<String> bundles,
+            @GraphQLName("pointInTime") @GraphQLDescription("ISO-8601 instant, e.g. 2026-01-31T12:00:00Z") String pointInTime) throws IOException {
+        Instant instant = null;
+        if (pointInTime != null) {
+            try {
+                instant = Instant.parse(pointInTime);
+            } catch (DateTimeParseException e) {
+                throw new DataFetchingException("Invalid pointInTime, expected an ISO-8601 instant: " + pointInTime);
+            }
+        }
+        return moduleManagementCommunityService().restoreBundlesFromJcr(bundles, instant);
+    }
+
     @GraphQLField
     @GraphQLName("installBundleFromStore")
     @GraphQLDescription("Install a specific version of a Jahia module from the store catalogue. " +
@@ -93,4 +118,37 @@ public class ModuleManagementMutationResult {
             @GraphQLName("symbolicNames") List<String> symbolicNames) throws java.io.IOException {
         return moduleManagementCommunityService().installStoreModules(symbolicNames);
     }
+
+    @GraphQLField
+    @GraphQLName("installStoreModulesAsync")
+    @GraphQLDescription("Same as installStoreModules, run in the background. Returns the job to follow with the job query or the moduleJobs subscription.")
+    public GqlModuleJob installStoreModulesAsync(
+            @GraphQLName("symbolicNames") List<String> symbolicNames) throws IOException {
+        return new GqlModuleJob(moduleManagementCommunityService().installStoreModulesAsync(symbolicNames));
+    }
+
+    @GraphQLField
+    @GraphQLName("installBundleFromStoreAsync")
+    @GraphQLDescription("Same as installBundleFromStore, run in the background. Returns the job to follow with the job query or the moduleJobs subscription.")
+    public GqlModuleJob installBundleFromStoreAsync(
+            @GraphQLName("symbolicName") String symbolicName,
+            @GraphQLName("version") String version) throws IOException {
+        return new GqlModuleJob(moduleManagementCommunityService().installBundleVersionFromStoreAsync(symbolicName, version));
+    }
+
+    @GraphQLField
+    @GraphQLName("cleanupJcrVersionsAsync")
+    @GraphQLDescription("Same as cleanupJcrVersions, run in the background. Returns the job to follow with the job query or the moduleJobs subscription.")
+    public GqlModuleJob cleanupJcrVersionsAsync() throws IOException {
+        return new GqlModuleJob(moduleManagementCommunityService().cleanupJcrVersionsAsync());
+    }
+
+    @GraphQLField
+    @GraphQLName("cancelJob")
+    @GraphQLDescription("Cancel a background job: a queued job is dropped, a running one stops at its next cancellation point " +
+            "(a provisioning script already being executed runs to completion). Returns null when the job is unknown.")
+    public GqlModuleJob cancelJob(@GraphQLName("id") String id) {
+        ModuleJob job = moduleManagementCommunityService().cancelJob(id);
+        return job != null ? new GqlModuleJob(job) : null;
+    }
 }
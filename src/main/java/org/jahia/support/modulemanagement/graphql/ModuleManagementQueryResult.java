@@ -10,14 +10,19 @@ import org.jahia.modules.graphql.provider.dxm.DataFetchingException;
 import org.jahia.modules.graphql.provider.dxm.util.GqlUtils;
 import org.jahia.osgi.BundleUtils;
 import org.jahia.support.modulemanagement.ExportOptions;
+import org.jahia.support.modulemanagement.ModuleJob;
 import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
+import org.jahia.support.modulemanagement.ModuleUpdate;
+import org.jahia.support.modulemanagement.ProvisioningJob;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 
+import javax.jcr.RepositoryException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -31,6 +36,46 @@ public class ModuleManagementQueryResult {
         return getModuleManagementCommunityService().listAvailableUpdates(true, filters, false);
     }
 
+    @GraphQLField
+    @GraphQLName("availableUpdatesV2")
+    @GraphQLDescription("Return the available module updates as structured records, sorted by symbolic name. " +
+            "Use offset/limit to page through the results and availableUpdatesV2Count for the total.")
+    public List<GqlModuleUpdate> getAvailableUpdatesV2(
+            @GraphQLName("jahiaOnly") @GraphQLDefaultValue(GqlUtils.SupplierTrue.class) boolean jahiaOnly,
+            @GraphQLName("filters") @GraphQLDescription("Regex patterns matched against 'symbolicName/installedVersion'") List<String> filters,
+            @GraphQLName("source") @GraphQLDescription("Only return updates from this source: STORE or MAVEN (default: both)") String source,
+            @GraphQLName("offset") @GraphQLDescription("Number of results to skip (default 0)") Integer offset,
+            @GraphQLName("limit") @GraphQLDescription("Maximum number of results to return (default: all)") Integer limit) throws IOException {
+        return getModuleManagementCommunityService()
+                .listAvailableUpdatesV2(jahiaOnly, filters, parseUpdateSource(source), false,
+                        offset != null ? offset : 0,
+                        limit != null ? limit : Integer.MAX_VALUE)
+                .stream()
+                .map(GqlModuleUpdate::new)
+                .collect(Collectors.toList());
+    }
+
+    @GraphQLField
+    @GraphQLName("availableUpdatesV2Count")
+    @GraphQLDescription("Return the total number of updates availableUpdatesV2 would return for the same filters, ignoring paging")
+    public int getAvailableUpdatesV2Count(
+            @GraphQLName("jahiaOnly") @GraphQLDefaultValue(GqlUtils.SupplierTrue.class) boolean jahiaOnly,
+            @GraphQLName("filters") List<String> filters,
+            @GraphQLName("source") String source) throws IOException {
+        return getModuleManagementCommunityService().countAvailableUpdates(jahiaOnly, filters, parseUpdateSource(source));
+    }
+
+    private static ModuleUpdate.Source parseUpdateSource(String source) {
+        if (source == null || source.isEmpty()) {
+            return null;
+        }
+        try {
+            return ModuleUpdate.Source.valueOf(source.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new DataFetchingException("Unknown update source '" + source + "', expected STORE or MAVEN");
+        }
+    }
+
     private ModuleManagementCommunityService getModuleManagementCommunityService() {
         ModuleManagementCommunityService service = BundleUtils.getOsgiService(ModuleManagementCommunityService.class, null);
         if (service == null) {
@@ -56,6 +101,51 @@ public class ModuleManagementQueryResult {
     }
 
 
+    @GraphQLField
+    @GraphQLName("bundleStoreUsage")
+    @GraphQLDescription("Return the storage used by the module versions stored in /module-management/bundles/, per module")
+    public GqlBundleStoreUsage getBundleStoreUsage() {
+        try {
+            return new GqlBundleStoreUsage(getModuleManagementCommunityService().getBundleStoreUsage());
+        } catch (RepositoryException e) {
+            throw new DataFetchingException("Error reading the JCR bundle store", e);
+        }
+    }
+
+    @GraphQLField
+    @GraphQLName("provisioningJob")
+    @GraphQLDescription("Return the progress of a provisioning script written by updateModules, by its job ID; null when the job is unknown")
+    public GqlProvisioningJob getProvisioningJob(@GraphQLName("id") String id) {
+        ProvisioningJob job = getModuleManagementCommunityService().getProvisioningJob(id);
+        return job != null ? new GqlProvisioningJob(job) : null;
+    }
+
+    @GraphQLField
+    @GraphQLName("provisioningJobs")
+    @GraphQLDescription("Return the provisioning jobs still known, most recent first")
+    public List<GqlProvisioningJob> getProvisioningJobs() {
+        return getModuleManagementCommunityService().listProvisioningJobs().stream()
+                .map(GqlProvisioningJob::new)
+                .collect(Collectors.toList());
+    }
+
+    @GraphQLField
+    @GraphQLName("jobs")
+    @GraphQLDescription("Return the background module jobs still known, including those of previous runs, most recent first")
+    public List<GqlModuleJob> getJobs() {
+        return getModuleManagementCommunityService().listJobs().stream()
+                .map(GqlModuleJob::new)
+                .collect(Collectors.toList());
+    }
+
+    @GraphQLField
+    @GraphQLName("job")
+    @GraphQLDescription("Return a background module job by its ID; null when the job is unknown")
+    public GqlModuleJob getJob(@GraphQLName("id") String id) {
+        ModuleJob job = getModuleManagementCommunityService().getJob(id);
+        return job != null ? new GqlModuleJob(job) : null;
+    }
+
     @GraphQLField
     @GraphQLName("features")
     @GraphQLDescription("Return a list of features available in the Jahia community edition")
@@ -122,17 +212,30 @@ public class ModuleManagementQueryResult {
 
     @GraphQLField
     @GraphQLName("storeModules")
-    @GraphQLDescription("Return store modules that are not currently installed on this server, " +
-            "compatible with the running Jahia version, sorted by symbolic name.")
+    @GraphQLDescription("Return store modules that are not currently installed on this server and are " +
+            "compatible with the running Jahia version. Without a search term the list is sorted by symbolic name; " +
+            "with one it matches symbolic name, title and groupId and is ranked by relevance. " +
+            "Use offset/limit to page through the results and storeModulesCount for the total.")
     public List<GqlAvailableStoreModule> getStoreModules(
-            @GraphQLName("searchTerm") String searchTerm) {
+            @GraphQLName("searchTerm") String searchTerm,
+            @GraphQLName("offset") @GraphQLDescription("Number of results to skip (default 0)") Integer offset,
+            @GraphQLName("limit") @GraphQLDescription("Maximum number of results to return (default: all)") Integer limit) {
         return getModuleManagementCommunityService()
-                .getStoreModulesNotInstalled(searchTerm)
+                .getStoreModulesNotInstalled(searchTerm,
+                        offset != null ? offset : 0,
+                        limit != null ? limit : Integer.MAX_VALUE)
                 .stream()
                 .map(GqlAvailableStoreModule::new)
                 .collect(Collectors.toList());
     }
 
+    @GraphQLField
+    @GraphQLName("storeModulesCount")
+    @GraphQLDescription("Return the total number of store modules storeModules would return for the given search term, ignoring paging")
+    public int getStoreModulesCount(@GraphQLName("searchTerm") String searchTerm) {
+        return getModuleManagementCommunityService().countStoreModulesNotInstalled(searchTerm);
+    }
+
     @GraphQLName("GqlAvailableStoreModule")
     public static class GqlAvailableStoreModule {
         private final Map<String, String> data;
@@ -0,0 +1,31 @@
+package org.jahia.support.modulemanagement.graphql;
+
+import graphql.annotations.annotationTypes.GraphQLDescription;
+import graphql.annotations.annotationTypes.GraphQLField;
+import graphql.annotations.annotationTypes.GraphQLName;
+import graphql.annotations.annotationTypes.GraphQLTypeExtension;
+import org.jahia.modules.graphql.provider.dxm.DXGraphQLProvider;
+import org.jahia.modules.graphql.provider.dxm.security.GraphQLRequiresPermission;
+import org.jahia.osgi.BundleUtils;
+import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
+import org.reactivestreams.Publisher;
+
+/**
+ * Admin subscription class for Module Management
+ */
+@GraphQLTypeExtension(DXGraphQLProvider.Subscription.class)
+public final class ModuleManagementSubscription {
+
+    private ModuleManagementSubscription() {
+        // Utility class — prevent instantiation
+    }
+
+    @GraphQLField
+    @GraphQLName("moduleJobs")
+    @GraphQLDescription("Receive every state change of the background module jobs. When an id is given, only that job " +
+            "is followed, starting with its current state, and the stream completes once it is finished.")
+    @GraphQLRequiresPermission(value = "graphqlAdminQuery")
+    public static Publisher<GqlModuleJob> moduleJobs(@GraphQLName("id") String id) {
+        return new ModuleJobPublisher(BundleUtils.getOsgiService(ModuleManagementCommunityService.class, null), id);
+    }
+}
@@ -6,6 +6,7 @@ import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.jahia.services.securityfilter.PermissionService;
 import org.jahia.services.usermanager.JahiaUser;
+import org.jahia.support.modulemanagement.ModuleJob;
 import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -27,6 +28,8 @@ import java.io.PrintWriter;
  *
  * <p>Expects a multipart/form-data body with a field named {@code archive} (or {@code file})
  * containing a {@code .zip} file previously generated by the export endpoint.
+ * With the {@code async=true} query parameter the archive is imported by a background job and the
+ * response is {@code {"jobId": "..."}}.
  */
 @Component(
         service = Servlet.class,
@@ -64,7 +67,7 @@ public class ModuleArchiveImportServlet extends AbstractModuleManagementServlet
                 FileItemStream item = iterator.next();
                 String fieldName = item.getFieldName();
                 if (!item.isFormField() && ("archive".equals(fieldName) || "file".equals(fieldName))) {
-                    processArchiveItem(item, response, writer, currentUser);
+                    processArchiveItem(item, response, writer, currentUser, "true".equalsIgnoreCase(request.getParameter("async")));
                     return;
                 }
             }
@@ -83,7 +86,7 @@ public class ModuleArchiveImportServlet extends AbstractModuleManagementServlet
         }
     }
 
-    private void processArchiveItem(FileItemStream item, HttpServletResponse response, PrintWriter writer, JahiaUser currentUser) throws IOException {
+    private void processArchiveItem(FileItemStream item, HttpServletResponse response, PrintWriter writer, JahiaUser currentUser, boolean async) throws IOException {
         String fileName = ServletSupport.sanitizeFileName(item.getName(), "archive.zip");
         if (!fileName.toLowerCase().endsWith(".zip")) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
@@ -97,6 +100,11 @@ public class ModuleArchiveImportServlet extends AbstractModuleManagementServlet
         }
 
         try (InputStream stream = item.openStream()) {
+            if (async) {
+                ModuleJob job = moduleManagementCommunityService.importModuleArchiveAsync(stream, fileName);
+                writer.write("{\"jobId\":" + ServletSupport.toJsonString(job.getId()) + "}");
+                return;
+            }
             String result = moduleManagementCommunityService.importModuleArchive(stream, fileName);
             writer.write("{\"message\":" + ServletSupport.toJsonString(result) + "}");
         }
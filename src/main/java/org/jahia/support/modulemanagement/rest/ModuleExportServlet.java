@@ -4,6 +4,7 @@ import org.apache.commons.io.FileUtils;
 import org.jahia.services.securityfilter.PermissionService;
 import org.jahia.services.usermanager.JahiaUser;
 import org.jahia.support.modulemanagement.ExportOptions;
+import org.jahia.support.modulemanagement.ModuleJob;
 import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -31,6 +32,9 @@ import java.time.LocalDate;
  *   <li>{@code types} – comma-separated Jahia-Module-Type values to include
  *       (default: {@code module,system,templatesSet}).  Plain OSGi bundles are
  *       always excluded.</li>
+ *   <li>{@code async=true} – build the archive in a background job instead of on the
+ *       request thread; the response is {@code {"jobId": "..."}}.</li>
+ *   <li>{@code jobId} – download the archive built by a succeeded background job.</li>
  * </ul>
  */
 @Component(
@@ -62,7 +66,13 @@ public class ModuleExportServlet extends AbstractModuleManagementServlet {
                 return;
             }
             ServletSupport.applyCorsHeaders(request, response);
-            streamExport(request, response, currentUser);
+            if (request.getParameter("jobId") != null) {
+                streamJobArchive(request.getParameter("jobId"), response);
+            } else if ("true".equalsIgnoreCase(request.getParameter("async"))) {
+                submitExportJob(request, response, currentUser);
+            } else {
+                streamExport(request, response, currentUser);
+            }
         } catch (IOException e) {
             logger.error("Unexpected I/O error handling module export", e);
             if (!response.isCommitted()) {
@@ -71,6 +81,55 @@ public class ModuleExportServlet extends AbstractModuleManagementServlet {
         }
     }
 
+    private void submitExportJob(HttpServletRequest request, HttpServletResponse response, JahiaUser currentUser) throws IOException {
+        ExportOptions options = ExportOptions.fromParams(request.getParameter("types"),
+                !"false".equalsIgnoreCase(request.getParameter("embedAll")));
+        if (logger.isInfoEnabled()) {
+            logger.info("Background module export requested by '{}' for types: {}",
+                    ServletSupport.sanitizeForLog(currentUser.getName()), options.getTypes());
+        }
+        response.setContentType(ServletSupport.CONTENT_TYPE_JSON);
+        try {
+            ModuleJob job = moduleManagementCommunityService.exportModulesArchiveAsync(options);
+            response.getOutputStream().write(("{\"jobId\":" + ServletSupport.toJsonString(job.getId()) + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Error queuing module export", e);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.getOutputStream().write(ERROR_EXPORT_FAILED.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void streamJobArchive(String jobId, HttpServletResponse response) throws IOException {
+        File zipFile = moduleManagementCommunityService.getJobArchive(jobId);
+        if (zipFile == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentType(ServletSupport.CONTENT_TYPE_JSON);
+            response.getOutputStream().write("{\"error\":\"No export archive for this job\"}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        // The archive belongs to the job and stays available until the job is evicted
+        sendArchive(zipFile, response);
+    }
+
+    private void sendArchive(File zipFile, HttpServletResponse response) throws IOException {
+        String filename = "module-snapshot-" + LocalDate.now() + ".zip";
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+        response.setContentLengthLong(zipFile.length());
+        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        response.setHeader("Pragma", "no-cache");
+        response.setIntHeader("Expires", 0);
+
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(zipFile), BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int len;
+            while ((len = in.read(buffer)) > 0) {
+                response.getOutputStream().write(buffer, 0, len);
+            }
+        }
+    }
+
     private void streamExport(HttpServletRequest request, HttpServletResponse response, JahiaUser currentUser) {
         File zipFile = null;
         try {
@@ -84,22 +143,7 @@ public class ModuleExportServlet extends AbstractModuleManagementServlet {
                         ServletSupport.sanitizeForLog(currentUser.getName()), options.getTypes());
             }
             zipFile = moduleManagementCommunityService.exportModulesArchive(options);
-
-            String filename = "module-snapshot-" + LocalDate.now() + ".zip";
-            response.setContentType("application/zip");
-            response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
-            response.setContentLengthLong(zipFile.length());
-            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("Pragma", "no-cache");
-            response.setIntHeader("Expires", 0);
-
-            try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(zipFile), BUFFER_SIZE)) {
-                byte[] buffer = new byte[BUFFER_SIZE];
-                int len;
-                while ((len = in.read(buffer)) > 0) {
-                    response.getOutputStream().write(buffer, 0, len);
-                }
-            }
+            sendArchive(zipFile, response);
         } catch (Exception e) {
             // Detail is logged server-side only; clients get a generic message (no internal leak).
             logger.error("Error generating module export archive", e);
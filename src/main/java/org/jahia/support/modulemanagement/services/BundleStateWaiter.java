@@ -0,0 +1,116 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.Version;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Completes a future as soon as a bundle of a given symbolic name and version reaches the expected state.
+ *
+ * <p>A single {@link BundleListener} serves all the waits, which are indexed by symbolic name: a bundle
+ * event only looks at the waits of its own bundle, and nothing is polled. The bundles already installed are
+ * checked once when a wait is registered, so a bundle that got ready before that is not missed.
+ */
+final class BundleStateWaiter implements BundleListener {
+
+    private final BundleContext bundleContext;
+    private final Map<String, List<Wait>> waitsBySymbolicName = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private static final class Wait {
+        private final Predicate<Version> version;
+        private final boolean requireActive;
+        private final CompletableFuture<Bundle> future = new CompletableFuture<>();
+
+        private Wait(Predicate<Version> version, boolean requireActive) {
+            this.version = version;
+            this.requireActive = requireActive;
+        }
+
+        private void check(Bundle bundle) {
+            int state = bundle.getState();
+            if ((requireActive ? state == Bundle.ACTIVE : state != Bundle.UNINSTALLED)
+                    && version.test(bundle.getVersion())) {
+                future.complete(bundle);
+            }
+        }
+    }
+
+    BundleStateWaiter(BundleContext bundleContext) {
+        this.bundleContext = bundleContext;
+        bundleContext.addBundleListener(this);
+    }
+
+    /**
+     * Wait for a bundle of {@code symbolicName} whose version matches {@code version} to be installed, or
+     * ACTIVE when {@code requireActive} is set.
+     *
+     * <p>The future completes with the first matching bundle. It never completes on its own otherwise: the
+     * caller bounds the wait, e.g. with {@link CompletableFuture#get(long, java.util.concurrent.TimeUnit)}, and
+     * should cancel it once it gives up so that it is unregistered.
+     */
+    CompletableFuture<Bundle> await(String symbolicName, Predicate<Version> version, boolean requireActive) {
+        Wait wait = new Wait(version, requireActive);
+        if (closed) {
+            wait.future.cancel(false);
+            return wait.future;
+        }
+        waitsBySymbolicName.compute(symbolicName, (k, current) -> {
+            List<Wait> waits = current != null ? current : new CopyOnWriteArrayList<>();
+            waits.add(wait);
+            return waits;
+        });
+        wait.future.whenComplete((bundle, e) -> waitsBySymbolicName.computeIfPresent(symbolicName, (k, current) -> {
+            current.remove(wait);
+            return current.isEmpty() ? null : current;
+        }));
+        for (Bundle bundle : bundleContext.getBundles()) {
+            if (symbolicName.equals(bundle.getSymbolicName())) {
+                wait.check(bundle);
+            }
+        }
+        return wait.future;
+    }
+
+    /**
+     * Wait for exactly {@code version} of {@code symbolicName}.
+     */
+    CompletableFuture<Bundle> await(String symbolicName, String version, boolean requireActive) {
+        return await(symbolicName, v -> version.equals(v.toString()), requireActive);
+    }
+
+    @Override
+    public void bundleChanged(BundleEvent event) {
+        Bundle bundle = event.getBundle();
+        String symbolicName = bundle.getSymbolicName();
+        List<Wait> waits = symbolicName != null ? waitsBySymbolicName.get(symbolicName) : null;
+        if (waits != null) {
+            for (Wait wait : waits) {
+                wait.check(bundle);
+            }
+        }
+    }
+
+    /**
+     * Stop listening; the pending waits are cancelled.
+     */
+    void close() {
+        closed = true;
+        bundleContext.removeBundleListener(this);
+        for (List<Wait> waits : waitsBySymbolicName.values()) {
+            for (Wait wait : waits) {
+                wait.future.cancel(false);
+            }
+        }
+        waitsBySymbolicName.clear();
+    }
+}
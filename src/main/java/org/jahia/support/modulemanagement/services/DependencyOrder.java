@@ -0,0 +1,198 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Provider-first ordering of bundles about to be installed or upgraded.
+ *
+ * <p>Items are grouped by symbolic name into a dependency graph whose edges go from a bundle to the bundles
+ * it is wired to; dependencies on bundles outside the set are ignored. Each connected part of the graph is
+ * emitted as one contiguous group, so that the framework refresh triggered by a group covers the whole
+ * subgraph at once instead of cascading into packages of a group installed later. Within a group, a bundle
+ * always comes after its providers; bundles caught in a dependency cycle cannot be ordered and close the
+ * group. Ties are broken by {@code keyOf}, and groups come in the order of their smallest key, so the same
+ * input always gives the same order.
+ */
+final class DependencyOrder {
+
+    private DependencyOrder() {
+    }
+
+    /**
+     * @param items          the items to order
+     * @param symbolicNameOf symbolic name of an item; several items may share one
+     * @param keyOf          deterministic tie-breaker
+     * @param dependenciesOf symbolic names a bundle depends on
+     * @return the groups, each one in provider-first order
+     */
+    static <T> List<List<T>> groups(Collection<T> items, Function<T, String> symbolicNameOf, Function<T, String> keyOf,
+                                    Function<String, Collection<String>> dependenciesOf) {
+        Map<String, List<T>> bySymbolicName = new HashMap<>();
+        for (T item : items) {
+            bySymbolicName.computeIfAbsent(symbolicNameOf.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        Map<String, Set<String>> providers = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        Map<String, String> parent = new HashMap<>();
+        for (String symbolicName : bySymbolicName.keySet()) {
+            parent.put(symbolicName, symbolicName);
+        }
+        for (String symbolicName : bySymbolicName.keySet()) {
+            Set<String> own = new HashSet<>();
+            Collection<String> dependencies = dependenciesOf.apply(symbolicName);
+            for (String dependency : dependencies != null ? dependencies : Collections.<String>emptyList()) {
+                if (!dependency.equals(symbolicName) && bySymbolicName.containsKey(dependency) && own.add(dependency)) {
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(symbolicName);
+                    union(parent, symbolicName, dependency);
+                }
+            }
+            providers.put(symbolicName, own);
+        }
+
+        // Groups keyed by their smallest item key
+        Comparator<T> byKey = Comparator.comparing(keyOf);
+        Map<String, Set<String>> members = new HashMap<>();
+        Map<String, String> groupKeys = new HashMap<>();
+        for (Map.Entry<String, List<T>> entry : bySymbolicName.entrySet()) {
+            String root = find(parent, entry.getKey());
+            members.computeIfAbsent(root, k -> new LinkedHashSet<>()).add(entry.getKey());
+            for (T item : entry.getValue()) {
+                String key = keyOf.apply(item);
+                groupKeys.merge(root, key, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+        TreeMap<String, String> rootsByKey = new TreeMap<>();
+        groupKeys.forEach((root, key) -> rootsByKey.put(key, root));
+
+        List<List<T>> groups = new ArrayList<>(rootsByKey.size());
+        for (String root : rootsByKey.values()) {
+            groups.add(orderGroup(members.get(root), bySymbolicName, providers, dependents, symbolicNameOf, byKey));
+        }
+        return groups;
+    }
+
+    /**
+     * All items of {@link #groups}, concatenated.
+     */
+    static <T> List<T> sort(Collection<T> items, Function<T, String> symbolicNameOf, Function<T, String> keyOf,
+                            Function<String, Collection<String>> dependenciesOf) {
+        List<T> ordered = new ArrayList<>(items.size());
+        for (List<T> group : groups(items, symbolicNameOf, keyOf, dependenciesOf)) {
+            ordered.addAll(group);
+        }
+        return ordered;
+    }
+
+    /**
+     * Symbolic names listed by a {@code Jahia-Depends} manifest header, e.g.
+     * {@code default,bootstrap3-core=[4.0,5),other-module=optional}; version ranges and qualifiers are dropped.
+     */
+    static Set<String> parseJahiaDepends(String header) {
+        Set<String> names = new LinkedHashSet<>();
+        if (header == null) {
+            return names;
+        }
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= header.length(); i++) {
+            char c = i < header.length() ? header.charAt(i) : ',';
+            if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (c == ',' && depth == 0) {
+                String dependency = header.substring(start, i);
+                int end = dependency.length();
+                for (char separator : new char[]{'=', ';'}) {
+                    int at = dependency.indexOf(separator);
+                    if (at >= 0 && at < end) {
+                        end = at;
+                    }
+                }
+                String name = dependency.substring(0, end).trim();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+                start = i + 1;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Kahn's algorithm over the symbolic names of one group, picking the smallest key among the ready items.
+     */
+    private static <T> List<T> orderGroup(Set<String> symbolicNames, Map<String, List<T>> bySymbolicName,
+                                          Map<String, Set<String>> providers, Map<String, List<String>> dependents,
+                                          Function<T, String> symbolicNameOf, Comparator<T> byKey) {
+        Map<String, Integer> pending = new HashMap<>();
+        PriorityQueue<T> ready = new PriorityQueue<>(byKey);
+        for (String symbolicName : symbolicNames) {
+            int count = providers.get(symbolicName).size();
+            pending.put(symbolicName, count);
+            if (count == 0) {
+                ready.addAll(bySymbolicName.get(symbolicName));
+            }
+        }
+        List<T> ordered = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        while (!ready.isEmpty()) {
+            T item = ready.poll();
+            ordered.add(item);
+            String symbolicName = symbolicNameOf.apply(item);
+            // A symbolic name may have several items (one per installed version): release its dependents once
+            if (placed.add(symbolicName)) {
+                for (String dependent : dependents.getOrDefault(symbolicName, Collections.emptyList())) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.addAll(bySymbolicName.get(dependent));
+                    }
+                }
+            }
+        }
+        if (placed.size() < symbolicNames.size()) {
+            List<T> cyclic = new ArrayList<>();
+            for (String symbolicName : symbolicNames) {
+                if (!placed.contains(symbolicName)) {
+                    cyclic.addAll(bySymbolicName.get(symbolicName));
+                }
+            }
+            cyclic.sort(byKey);
+            ordered.addAll(cyclic);
+        }
+        return ordered;
+    }
+
+    private static String find(Map<String, String> parent, String name) {
+        String root = name;
+        while (!root.equals(parent.get(root))) {
+            root = parent.get(root);
+        }
+        // Path compression
+        while (!name.equals(root)) {
+            String next = parent.get(name);
+            parent.put(name, root);
+            name = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootA, rootB);
+        }
+    }
+}
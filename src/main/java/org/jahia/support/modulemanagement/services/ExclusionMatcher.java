@@ -0,0 +1,137 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code excludedModules} setting compiled once into a single matcher.
+ *
+ * <p>Every comma-separated entry {@code X} excludes the keys matching the regular expression
+ * {@code X\..*}, i.e. the keys starting with {@code X} followed by a dot. Most entries are plain names such
+ * as {@code org.apache.karaf}: they go into a character trie walked once per key, in which a {@code '.'}
+ * keeps its regex meaning of "any character". The remaining entries, which use other regex syntax, are
+ * combined into one alternation so that a key is tested against one {@link Pattern} instead of one per entry.
+ *
+ * <p>Results are memoized per key: the same bundles are tested on every update scan, and the outcome only
+ * depends on the configuration this matcher was built from.
+ */
+final class ExclusionMatcher {
+
+    static final ExclusionMatcher NONE = new ExclusionMatcher(new TrieNode(), null, 0);
+
+    // Entries made only of these characters have no regex meaning beyond '.' and can go into the trie
+    private static final Pattern PLAIN_ENTRY = Pattern.compile("[A-Za-z0-9_.\\-/]+");
+    private static final char WILDCARD = '.';
+    // Keys include bundle versions, so bound the memo in case a long-running node sees many of them
+    private static final int MAX_MEMOIZED = 4096;
+
+    private final TrieNode trie;
+    private final Pattern regex;
+    private final int size;
+    private final ConcurrentMap<String, Boolean> memo = new ConcurrentHashMap<>();
+
+    private ExclusionMatcher(TrieNode trie, Pattern regex, int size) {
+        this.trie = trie;
+        this.regex = regex;
+        this.size = size;
+    }
+
+    /**
+     * Compile the comma-separated {@code excludedModules} setting. Blank entries are ignored; a
+     * {@code null} or blank setting gives {@link #NONE}.
+     *
+     * @throws java.util.regex.PatternSyntaxException when an entry is not a valid regular expression
+     */
+    static ExclusionMatcher compile(String excludedModules) {
+        if (StringUtils.isBlank(excludedModules)) {
+            return NONE;
+        }
+        List<String> entries = Arrays.stream(excludedModules.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .distinct()
+                .collect(Collectors.toList());
+        if (entries.isEmpty()) {
+            return NONE;
+        }
+        TrieNode trie = new TrieNode();
+        List<String> alternatives = new ArrayList<>();
+        for (String entry : entries) {
+            if (PLAIN_ENTRY.matcher(entry).matches()) {
+                trie.add(entry);
+            } else {
+                // Group each entry on its own so that an alternation inside it keeps its original scope
+                alternatives.add("(?:" + entry + "\\..*)");
+            }
+        }
+        Pattern regex = alternatives.isEmpty() ? null : Pattern.compile(String.join("|", alternatives));
+        return new ExclusionMatcher(trie, regex, entries.size());
+    }
+
+    /**
+     * {@code true} when {@code key} is excluded by at least one entry.
+     */
+    boolean matches(String key) {
+        if (size == 0) {
+            return false;
+        }
+        Boolean cached = memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        boolean result = trie.matchesPrefix(key, 0) || (regex != null && regex.matcher(key).matches());
+        if (memo.size() >= MAX_MEMOIZED) {
+            memo.clear();
+        }
+        memo.put(key, result);
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        /** An entry ends here: the key is excluded if a literal dot follows. */
+        private boolean terminal;
+
+        void add(String entry) {
+            TrieNode node = this;
+            for (int i = 0; i < entry.length(); i++) {
+                node = node.children.computeIfAbsent(entry.charAt(i), c -> new TrieNode());
+            }
+            node.terminal = true;
+        }
+
+        /**
+         * Whether some entry, followed by a dot, is a prefix of {@code key} from {@code offset} on. Both
+         * the child for the actual character and the wildcard child have to be followed, but entries
+         * rarely share a prefix that differs only by a wildcard, so this almost never branches.
+         */
+        boolean matchesPrefix(String key, int offset) {
+            if (offset >= key.length()) {
+                return false;
+            }
+            char c = key.charAt(offset);
+            if (terminal && c == '.') {
+                return true;
+            }
+            TrieNode exact = children.get(c);
+            if (exact != null && exact.matchesPrefix(key, offset + 1)) {
+                return true;
+            }
+            TrieNode any = c == WILDCARD ? null : children.get(WILDCARD);
+            return any != null && any.matchesPrefix(key, offset + 1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.springframework.core.io.AbstractResource;
+
+import javax.jcr.Binary;
+import javax.jcr.RepositoryException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipException;
+
+/**
+ * A JAR of the JCR bundle store as a {@link org.springframework.core.io.Resource}, so that the module manager
+ * installs it straight from its {@code jcr:data} binary: nothing is copied to a temporary file, and the bundle
+ * gets the location the module manager gives to every module it installs.
+ *
+ * <p>Every stream it opens is checked before it is handed out: the manifest is read from the start of the
+ * stream within a marked buffer, then the stream is rewound. The bytes checked are therefore the bytes
+ * installed, and the JAR is read once. Only usable while the session the binary comes from is open; the
+ * caller disposes the binary.
+ */
+final class JcrBundleResource extends AbstractResource {
+
+    /**
+     * Bytes of the JAR the manifest must be found in. Build tools write it as the first entry.
+     */
+    static final int MANIFEST_READ_LIMIT = 1024 * 1024;
+
+    private final String jcrPath;
+    private final String fileName;
+    private final Binary binary;
+
+    JcrBundleResource(String jcrPath, String fileName, Binary binary) {
+        this.jcrPath = jcrPath;
+        this.fileName = fileName;
+        this.binary = binary;
+    }
+
+    /**
+     * Check that the JAR is an OSGi bundle, reading only the start of it.
+     *
+     * @throws IOException when it is not
+     */
+    void validate() throws IOException {
+        getInputStream().close();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (!fileName.toLowerCase().endsWith(".jar")) {
+            throw new IOException("Only .jar and .tgz files are accepted");
+        }
+        BufferedInputStream in;
+        try {
+            in = new BufferedInputStream(binary.getStream(), 64 * 1024);
+        } catch (RepositoryException e) {
+            throw new IOException("Error reading bundle from JCR path: " + jcrPath, e);
+        }
+        try {
+            checkManifest(in);
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the manifest at the start of {@code in}, then rewind {@code in} to where it was.
+     */
+    static void checkManifest(BufferedInputStream in) throws IOException {
+        in.mark(MANIFEST_READ_LIMIT);
+        Manifest manifest;
+        try {
+            // Not closed: that would close the underlying stream, which is handed out once rewound
+            manifest = new JarInputStream(in, false).getManifest();
+        } catch (ZipException e) {
+            throw new IOException("File is not a valid JAR archive: " + e.getMessage(), e);
+        }
+        if (manifest == null) {
+            throw new IOException("Invalid JAR: missing MANIFEST.MF");
+        }
+        if (manifest.getMainAttributes().getValue("Bundle-SymbolicName") == null) {
+            throw new IOException("File is not a valid OSGi bundle: missing Bundle-SymbolicName in MANIFEST.MF");
+        }
+        try {
+            in.reset();
+        } catch (IOException e) {
+            throw new IOException("Invalid JAR: MANIFEST.MF is not within the first " + MANIFEST_READ_LIMIT + " bytes", e);
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        try {
+            return binary.getSize();
+        } catch (RepositoryException e) {
+            throw new IOException("Error reading bundle from JCR path: " + jcrPath, e);
+        }
+    }
+
+    @Override
+    public String getFilename() {
+        return fileName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "JCR bundle [" + jcrPath + "]";
+    }
+}
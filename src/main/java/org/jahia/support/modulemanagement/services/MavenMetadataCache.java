@@ -0,0 +1,122 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.version.Version;
+import org.ops4j.pax.url.mvn.MavenResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the parsed {@code maven-metadata.xml} version lists, keyed by {@code groupId:artifactId}.
+ *
+ * <p>Within the TTL a lookup is a map read: no {@link MavenResolver#resolveMetadata} round-trip and no XML
+ * parsing, however many bundles or features share the artifact and however often updates are recomputed.
+ * Once the TTL has expired the metadata is resolved again, but the file is only re-parsed when its size or
+ * modification time changed — an unchanged file just renews the entry. Missing metadata is cached too, so a
+ * bundle that is not in any repository is not looked up again on every scan.
+ *
+ * <p>Lookups for different artifacts run concurrently; concurrent lookups for the same artifact resolve it once.
+ */
+final class MavenMetadataCache {
+    private static final Logger logger = LoggerFactory.getLogger(MavenMetadataCache.class);
+    private static final String MAVEN_METADATA_XML = "maven-metadata.xml";
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    MavenMetadataCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * All versions listed in the artifact's {@code maven-metadata.xml} (SNAPSHOTs included), sorted
+     * ascending. Empty when the metadata cannot be resolved. Unparseable version strings are skipped.
+     */
+    List<Version> getVersions(MavenResolver resolver, String groupId, String artifactId) throws IOException {
+        String key = groupId + ":" + artifactId;
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isExpired(ttlMillis)) {
+            return entry.versions;
+        }
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            entry = entries.get(key);
+            if (entry != null && !entry.isExpired(ttlMillis)) {
+                return entry.versions; // refreshed by a concurrent caller while we waited
+            }
+            Entry refreshed = load(resolver, groupId, artifactId, entry);
+            entries.put(key, refreshed);
+            return refreshed.versions;
+        }
+    }
+
+    private Entry load(MavenResolver resolver, String groupId, String artifactId, Entry previous) throws IOException {
+        File file = resolver.resolveMetadata(groupId, artifactId, MAVEN_METADATA_XML, null);
+        if (file == null || !file.exists()) {
+            logger.debug("No maven metadata for {}:{}", groupId, artifactId);
+            return new Entry(Collections.emptyList(), -1, -1);
+        }
+        long lastModified = file.lastModified();
+        long size = file.length();
+        if (previous != null && previous.lastModified == lastModified && previous.size == size) {
+            logger.debug("Maven metadata for {}:{} unchanged — reusing parsed versions", groupId, artifactId);
+            return new Entry(previous.versions, lastModified, size);
+        }
+        return new Entry(parse(file, groupId, artifactId), lastModified, size);
+    }
+
+    private List<Version> parse(File file, String groupId, String artifactId) throws IOException {
+        Metadata metadata;
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            metadata = new MetadataXpp3Reader().read(in, false);
+        } catch (XmlPullParserException e) {
+            throw new IOException("Invalid maven metadata for " + groupId + ":" + artifactId, e);
+        }
+        Versioning versioning = metadata.getVersioning();
+        if (versioning == null) {
+            return Collections.emptyList();
+        }
+        List<Version> versions = new ArrayList<>(versioning.getVersions().size());
+        for (String v : versioning.getVersions()) {
+            Version version = VersionCache.parseOrNull(v);
+            if (version != null) {
+                versions.add(version);
+            } else {
+                logger.debug("Skipping unparseable version {} of {}:{}", v, groupId, artifactId);
+            }
+        }
+        Collections.sort(versions);
+        logger.debug("Parsed {} versions from maven metadata of {}:{}", versions.size(), groupId, artifactId);
+        return Collections.unmodifiableList(versions);
+    }
+
+    private static final class Entry {
+        final List<Version> versions;
+        final long lastModified;
+        final long size;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(List<Version> versions, long lastModified, long size) {
+            this.versions = versions;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.jahia.api.Constants;
+import org.jahia.jaas.JahiaLoginModule;
+import org.jahia.services.content.JCRNodeIteratorWrapper;
+import org.jahia.services.content.JCRNodeWrapper;
+import org.jahia.services.content.JCRSessionFactory;
+import org.jahia.services.content.JCRTemplate;
+import org.jahia.services.usermanager.JahiaUserManagerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.jcr.Binary;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.observation.Event;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
+import javax.jcr.query.Query;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory catalogue of the JARs stored under {@code /module-management/bundles}.
+ *
+ * <p>Every reader of the store goes through the catalogue — previous versions, export, cleanup, restore and
+ * storage reporting — so that none of them walks the tree: JCR is only touched to read or remove a binary.
+ *
+ * <p>The whole store is loaded by a single JCR-SQL2 query over the bundle nodes, and kept as an immutable
+ * snapshot. A JCR {@link EventListener} on the subtree marks the snapshot stale on any change; the next read
+ * reloads it, so a burst of changes (a deployment storing several JARs, a cleanup) costs one reload. The
+ * listener lives as long as the system session it is registered on, which the catalogue therefore keeps open
+ * from {@link #open()} to {@link #close()}. Changes made on another cluster node may not be delivered as
+ * events: a snapshot older than {@link #MAX_AGE} is reloaded regardless.
+ */
+final class ModuleBundleStoreCatalogue implements EventListener {
+    private static final Logger logger = LoggerFactory.getLogger(ModuleBundleStoreCatalogue.class);
+
+    static final String BASE_PATH = "/module-management/bundles";
+    static final String NT_BUNDLE = "jnt:moduleManagementBundle";
+    private static final String JCR_CONTENT = "jcr:content";
+    private static final String JCR_DATA = "jcr:data";
+    private static final String JCR_LAST_MODIFIED = "jcr:lastModified";
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+    private static final int EVENT_TYPES = Event.NODE_ADDED | Event.NODE_REMOVED | Event.NODE_MOVED
+            | Event.PROPERTY_ADDED | Event.PROPERTY_CHANGED | Event.PROPERTY_REMOVED;
+
+    /**
+     * A JAR of the store: {@code /module-management/bundles/{group/path}/{symbolicName}/{version}/{file.jar}}.
+     */
+    static final class StoredBundle {
+        private final String symbolicName;
+        private final String version;
+        private final String moduleFolderPath;
+        private final String versionFolderPath;
+        private final String jarPath;
+        private final String fileName;
+        private final long size;
+        private final Instant lastModified;
+
+        StoredBundle(String symbolicName, String version, String moduleFolderPath, String versionFolderPath,
+                     String jarPath, String fileName, long size, Instant lastModified) {
+            this.symbolicName = symbolicName;
+            this.version = version;
+            this.moduleFolderPath = moduleFolderPath;
+            this.versionFolderPath = versionFolderPath;
+            this.jarPath = jarPath;
+            this.fileName = fileName;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        String getSymbolicName() {
+            return symbolicName;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        /** Path of the symbolic name folder, which tells modules of the same name in different groups apart. */
+        String getModuleFolderPath() {
+            return moduleFolderPath;
+        }
+
+        String getVersionFolderPath() {
+            return versionFolderPath;
+        }
+
+        String getJarPath() {
+            return jarPath;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        /** Size of the JAR in bytes, -1 when it could not be read. */
+        long getSize() {
+            return size;
+        }
+
+        /** {@code jcr:lastModified} of the JAR, i.e. when it was stored; {@code null} when missing. */
+        Instant getLastModified() {
+            return lastModified;
+        }
+    }
+
+    /**
+     * Reads every bundle of the store, grouped by symbolic name.
+     */
+    @FunctionalInterface
+    interface Loader {
+        Map<String, List<StoredBundle>> load() throws RepositoryException;
+    }
+
+    /**
+     * Opens the session the event listener is registered on.
+     */
+    @FunctionalInterface
+    interface SessionOpener {
+        Session open() throws RepositoryException;
+    }
+
+    private static final class Snapshot {
+        /** Versions of every symbolic name, newest first. */
+        private final Map<String, List<StoredBundle>> bySymbolicName;
+        /** Versions of every symbolic name folder, newest first, in path order. */
+        private final Map<String, List<StoredBundle>> byModuleFolder;
+        private final long totalSize;
+        private final long generation;
+        private final Instant loadedAt;
+
+        private Snapshot(Map<String, List<StoredBundle>> bySymbolicName, long generation, Instant loadedAt) {
+            this.bySymbolicName = bySymbolicName;
+            Map<String, List<StoredBundle>> modules = new TreeMap<>();
+            long size = 0;
+            for (List<StoredBundle> versions : bySymbolicName.values()) {
+                for (StoredBundle stored : versions) {
+                    modules.computeIfAbsent(stored.moduleFolderPath, k -> new ArrayList<>()).add(stored);
+                    size += Math.max(0, stored.size);
+                }
+            }
+            modules.replaceAll((path, versions) -> Collections.unmodifiableList(versions));
+            this.byModuleFolder = Collections.unmodifiableMap(modules);
+            this.totalSize = size;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final Loader loader;
+    private final SessionOpener sessionOpener;
+    // Incremented by every batch of events; a snapshot loaded at an older generation is stale
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    // Owned by the catalogue: logging it out unregisters the listener
+    private Session observationSession;
+
+    ModuleBundleStoreCatalogue(JCRTemplate jcrTemplate, JahiaUserManagerService jahiaUserManagerService) {
+        this(() -> queryStore(jcrTemplate, jahiaUserManagerService),
+                () -> JCRSessionFactory.getInstance().login(JahiaLoginModule.getSystemCredentials(), Constants.EDIT_WORKSPACE));
+    }
+
+    ModuleBundleStoreCatalogue(Loader loader, SessionOpener sessionOpener) {
+        this.loader = loader;
+        this.sessionOpener = sessionOpener;
+    }
+
+    /**
+     * Start observing the store. Without observation the catalogue still works, reloading every {@link #MAX_AGE}.
+     */
+    synchronized void open() {
+        if (observationSession != null) {
+            return;
+        }
+        Session session = null;
+        try {
+            session = sessionOpener.open();
+            session.getWorkspace().getObservationManager()
+                    .addEventListener(this, EVENT_TYPES, BASE_PATH, true, null, null, false);
+            observationSession = session;
+            logger.debug("Observing {} for the bundle store catalogue", BASE_PATH);
+        } catch (RepositoryException e) {
+            if (session != null) {
+                session.logout();
+            }
+            logger.warn("Could not observe {}, the bundle store catalogue is reloaded every {} min instead",
+                    BASE_PATH, MAX_AGE.toMinutes(), e);
+        }
+    }
+
+    /**
+     * Stop observing the store and log out the observation session.
+     */
+    synchronized void close() {
+        Session session = observationSession;
+        if (session == null) {
+            return;
+        }
+        observationSession = null;
+        try {
+            session.getWorkspace().getObservationManager().removeEventListener(this);
+        } catch (RepositoryException e) {
+            logger.warn("Could not stop observing {}", BASE_PATH, e);
+        } finally {
+            session.logout();
+        }
+    }
+
+    @Override
+    public void onEvent(EventIterator events) {
+        invalidate();
+    }
+
+    /**
+     * Reload on the next read. Observation events are delivered asynchronously: callers that just changed the
+     * store invalidate the catalogue themselves so that their next read sees the change.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Path of the folder holding the versions of a module: {@code /module-management/bundles/{group/path}/{symbolicName}}.
+     */
+    static String moduleFolderPath(String groupId, String symbolicName) {
+        return BASE_PATH + "/" + groupId.replace('.', '/') + "/" + symbolicName;
+    }
+
+    /**
+     * Stored versions of {@code symbolicName}, in every group, newest first.
+     */
+    List<StoredBundle> getVersions(String symbolicName) throws RepositoryException {
+        return current().bySymbolicName.getOrDefault(symbolicName, Collections.emptyList());
+    }
+
+    /**
+     * Stored versions of the module {@code groupId:symbolicName}, newest first.
+     */
+    List<StoredBundle> getVersions(String groupId, String symbolicName) throws RepositoryException {
+        return current().byModuleFolder.getOrDefault(moduleFolderPath(groupId, symbolicName), Collections.emptyList());
+    }
+
+    /**
+     * A JAR stored for {@code version} of the module {@code groupId:symbolicName}, {@code null} when there is none.
+     */
+    StoredBundle getVersion(String groupId, String symbolicName, String version) throws RepositoryException {
+        for (StoredBundle stored : getVersions(groupId, symbolicName)) {
+            if (stored.version.equals(version)) {
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stored versions of every module, keyed by symbolic name folder path, newest first.
+     */
+    Map<String, List<StoredBundle>> getModules() throws RepositoryException {
+        return current().byModuleFolder;
+    }
+
+    /**
+     * Size in bytes of all the JARs of the store.
+     */
+    long getTotalSize() throws RepositoryException {
+        return current().totalSize;
+    }
+
+    private Snapshot current() throws RepositoryException {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (!isFresh(current)) {
+                current = load();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.generation == generation.get()
+                && current.loadedAt.plus(MAX_AGE).isAfter(Instant.now());
+    }
+
+    private Snapshot load() throws RepositoryException {
+        // Read the generation first: events arriving during the query make the result stale right away
+        long loadedGeneration = generation.get();
+        Map<String, List<StoredBundle>> bySymbolicName = new HashMap<>();
+        for (Map.Entry<String, List<StoredBundle>> entry : loader.load().entrySet()) {
+            List<StoredBundle> versions = new ArrayList<>(entry.getValue());
+            VersionCache.sortNewestFirst(versions, StoredBundle::getVersion);
+            bySymbolicName.put(entry.getKey(), Collections.unmodifiableList(versions));
+        }
+        logger.debug("Bundle store catalogue loaded: {} module(s)", bySymbolicName.size());
+        return new Snapshot(Collections.unmodifiableMap(bySymbolicName), loadedGeneration, Instant.now());
+    }
+
+    /**
+     * The whole store in one JCR-SQL2 query over the bundle nodes.
+     */
+    private static Map<String, List<StoredBundle>> queryStore(JCRTemplate jcrTemplate,
+                                                              JahiaUserManagerService jahiaUserManagerService) throws RepositoryException {
+        return jcrTemplate.doExecuteWithSystemSessionAsUser(
+                jahiaUserManagerService.lookupRootUser().getJahiaUser(), Constants.EDIT_WORKSPACE, null, session -> {
+                    Map<String, List<StoredBundle>> result = new HashMap<>();
+                    if (!session.itemExists(BASE_PATH)) {
+                        return result;
+                    }
+                    String query = "select * from [" + NT_BUNDLE + "] as bundle where isdescendantnode(bundle, '" + BASE_PATH + "')";
+                    JCRNodeIteratorWrapper nodes = session.getWorkspace().getQueryManager()
+                            .createQuery(query, Query.JCR_SQL2).execute().getNodes();
+                    while (nodes.hasNext()) {
+                        StoredBundle stored = toStoredBundle((JCRNodeWrapper) nodes.nextNode());
+                        if (stored != null) {
+                            result.computeIfAbsent(stored.symbolicName, k -> new ArrayList<>()).add(stored);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static StoredBundle toStoredBundle(JCRNodeWrapper jarNode) {
+        try {
+            JCRNodeWrapper versionFolder = jarNode.getParent();
+            JCRNodeWrapper moduleFolder = versionFolder.getParent();
+            long size = -1;
+            Instant lastModified = null;
+            if (jarNode.hasNode(JCR_CONTENT)) {
+                JCRNodeWrapper content = jarNode.getNode(JCR_CONTENT);
+                if (content.hasProperty(JCR_DATA)) {
+                    Binary binary = content.getProperty(JCR_DATA).getBinary();
+                    try {
+                        size = binary.getSize();
+                    } finally {
+                        binary.dispose();
+                    }
+                }
+                if (content.hasProperty(JCR_LAST_MODIFIED)) {
+                    lastModified = content.getProperty(JCR_LAST_MODIFIED).getDate().toInstant();
+                }
+            }
+            return new StoredBundle(moduleFolder.getName(), versionFolder.getName(), moduleFolder.getPath(),
+                    versionFolder.getPath(), jarNode.getPath(), jarNode.getName(), size, lastModified);
+        } catch (RepositoryException e) {
+            logger.warn("Error reading stored bundle {}", jarNode.getPath(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.jahia.support.modulemanagement.ModuleJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs long module operations (store installs, archive import/export, JCR cleanup) off the request thread.
+ *
+ * <p>Jobs go through a bounded pool: at most {@code concurrency} run at once and {@code queueCapacity} wait,
+ * further submissions are refused rather than piling up. The status of every job is persisted as a small
+ * properties file, so finished jobs remain visible after a restart; jobs that were still queued or running
+ * when the module stopped are reported as failed.
+ *
+ * <p>Cancelling a queued job removes it from the queue. Cancelling a running job only sets its cancellation
+ * flag, which the operation checks through {@link #isCurrentJobCancelled()} between two steps, i.e. between
+ * two bundles or two modules. The worker is never interrupted: a provisioning script or a JCR save already
+ * under way runs to completion.
+ *
+ * <p>Only the most recent {@link #MAX_JOBS} jobs are kept, together with their files.
+ */
+final class ModuleJobEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ModuleJobEngine.class);
+
+    private static final int MAX_JOBS = 100;
+    private static final String STATUS_SUFFIX = ".properties";
+    private static final String ARTIFACT_SUFFIX = ".bin";
+    private static final String ATTACHMENT_SUFFIX = ".attachment";
+
+    // Cancellation flag of the job the current thread runs, if any
+    private static final ThreadLocal<AtomicBoolean> CURRENT_JOB_CANCELLED = new ThreadLocal<>();
+
+    /**
+     * A job body, given the ID of its job; returns the summary stored as the job result.
+     */
+    @FunctionalInterface
+    interface Task {
+        String run(String jobId) throws Exception;
+    }
+
+    private final Path directory;
+    private final ThreadPoolExecutor executor;
+    // Guarded by "this"; insertion order is submission order
+    private final Map<String, ModuleJob> jobs = new LinkedHashMap<>();
+    private final Map<String, Future<?>> futures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicBoolean> cancelFlags = new ConcurrentHashMap<>();
+    private final List<Consumer<ModuleJob>> listeners = new CopyOnWriteArrayList<>();
+
+    ModuleJobEngine(Path directory, int concurrency, int queueCapacity) {
+        this.directory = directory;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "module-management-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        load();
+    }
+
+    /**
+     * Queue {@code task} as a new job.
+     *
+     * @param operation   name of the operation, e.g. {@code installStoreModules}
+     * @param description summary of its arguments
+     * @throws IOException when the queue is full
+     */
+    ModuleJob submit(String operation, String description, Task task) throws IOException {
+        return submit(operation, description, null, task);
+    }
+
+    /**
+     * Queue {@code task} as a new job, with a copy of {@code attachment} (e.g. an uploaded archive) which the
+     * task reads from {@link #attachmentPath(String)}. The copy belongs to the engine: it is deleted as soon as
+     * the job is finished, whatever the outcome — including a job cancelled or dropped before it ever ran.
+     *
+     * @throws IOException when the attachment cannot be copied or the queue is full
+     */
+    ModuleJob submit(String operation, String description, InputStream attachment, Task task) throws IOException {
+        String id = UUID.randomUUID().toString();
+        if (attachment != null) {
+            Files.createDirectories(directory);
+            try {
+                Files.copy(attachment, attachmentPath(id));
+            } catch (IOException e) {
+                deleteAttachment(id);
+                throw e;
+            }
+        }
+        ModuleJob job = new ModuleJob(id, operation, description, ModuleJob.Status.QUEUED, Instant.now(),
+                null, null, null, null, false);
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            run(id, task);
+            return null;
+        });
+        synchronized (this) {
+            jobs.put(id, job);
+            futures.put(id, future);
+            cancelFlags.put(id, new AtomicBoolean());
+            persist(job);
+            evictFinishedJobs();
+        }
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                jobs.remove(id);
+                futures.remove(id);
+                cancelFlags.remove(id);
+                deleteFiles(id);
+            }
+            throw new IOException("Too many module operations are queued, please retry later");
+        }
+        logger.info("Module job {} queued: {} {}", id, operation, description);
+        publish(job);
+        return job;
+    }
+
+    /**
+     * The job with that ID, {@code null} when unknown.
+     */
+    synchronized ModuleJob get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * All known jobs, most recent first.
+     */
+    synchronized List<ModuleJob> list() {
+        List<ModuleJob> result = new ArrayList<>(jobs.values());
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Request cancellation of a job. A queued job is cancelled at once; a running one stops at its next
+     * cancellation point, its worker is not interrupted. Finished jobs are returned unchanged.
+     *
+     * @return the job after the request, {@code null} when unknown
+     */
+    ModuleJob cancel(String id) {
+        ModuleJob cancelled;
+        synchronized (this) {
+            ModuleJob job = jobs.get(id);
+            if (job == null || job.getStatus().isFinished() || job.isCancelRequested()) {
+                return job;
+            }
+            if (job.getStatus() == ModuleJob.Status.QUEUED) {
+                cancelled = copy(job, ModuleJob.Status.CANCELLED, null, Instant.now(), null, null, true);
+                dropQueued(id);
+            } else {
+                cancelled = copy(job, job.getStatus(), job.getStartedAt(), null, null, null, true);
+                AtomicBoolean flag = cancelFlags.get(id);
+                if (flag != null) {
+                    flag.set(true);
+                }
+            }
+            jobs.put(id, cancelled);
+            persist(cancelled);
+        }
+        logger.info("Cancellation of module job {} requested", id);
+        publish(cancelled);
+        return cancelled;
+    }
+
+    /**
+     * Whether a job of {@code operation} is queued or running.
+     */
+    synchronized boolean hasUnfinishedJob(String operation) {
+        for (ModuleJob job : jobs.values()) {
+            if (job.getOperation().equals(operation) && !job.getStatus().isFinished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether cancellation of the job run by the calling thread was requested; always {@code false} outside a
+     * job. Long operations check it between two steps and stop there.
+     */
+    static boolean isCurrentJobCancelled() {
+        AtomicBoolean flag = CURRENT_JOB_CANCELLED.get();
+        return flag != null && flag.get();
+    }
+
+    /**
+     * File a job may leave its output in (e.g. an export archive); deleted together with the job.
+     */
+    Path artifactPath(String id) {
+        return directory.resolve(id + ARTIFACT_SUFFIX);
+    }
+
+    /**
+     * Copy of the attachment given at submission; deleted once the job is finished.
+     */
+    Path attachmentPath(String id) {
+        return directory.resolve(id + ATTACHMENT_SUFFIX);
+    }
+
+    void addListener(Consumer<ModuleJob> listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Consumer<ModuleJob> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stop the workers. Queued jobs are cancelled; running jobs are asked to stop at their next cancellation
+     * point, and are reported as failed at the next start if they do not finish in time.
+     */
+    void shutdown() {
+        executor.shutdown();
+        synchronized (this) {
+            for (ModuleJob job : new ArrayList<>(jobs.values())) {
+                if (job.getStatus() == ModuleJob.Status.QUEUED) {
+                    ModuleJob cancelled = copy(job, ModuleJob.Status.CANCELLED, null, Instant.now(), null,
+                            "Cancelled by a stop of the module", job.isCancelRequested());
+                    dropQueued(job.getId());
+                    jobs.put(job.getId(), cancelled);
+                    persist(cancelled);
+                }
+            }
+            cancelFlags.values().forEach(flag -> flag.set(true));
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Take a queued job out of the executor queue and release what it holds. Called with the lock held.
+     */
+    private void dropQueued(String id) {
+        Future<?> future = futures.remove(id);
+        if (future instanceof Runnable) {
+            executor.remove((Runnable) future);
+        }
+        if (future != null) {
+            future.cancel(false);
+        }
+        cancelFlags.remove(id);
+        deleteAttachment(id);
+    }
+
+    private void run(String id, Task task) {
+        ModuleJob job;
+        synchronized (this) {
+            job = jobs.get(id);
+            if (job == null || job.getStatus() != ModuleJob.Status.QUEUED) {
+                return; // cancelled while queued
+            }
+            job = copy(job, ModuleJob.Status.RUNNING, Instant.now(), null, null, null, false);
+            jobs.put(id, job);
+            persist(job);
+        }
+        publish(job);
+        String result = null;
+        String error = null;
+        CURRENT_JOB_CANCELLED.set(cancelFlags.computeIfAbsent(id, k -> new AtomicBoolean()));
+        try {
+            result = task.run(id);
+        } catch (InterruptedException | InterruptedIOException | CancellationException e) {
+            error = "Interrupted";
+        } catch (Exception e) {
+            logger.error("Module job {} ({}) failed", id, job.getOperation(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        } finally {
+            CURRENT_JOB_CANCELLED.remove();
+            futures.remove(id);
+            cancelFlags.remove(id);
+            deleteAttachment(id);
+        }
+        ModuleJob finished;
+        synchronized (this) {
+            ModuleJob current = jobs.get(id);
+            if (current == null) {
+                return; // evicted meanwhile
+            }
+            ModuleJob.Status status;
+            if (current.isCancelRequested()) {
+                status = ModuleJob.Status.CANCELLED;
+            } else {
+                status = error == null ? ModuleJob.Status.SUCCEEDED : ModuleJob.Status.FAILED;
+            }
+            finished = copy(current, status, current.getStartedAt(), Instant.now(), result, error, current.isCancelRequested());
+            jobs.put(id, finished);
+            persist(finished);
+        }
+        logger.info("Module job {} ({}) {}", id, finished.getOperation(), finished.getStatus());
+        publish(finished);
+    }
+
+    private void publish(ModuleJob job) {
+        // Listeners are called outside the lock, so two changes of a job may be published in either order:
+        // always publish its latest state, so that the last notification received is the current one
+        ModuleJob latest = get(job.getId());
+        if (latest == null) {
+            return;
+        }
+        for (Consumer<ModuleJob> listener : listeners) {
+            try {
+                listener.accept(latest);
+            } catch (RuntimeException e) {
+                logger.warn("Module job listener failed", e);
+            }
+        }
+    }
+
+    private static ModuleJob copy(ModuleJob job, ModuleJob.Status status, Instant startedAt, Instant finishedAt,
+                                  String result, String error, boolean cancelRequested) {
+        return new ModuleJob(job.getId(), job.getOperation(), job.getDescription(), status, job.getSubmittedAt(),
+                startedAt, finishedAt, result, error, cancelRequested);
+    }
+
+    private void evictFinishedJobs() {
+        Iterator<ModuleJob> it = jobs.values().iterator();
+        while (jobs.size() > MAX_JOBS && it.hasNext()) {
+            ModuleJob job = it.next();
+            if (job.getStatus().isFinished()) {
+                it.remove();
+                deleteFiles(job.getId());
+            }
+        }
+    }
+
+    // ── Persistence ──────────────────────────────────────────────────────────────
+
+    private void persist(ModuleJob job) {
+        Properties properties = new Properties();
+        properties.setProperty("id", job.getId());
+        properties.setProperty("operation", job.getOperation());
+        setIfNotNull(properties, "description", job.getDescription());
+        properties.setProperty("status", job.getStatus().name());
+        properties.setProperty("submittedAt", job.getSubmittedAt().toString());
+        setIfNotNull(properties, "startedAt", job.getStartedAt());
+        setIfNotNull(properties, "finishedAt", job.getFinishedAt());
+        setIfNotNull(properties, "result", job.getResult());
+        setIfNotNull(properties, "error", job.getError());
+        properties.setProperty("cancelRequested", Boolean.toString(job.isCancelRequested()));
+        try {
+            Files.createDirectories(directory);
+            Path tmp = directory.resolve(job.getId() + STATUS_SUFFIX + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            Files.move(tmp, directory.resolve(job.getId() + STATUS_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The job itself is unaffected; only its status will not survive a restart
+            logger.warn("Could not persist status of module job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private static void setIfNotNull(Properties properties, String key, Object value) {
+        if (value != null) {
+            properties.setProperty(key, value.toString());
+        }
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<ModuleJob> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + STATUS_SUFFIX)) {
+            for (Path file : files) {
+                ModuleJob job = read(file);
+                if (job != null) {
+                    loaded.add(job);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read persisted module jobs from {}: {}", directory, e.getMessage());
+            return;
+        }
+        // No job survives a restart, so neither does any attachment
+        try (DirectoryStream<Path> attachments = Files.newDirectoryStream(directory, "*" + ATTACHMENT_SUFFIX)) {
+            for (Path attachment : attachments) {
+                Files.deleteIfExists(attachment);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete the attachments of interrupted module jobs from {}: {}", directory, e.getMessage());
+        }
+        loaded.sort(Comparator.comparing(ModuleJob::getSubmittedAt));
+        synchronized (this) {
+            for (ModuleJob job : loaded) {
+                if (!job.getStatus().isFinished()) {
+                    job = copy(job, ModuleJob.Status.FAILED, job.getStartedAt(), Instant.now(), null,
+                            "Interrupted by a restart of the module", job.isCancelRequested());
+                    persist(job);
+                }
+                jobs.put(job.getId(), job);
+            }
+            evictFinishedJobs();
+        }
+        logger.info("Loaded {} persisted module job(s)", jobs.size());
+    }
+
+    private ModuleJob read(Path file) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            return new ModuleJob(properties.getProperty("id"), properties.getProperty("operation"),
+                    properties.getProperty("description"),
+                    ModuleJob.Status.valueOf(properties.getProperty("status")),
+                    Instant.parse(properties.getProperty("submittedAt")),
+                    parseInstant(properties.getProperty("startedAt")),
+                    parseInstant(properties.getProperty("finishedAt")),
+                    properties.getProperty("result"), properties.getProperty("error"),
+                    Boolean.parseBoolean(properties.getProperty("cancelRequested")));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable module job file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        return value != null ? Instant.parse(value) : null;
+    }
+
+    private void deleteFiles(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + STATUS_SUFFIX));
+            Files.deleteIfExists(artifactPath(id));
+            Files.deleteIfExists(attachmentPath(id));
+        } catch (IOException e) {
+            logger.debug("Could not delete files of module job {}", id, e);
+        }
+    }
+
+    private void deleteAttachment(String id) {
+        try {
+            Files.deleteIfExists(attachmentPath(id));
+        } catch (IOException e) {
+            logger.warn("Could not delete the attachment of module job {}: {}", id, e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,11 @@
 package org.jahia.support.modulemanagement.services;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.felix.utils.collections.MapToDictionary;
 import org.apache.karaf.features.Feature;
 import org.apache.karaf.features.FeaturesService;
-import org.apache.maven.artifact.repository.metadata.Versioning;
-import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
-import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.util.version.GenericVersionScheme;
@@ -30,6 +25,7 @@ import org.jahia.osgi.FrameworkService;
 import org.jahia.services.content.*;
 import org.jahia.services.content.decorator.JCRSiteNode;
 import org.jahia.services.modulemanager.BundleInfo;
+import org.jahia.services.modulemanager.ModuleManagementException;
 import org.jahia.services.modulemanager.ModuleManager;
 import org.jahia.services.modulemanager.spi.BundleService;
 import org.jahia.services.provisioning.ProvisioningManager;
@@ -40,19 +36,31 @@ import org.jahia.services.templates.JahiaTemplateManagerService;
 import org.jahia.services.usermanager.JahiaUser;
 import org.jahia.services.usermanager.JahiaUserManagerService;
 import org.jahia.settings.SettingsBean;
+import org.jahia.support.modulemanagement.BundleStoreUsage;
 import org.jahia.support.modulemanagement.ExportOptions;
 import org.jahia.support.modulemanagement.ModuleManagementCommunityService;
+import org.jahia.support.modulemanagement.ModuleJob;
+import org.jahia.support.modulemanagement.ModuleUpdate;
+import org.jahia.support.modulemanagement.ProvisioningJob;
 import org.jahia.support.modulemanagement.UpdateModulesResult;
 import org.jahia.support.modulemanagement.config.ModuleManagementCommunityConfig;
 import org.ops4j.pax.url.mvn.MavenResolver;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
 import org.osgi.framework.startlevel.BundleStartLevel;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
+import org.osgi.framework.wiring.FrameworkWiring;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,23 +68,42 @@ import org.springframework.core.io.Resource;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.jcr.Binary;
 import javax.jcr.Node;
+import javax.jcr.PathNotFoundException;
 import javax.jcr.RepositoryException;
 import javax.jcr.query.Query;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -89,10 +116,18 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
     public static final String INVALID_VERSION_SPECIFICATION = "Invalid version specification";
     public static final String CLUSTER_SYNCHRONIZED_YAML_SKIPPED = "module-management-community.clusterSynchronized.yaml.skipped"; // We need to use skipped suffix to avoid execution on startup before cluster is ready
     public static final String CLUSTER_SYNCHRONIZED_YAML = "module-management-community.clusterSynchronized.yaml";
+    /**
+     * EventAdmin topic posted after a refresh changed the store module index. Properties (all {@code String[]}):
+     * {@code addedModules}, {@code removedModules}, {@code addedVersions} and {@code removedVersions}
+     * (as {@code symbolicName/version}), and {@code affectedModules} (modules whose latest compatible release changed).
+     */
+    public static final String EVENT_TOPIC_STORE_INDEX_CHANGED = "org/jahia/support/modulemanagement/storeIndex/CHANGED";
 
     // ── Internal string constants (de-duplicated literals) ───────────────────────
     private static final String VERSION = "version";
+    private static final String JAHIA_DEPENDS = "Jahia-Depends";
     private static final String JAHIA_GROUP_ID = "Jahia-GroupId";
+    private static final String JAHIA_MODULE_TYPE = "Jahia-Module-Type";
     private static final String JCR_CONTENT = "jcr:content";
     private static final String JCR_DATA = "jcr:data";
     private static final String NT_MODULE_MANAGEMENT_BUNDLE = "jnt:moduleManagementBundle";
@@ -114,6 +149,27 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
     private static final Pattern SITE_KEY_PATTERN = Pattern.compile("^[a-zA-Z0-9_-]+$");
     // Cap the store-index download to defend against an oversized / malicious response body
     private static final int MAX_STORE_INDEX_BYTES = 32 * 1024 * 1024; // 32 MB
+    // Last successfully fetched catalogue of each source, persisted under the Jahia var directory for fast warm startups
+    private static final String STORE_INDEX_SNAPSHOT_DIR = "module-management-community";
+    private static final String STORE_INDEX_SNAPSHOT_PREFIX = "store-index-";
+    private static final String STORE_INDEX_SNAPSHOT_SUFFIX = ".bin";
+    private static final int STORE_CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_STORE_FETCH_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_MAVEN_RESOLUTION_CONCURRENCY = 8;
+    private static final int DEFAULT_MAVEN_RESOLUTION_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_MAVEN_METADATA_CACHE_TTL_MINUTES = 60;
+    private static final int DEFAULT_ROLLOUT_WAVE_TIMEOUT_SECONDS = 300;
+    private static final int DEFAULT_BUNDLE_READY_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_JOB_CONCURRENCY = 2;
+    private static final int DEFAULT_JOB_QUEUE_CAPACITY = 20;
+    private static final String ROLLOUT_JOB_OPERATION = "updateModulesRollout";
+    /**
+     * Number of bundles below which a store index scan task is run directly instead of being split.
+     */
+    private static final int STORE_SCAN_SPLIT_THRESHOLD = 64;
+    // Wiring namespaces update ordering follows, the same ones GqlBundle reports as dependencies
+    private static final String OSGI_WIRING_PACKAGE = "osgi.wiring.package";
+    private static final String JAHIA_MODULES_DEPENDENCIES = "com.jahia.modules.dependencies";
     // Zip-bomb defences for archive import
     private static final long MAX_TOTAL_UNCOMPRESSED_BYTES = 1024L * 1024 * 1024; // 1 GB
     private static final int MAX_ZIP_ENTRIES = 10_000;
@@ -135,50 +191,103 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
     private final AtomicReference<Map<String, StoreModuleEntry>> storeModuleIndex =
             new AtomicReference<>(Collections.emptyMap());
     /**
-     * Effective URL read from OSGi config at activation time.
+     * Search index over {@link #storeModuleIndex}, rebuilt on every publish by {@link #publishStoreIndex}.
+     * It carries its own entries, so a search never mixes two generations of the catalogue.
      */
-    private String storeModuleListUrl = STORE_MODULE_LIST_URL;
+    private final AtomicReference<StoreSearchIndex> storeSearchIndex =
+            new AtomicReference<>(StoreSearchIndex.EMPTY);
     /**
-     * Current Jahia version, parsed once at activation for store compatibility checks.
+     * Last catalogue obtained from each configured source, keyed by URL: its modules plus the HTTP
+     * validators ({@code ETag} / {@code Last-Modified}) replayed on the next refresh as a conditional
+     * request. A source that answers 304, fails or times out keeps contributing these modules to the
+     * merged {@link #storeModuleIndex}. Emptied whenever the index comes from somewhere else (bundled fallback).
      */
-    private org.osgi.framework.Version jahiaVersion;
-
+    private final AtomicReference<Map<String, StoreIndexSnapshot>> storeCatalogues =
+            new AtomicReference<>(Collections.emptyMap());
     /**
-     * Lightweight record representing one module entry from the Jahia store catalogue.
-     * Versions are stored in the order they appear in the JSON (not necessarily sorted).
+     * Effective catalogue URLs read from OSGi config at activation time, highest precedence first.
      */
-    private static final class StoreModuleEntry {
-        final String name;       // OSGi symbolic name
-        final String groupId;    // Maven groupId
-        final String storeUrl;   // Jahia store page URL (module-level remoteUrl)
-        final String title;      // Human-readable display title
-        final String icon;       // Icon image URL
-        /**
-         * All known version strings (may include SNAPSHOTs).
-         */
-        final List<String> versions;
-        /**
-         * version → direct download URL (may be empty for some versions).
-         */
-        final Map<String, String> downloadUrls;
-        /**
-         * version → minimum Jahia version string required (e.g. {@code "8.1.6.0"}).
-         */
-        final Map<String, String> requiredVersions;
-
-        StoreModuleEntry(String name, String groupId, String storeUrl, String title, String icon,
-                         List<String> versions, Map<String, String> downloadUrls,
-                         Map<String, String> requiredVersions) {
-            this.name = name;
-            this.groupId = groupId;
-            this.storeUrl = storeUrl;
-            this.title = title;
-            this.icon = icon;
-            this.versions = versions;
-            this.downloadUrls = downloadUrls;
-            this.requiredVersions = requiredVersions;
-        }
-    }
+    private List<String> storeModuleListUrls = Collections.singletonList(STORE_MODULE_LIST_URL);
+    /**
+     * Time budget of each catalogue fetch; sources are fetched in parallel, so this also bounds a refresh.
+     */
+    private int storeFetchTimeoutSeconds = DEFAULT_STORE_FETCH_TIMEOUT_SECONDS;
+    /**
+     * Maximum number of Maven metadata resolutions run at once by {@link #checkMaven}.
+     */
+    private int mavenResolutionConcurrency = DEFAULT_MAVEN_RESOLUTION_CONCURRENCY;
+    /**
+     * Time budget of a single artifact's Maven update check, counted from when it starts running.
+     */
+    private int mavenResolutionTimeoutSeconds = DEFAULT_MAVEN_RESOLUTION_TIMEOUT_SECONDS;
+    /**
+     * Parsed {@code maven-metadata.xml} version lists shared by bundle and feature update checks.
+     * Recreated at activation with the configured TTL.
+     */
+    private MavenMetadataCache mavenMetadataCache = new MavenMetadataCache(TimeUnit.MINUTES.toMillis(DEFAULT_MAVEN_METADATA_CACHE_TTL_MINUTES));
+    /**
+     * How long the Maven part of the updates cache is trusted. Bundle events cannot tell us about new
+     * releases published to a Maven repository, so it is re-checked once the metadata it was built from
+     * has expired anyway.
+     */
+    private Duration mavenUpdatesTtl = Duration.ofMinutes(DEFAULT_MAVEN_METADATA_CACHE_TTL_MINUTES);
+    /**
+     * Keeps the updates cache in step with installs, updates, uninstalls and state changes of bundles.
+     * Registered at activation (outside read-only mode) and removed at deactivation.
+     */
+    private BundleListener updatesCacheListener;
+    /**
+     * Incremented by every bundle event, so that a full recompute can tell that a bundle changed while
+     * it was scanning and that its result must not be cached.
+     */
+    private final AtomicLong bundleEventGeneration = new AtomicLong();
+    /**
+     * Bounded pool the store index comparison is split across, sized to the available processors.
+     * Created at activation (outside read-only mode) and shut down at deactivation; scans run serially
+     * when it is absent.
+     */
+    private ForkJoinPool storeScanPool;
+    /**
+     * Number of bundles per wave of an update rollout; 0 keeps the single provisioning script.
+     */
+    private int rolloutWaveSize;
+    /**
+     * Time every bundle of a rollout wave is given to reach its expected state before the rollout stops.
+     */
+    private int rolloutWaveTimeoutSeconds = DEFAULT_ROLLOUT_WAVE_TIMEOUT_SECONDS;
+    /**
+     * Held while checking for a running rollout and submitting a new one, so that two rollouts never
+     * interleave their waves.
+     */
+    private final Object rolloutLock = new Object();
+    /**
+     * Follows the scripts {@link #updateModules} hands over to the provisioning file watcher.
+     * Created at activation (outside read-only mode) and closed at deactivation.
+     */
+    private ProvisioningJobTracker provisioningJobTracker;
+    /**
+     * Runs the asynchronous variants of the long operations. Created at activation (outside read-only
+     * mode) and shut down at deactivation.
+     */
+    private ModuleJobEngine jobEngine;
+    /**
+     * Notifies the install paths as soon as the bundles they installed reach their expected state.
+     * Created at activation and closed at deactivation.
+     */
+    private BundleStateWaiter bundleStateWaiter;
+    /**
+     * Time a bundle restored from JCR is given to show up in OSGi before its older versions are kept.
+     */
+    private int bundleReadyTimeoutSeconds = DEFAULT_BUNDLE_READY_TIMEOUT_SECONDS;
+    /**
+     * Stored versions of the JCR bundle store, kept current by JCR observation. Created at activation and
+     * closed at deactivation.
+     */
+    private ModuleBundleStoreCatalogue bundleStoreCatalogue;
+    /**
+     * Current Jahia version, parsed once at activation for store compatibility checks.
+     */
+    private org.osgi.framework.Version jahiaVersion;
 
     @Reference
     ProvisioningManager provisioningManager;
@@ -208,34 +317,88 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
      * a single reference swap. The {@code updates} map is always a fully-built unmodifiable map; a
      * {@code null} {@code updates} value marks the cache as not populated. Per Sonar S3077 the
      * reference is held in an {@link AtomicReference} rather than a plain volatile field.
+     *
+     * <p>{@code includesMaven} tells whether the non-Jahia bundles were checked against Maven too, and
+     * is cleared when one of them changes: the snapshot then still answers {@code jahiaOnly} requests.
+     *
+     * <p>The updates are held as {@link ModuleUpdate} records, keyed by their {@code listAvailableUpdates}
+     * key and indexed by symbolic name, so that filtering and per-module patching work on plain fields.
      */
     private static final class UpdatesSnapshot {
-        final Map<String, String> updates;
+        final Map<String, ModuleUpdate> updates;
+        final Map<String, List<ModuleUpdate>> bySymbolicName;
         final Instant checkedAt;
+        final boolean includesMaven;
 
-        UpdatesSnapshot(Map<String, String> updates, Instant checkedAt) {
-            this.updates = updates;
+        private UpdatesSnapshot(Map<String, List<ModuleUpdate>> bySymbolicName, Instant checkedAt, boolean includesMaven) {
+            if (bySymbolicName == null) {
+                this.updates = null;
+                this.bySymbolicName = null;
+            } else {
+                Map<String, ModuleUpdate> byKey = new HashMap<>();
+                bySymbolicName.values().forEach(list -> list.forEach(update -> byKey.put(update.getKey(), update)));
+                this.updates = Collections.unmodifiableMap(byKey);
+                this.bySymbolicName = Collections.unmodifiableMap(bySymbolicName);
+            }
             this.checkedAt = checkedAt;
+            this.includesMaven = includesMaven;
+        }
+
+        static UpdatesSnapshot of(Collection<ModuleUpdate> updates, Instant checkedAt, boolean includesMaven) {
+            Map<String, List<ModuleUpdate>> bySymbolicName = new HashMap<>();
+            for (ModuleUpdate update : updates) {
+                bySymbolicName.computeIfAbsent(update.getSymbolicName(), k -> new ArrayList<>(1)).add(update);
+            }
+            return new UpdatesSnapshot(bySymbolicName, checkedAt, includesMaven);
+        }
+
+        /**
+         * A copy of this snapshot in which the updates of each symbolic name of {@code replacements} are
+         * replaced by the given list. The check timestamp is kept: the other entries were not re-checked.
+         */
+        UpdatesSnapshot withModules(Map<String, List<ModuleUpdate>> replacements) {
+            Map<String, List<ModuleUpdate>> patched = new HashMap<>(bySymbolicName);
+            replacements.forEach((symbolicName, replacement) -> {
+                if (replacement.isEmpty()) {
+                    patched.remove(symbolicName);
+                } else {
+                    patched.put(symbolicName, replacement);
+                }
+            });
+            return new UpdatesSnapshot(patched, checkedAt, includesMaven);
+        }
+
+        UpdatesSnapshot withoutMaven() {
+            return new UpdatesSnapshot(bySymbolicName, checkedAt, false);
         }
     }
 
     /**
      * The empty/not-populated snapshot: no updates map, no check timestamp.
      */
-    private static final UpdatesSnapshot EMPTY_SNAPSHOT = new UpdatesSnapshot(null, null);
+    private static final UpdatesSnapshot EMPTY_SNAPSHOT = new UpdatesSnapshot(null, null, false);
 
     private final AtomicReference<UpdatesSnapshot> updatesSnapshot = new AtomicReference<>(EMPTY_SNAPSHOT);
     private BundleContext bundleContext;
-    private Set<Pattern> excludeModules;
+    private ExclusionMatcher excludeModules = ExclusionMatcher.NONE;
     private int maxModulesToUpdate;
 
     @Activate
     public void activate(ModuleManagementCommunityConfig config, BundleContext bundleContext) {
         this.bundleContext = bundleContext;
-        this.storeModuleListUrl = StringUtils.defaultIfBlank(config.storeModuleListUrl(), STORE_MODULE_LIST_URL);
+        this.storeModuleListUrls = parseStoreModuleListUrls(config.storeModuleListUrl());
+        this.storeFetchTimeoutSeconds = config.storeModuleListTimeoutSeconds() > 0
+                ? config.storeModuleListTimeoutSeconds() : DEFAULT_STORE_FETCH_TIMEOUT_SECONDS;
         this.jahiaVersion = new org.osgi.framework.Version(Jahia.VERSION);
-        logger.info("ModuleManagementCommunityService activated — Jahia {} — store index URL: {}",
-                jahiaVersion, storeModuleListUrl);
+        this.bundleReadyTimeoutSeconds = config.bundleReadyTimeoutSeconds() > 0
+                ? config.bundleReadyTimeoutSeconds() : DEFAULT_BUNDLE_READY_TIMEOUT_SECONDS;
+        this.bundleStateWaiter = new BundleStateWaiter(bundleContext);
+        this.bundleStoreCatalogue = new ModuleBundleStoreCatalogue(jcrTemplate, jahiaUserManagerService);
+        bundleStoreCatalogue.open();
+        logger.info("ModuleManagementCommunityService activated — Jahia {} — store index URLs: {}",
+                jahiaVersion, storeModuleListUrls);
+        // Serve the last known catalogue immediately; the network refresh below only brings it up to date
+        loadPersistedStoreIndex();
         SettingsBean settingsBean = SettingsBean.getInstance();
         if (settingsBean.isMaintenanceMode() || settingsBean.isReadOnlyMode() || settingsBean.isFullReadOnlyMode()) {
             logger.warn(SERVICE_IS_NOT_AVAILABLE_IN_READ_ONLY_MODE);
@@ -243,17 +406,41 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         }
         if (StringUtils.isEmpty(config.excludedModules())) {
             logger.info("No excluded modules configured for ModuleManagementCommunityService");
-            excludeModules = Collections.emptySet();
         } else {
             logger.info("Excluded modules: {}", config.excludedModules());
-            excludeModules = Arrays.stream(config.excludedModules().split(","))
-                    .map(String::trim)
-                    .filter(StringUtils::isNotEmpty)
-                    .map(excludedModule -> excludedModule + "\\..*")
-                    .map(Pattern::compile)
-                    .collect(Collectors.toSet());
         }
+        excludeModules = ExclusionMatcher.compile(config.excludedModules());
         maxModulesToUpdate = config.maxModulesToUpdate();
+        rolloutWaveSize = Math.max(0, config.rolloutWaveSize());
+        rolloutWaveTimeoutSeconds = config.rolloutWaveTimeoutSeconds() > 0
+                ? config.rolloutWaveTimeoutSeconds() : DEFAULT_ROLLOUT_WAVE_TIMEOUT_SECONDS;
+        mavenResolutionConcurrency = config.mavenResolutionConcurrency() > 0
+                ? config.mavenResolutionConcurrency() : DEFAULT_MAVEN_RESOLUTION_CONCURRENCY;
+        mavenResolutionTimeoutSeconds = config.mavenResolutionTimeoutSeconds() > 0
+                ? config.mavenResolutionTimeoutSeconds() : DEFAULT_MAVEN_RESOLUTION_TIMEOUT_SECONDS;
+        mavenMetadataCache = new MavenMetadataCache(TimeUnit.MINUTES.toMillis(
+                config.mavenMetadataCacheTtlMinutes() >= 0 ? config.mavenMetadataCacheTtlMinutes() : DEFAULT_MAVEN_METADATA_CACHE_TTL_MINUTES));
+        mavenUpdatesTtl = Duration.ofMinutes(
+                config.mavenMetadataCacheTtlMinutes() >= 0 ? config.mavenMetadataCacheTtlMinutes() : DEFAULT_MAVEN_METADATA_CACHE_TTL_MINUTES);
+        updatesCacheListener = event -> {
+            int type = event.getType();
+            if (type == BundleEvent.INSTALLED || type == BundleEvent.UPDATED || type == BundleEvent.UNINSTALLED
+                    || type == BundleEvent.STARTED || type == BundleEvent.STOPPED) {
+                onBundleChanged(event.getBundle());
+            }
+        };
+        bundleContext.addBundleListener(updatesCacheListener);
+        provisioningJobTracker = new ProvisioningJobTracker(
+                Path.of(settingsBean.getJahiaVarDiskPath(), "patches", "provisioning"), this::getBundleOutcome);
+        jobEngine = new ModuleJobEngine(Path.of(settingsBean.getJahiaVarDiskPath(), STORE_INDEX_SNAPSHOT_DIR, "jobs"),
+                config.jobConcurrency() > 0 ? config.jobConcurrency() : DEFAULT_JOB_CONCURRENCY,
+                config.jobQueueCapacity() > 0 ? config.jobQueueCapacity() : DEFAULT_JOB_QUEUE_CAPACITY);
+        storeScanPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("module-management-store-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
 
         // If ModuleManagementCommunityConfig.refreshModuleUpdatesInBackgroundCronis set we need to create the configuration file to start the service
         if (config.refreshModuleUpdatesInBackgroundCron() != null) {
@@ -298,6 +485,34 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         }
     }
 
+    @Deactivate
+    public void deactivate() {
+        if (updatesCacheListener != null) {
+            bundleContext.removeBundleListener(updatesCacheListener);
+            updatesCacheListener = null;
+        }
+        if (bundleStateWaiter != null) {
+            bundleStateWaiter.close();
+            bundleStateWaiter = null;
+        }
+        if (bundleStoreCatalogue != null) {
+            bundleStoreCatalogue.close();
+            bundleStoreCatalogue = null;
+        }
+        if (storeScanPool != null) {
+            storeScanPool.shutdownNow();
+            storeScanPool = null;
+        }
+        if (provisioningJobTracker != null) {
+            provisioningJobTracker.close();
+            provisioningJobTracker = null;
+        }
+        if (jobEngine != null) {
+            jobEngine.shutdown();
+            jobEngine = null;
+        }
+    }
+
     /**
      * Updates modules based on the provided parameters.
      *
@@ -310,6 +525,11 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
 
     @Override
     public UpdateModulesResult updateModules(boolean jahiaOnly, boolean dryRun, List<String> filters, boolean autostart, boolean uninstallPrevious, boolean forceUpdateAll, boolean onStartup) throws IOException {
+        return updateModules(jahiaOnly, dryRun, filters, autostart, uninstallPrevious, forceUpdateAll, onStartup, -1);
+    }
+
+    @Override
+    public UpdateModulesResult updateModules(boolean jahiaOnly, boolean dryRun, List<String> filters, boolean autostart, boolean uninstallPrevious, boolean forceUpdateAll, boolean onStartup, int waveSize) throws IOException {
         SettingsBean settingsBean = SettingsBean.getInstance();
         if (settingsBean.isMaintenanceMode() || settingsBean.isReadOnlyMode() || settingsBean.isFullReadOnlyMode()) {
             logger.warn(SERVICE_IS_NOT_AVAILABLE_IN_READ_ONLY_MODE);
@@ -325,31 +545,85 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         }
 
         // Get or refresh the list of available updates
-        Set<String> updates = listAvailableUpdates(jahiaOnly, filters, false);
-        if (updates.isEmpty()) {
+        List<ModuleUpdate> moduleUpdates = findAvailableUpdates(jahiaOnly, filters, false);
+        if (moduleUpdates.isEmpty()) {
             return new UpdateModulesResult(Collections.emptySet(), null);
         }
 
-        if (!forceUpdateAll && (maxModulesToUpdate > 0 && updates.size() >= maxModulesToUpdate)) {
-            logger.warn("Found {} modules with updates, consider reviewing the list before proceeding", updates.size());
-            throw new DataFetchingException("Found " + updates.size() +
+        // Startup updates are picked up by the provisioning file watcher at the next start, never rolled out
+        int effectiveWaveSize = onStartup ? 0 : (waveSize >= 0 ? waveSize : rolloutWaveSize);
+        // A rollout bounds each framework refresh to one wave, so the number of updates no longer matters
+        if (effectiveWaveSize == 0 && !forceUpdateAll && (maxModulesToUpdate > 0 && moduleUpdates.size() >= maxModulesToUpdate)) {
+            logger.warn("Found {} modules with updates, consider reviewing the list before proceeding", moduleUpdates.size());
+            throw new DataFetchingException("Found " + moduleUpdates.size() +
                     " modules with updates, please refine filters or run in dryRun mode");
         }
 
+        Map<String, Set<String>> dependencies = collectBundleDependencies(
+                moduleUpdates.stream().map(ModuleUpdate::getSymbolicName).collect(Collectors.toSet()));
+        RolloutPlan rolloutPlan = null;
+        List<String> rolloutScripts = null;
+        String yamlScript;
+        if (effectiveWaveSize > 0) {
+            rolloutPlan = RolloutPlan.of(moduleUpdates, dependencies::get, effectiveWaveSize);
+            List<List<ModuleUpdate>> waves = rolloutPlan.getWaves();
+            rolloutScripts = new ArrayList<>(waves.size());
+            StringBuilder sb = new StringBuilder();
+            moduleUpdates = new ArrayList<>(moduleUpdates.size());
+            for (int i = 0; i < waves.size(); i++) {
+                String waveScript = buildUpdateScript(waves.get(i), autostart, uninstallPrevious);
+                rolloutScripts.add(waveScript);
+                sb.append("# Wave ").append(i + 1).append('/').append(waves.size()).append('\n').append(waveScript);
+                moduleUpdates.addAll(waves.get(i));
+            }
+            yamlScript = sb.toString();
+        } else {
+            // Providers before their consumers, related bundles together, so each subgraph is refreshed once
+            moduleUpdates = DependencyOrder.sort(moduleUpdates, ModuleUpdate::getSymbolicName, ModuleUpdate::getKey, dependencies::get);
+            yamlScript = buildUpdateScript(moduleUpdates, autostart, uninstallPrevious);
+        }
+        Set<String> updates = moduleUpdates.stream().map(ModuleUpdate::getKey).collect(Collectors.toCollection(LinkedHashSet::new));
         if (logger.isInfoEnabled()) {
             logger.info("Updating modules: {}", String.join(", ", updates));
         }
 
-        // Sort updates to have a deterministic order
-        updates = updates.stream().sorted().collect(Collectors.toCollection(LinkedHashSet::new));
-        Map<String, String> currentUpdates = updatesSnapshot.get().updates;
+        String jobId = null;
+        if (!dryRun) {
+            if (rolloutPlan != null) {
+                jobId = startRollout(rolloutPlan, rolloutScripts, autostart);
+            } else if (onStartup) {
+                // Save script in SettingsBean.var path /patches on disk for running upon startup
+                FileUtils.write(Path.of(settingsBean.getJahiaVarDiskPath(), "patches", "provisioning", getProvisioningFilenameWithDateAndExtension(CLUSTER_SYNCHRONIZED_YAML_SKIPPED, ".clusterSynchronized")).toFile(), yamlScript, StandardCharsets.UTF_8, false);
+            } else {
+                // The job ID keeps the file name unique, so that two runs on the same day do not overwrite each other
+                jobId = ProvisioningJobTracker.newJobId();
+                String fileName = getProvisioningFilenameWithDateAndExtension("module-management-community" + YAML_EXTENSION, YAML_EXTENSION)
+                        .replace(YAML_EXTENSION, "-" + jobId + YAML_EXTENSION);
+                if (provisioningJobTracker != null) {
+                    provisioningJobTracker.submit(jobId, fileName, moduleUpdates);
+                }
+                FileUtils.write(Path.of(settingsBean.getJahiaVarDiskPath(), "patches", "provisioning", fileName).toFile(), yamlScript, StandardCharsets.UTF_8, false);
+                logger.info("Provisioning job {} written to {}", jobId, fileName);
+            }
+        } else {
+            FileUtils.write(File.createTempFile("module-management-community-temp", YAML_EXTENSION, new File(settingsBean.getTmpContentDiskPath())), yamlScript, "UTF-8", true);
+            logger.info("Dry run mode enabled, not executing provisioning script:\n{}", yamlScript);
+        }
+
+        return new UpdateModulesResult(updates, yamlScript, jobId);
+    }
+
+    /**
+     * One {@code installOrUpgradeBundle} block installing {@code moduleUpdates}, followed by a log command.
+     */
+    private String buildUpdateScript(List<ModuleUpdate> moduleUpdates, boolean autostart, boolean uninstallPrevious) {
         StringBuilder sb = new StringBuilder();
         sb.append(YAML_INSTALL_OR_UPGRADE);
-        for (String bundleKey : updates) {
-            sb.append(YAML_URL_PREFIX).append(currentUpdates.get(bundleKey)).append("'\n");
-            Bundle bundle = BundleUtils.getBundle(StringUtils.substringBeforeLast(bundleKey, "/"), StringUtils.substringAfterLast(bundleKey, "/").split(":")[0].trim());
+        int moduleStartLevel = SettingsBean.getInstance().getModuleStartLevel();
+        for (ModuleUpdate update : moduleUpdates) {
+            sb.append(YAML_URL_PREFIX).append(update.getUrl()).append("'\n");
+            Bundle bundle = BundleUtils.getBundle(update.getSymbolicName(), update.getInstalledVersion());
             BundleStartLevel bundleStartLevel = bundle.adapt(BundleStartLevel.class);
-            int moduleStartLevel = SettingsBean.getInstance().getModuleStartLevel();
             if (bundleStartLevel.getStartLevel() != moduleStartLevel) {
                 sb.append(YAML_START_LEVEL).append(bundleStartLevel.getStartLevel()).append("\n");
             }
@@ -357,23 +631,175 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         sb.append("  autoStart: ").append(autostart).append("\n");
         sb.append("  uninstallPreviousVersion: ").append(uninstallPrevious).append("\n");
         sb.append("  ignoreChecks: true").append("\n");
-        sb.append("- karafCommand: \"log:log 'Bundles ").append(String.join(", ", updates)).append(" installed'\"\n");
+        sb.append("- karafCommand: \"log:log 'Bundles ")
+                .append(moduleUpdates.stream().map(ModuleUpdate::getKey).collect(Collectors.joining(", ")))
+                .append(" installed'\"\n");
+        return sb.toString();
+    }
 
-        String yamlScript = sb.toString();
-        if (!dryRun) {
-            if (onStartup) {
-                // Save script in SettingsBean.var path /patches on disk for running upon startup
-                FileUtils.write(Path.of(settingsBean.getJahiaVarDiskPath(), "patches", "provisioning", getProvisioningFilenameWithDateAndExtension(CLUSTER_SYNCHRONIZED_YAML_SKIPPED, ".clusterSynchronized")).toFile(), yamlScript, StandardCharsets.UTF_8, false);
+    /**
+     * Symbolic names of the bundles each of {@code symbolicNames} is wired to, through package imports and
+     * Jahia module dependencies, over all its installed versions. A module that is not resolved has no
+     * wiring: its declared module dependencies are used instead. Names that are not installed map to an
+     * empty set.
+     */
+    private Map<String, Set<String>> collectBundleDependencies(Set<String> symbolicNames) {
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (String symbolicName : symbolicNames) {
+            dependencies.put(symbolicName, new HashSet<>());
+        }
+        for (Bundle bundle : bundleContext.getBundles()) {
+            Set<String> providers = dependencies.get(bundle.getSymbolicName());
+            if (providers == null) {
+                continue;
+            }
+            BundleWiring bundleWiring = bundle.adapt(BundleWiring.class);
+            if (bundleWiring != null) {
+                for (String namespace : new String[]{OSGI_WIRING_PACKAGE, JAHIA_MODULES_DEPENDENCIES}) {
+                    for (BundleWire wire : bundleWiring.getRequiredWires(namespace)) {
+                        providers.add(wire.getProviderWiring().getBundle().getSymbolicName());
+                    }
+                }
             } else {
-                FileUtils.write(Path.of(settingsBean.getJahiaVarDiskPath(), "patches", "provisioning", getProvisioningFilenameWithDateAndExtension("module-management-community" + YAML_EXTENSION, YAML_EXTENSION)).toFile(), yamlScript, StandardCharsets.UTF_8, false);
-                updatesSnapshot.set(EMPTY_SNAPSHOT); // Clear the cache after execution
+                JahiaTemplatesPackage templatePackage = jahiaTemplateManagerService.getTemplatePackageById(bundle.getSymbolicName());
+                if (templatePackage != null) {
+                    providers.addAll(templatePackage.getDepends());
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Run the waves of {@code plan} as a background job, so that the request returns as soon as the rollout
+     * is planned. Only one rollout runs at a time.
+     *
+     * @return the ID of the rollout job
+     */
+    private String startRollout(RolloutPlan plan, List<String> scripts, boolean autostart) throws IOException {
+        ModuleJobEngine engine = requireJobEngine();
+        String description = plan.getWaves().size() + " wave(s): " + plan.getWaves().stream()
+                .flatMap(List::stream).map(ModuleUpdate::getKey).collect(Collectors.joining(", "));
+        synchronized (rolloutLock) {
+            if (engine.hasUnfinishedJob(ROLLOUT_JOB_OPERATION)) {
+                throw new DataFetchingException("A module update rollout is already in progress, please retry once it has completed");
+            }
+            return engine.submit(ROLLOUT_JOB_OPERATION, description, jobId -> executeRollout(plan, scripts, autostart)).getId();
+        }
+    }
+
+    /**
+     * Execute the waves one after the other. A wave is complete once all its bundles are in their expected
+     * state — ACTIVE when {@code autostart} is set, otherwise at least installed; the rollout stops at the
+     * first wave that fails or does not complete in time, leaving the following waves untouched. A
+     * cancellation of the job is honoured between two waves.
+     *
+     * @return a summary of the waves executed
+     * @throws IOException when a wave fails or does not complete in time
+     */
+    private String executeRollout(RolloutPlan plan, List<String> scripts, boolean autostart) throws IOException {
+        List<List<ModuleUpdate>> waves = plan.getWaves();
+        for (int i = 0; i < waves.size(); i++) {
+            if (ModuleJobEngine.isCurrentJobCancelled()) {
+                logger.info("Rollout cancelled after {}/{} wave(s)", i, waves.size());
+                return "Rollout cancelled after " + i + "/" + waves.size() + " wave(s)";
+            }
+            List<ModuleUpdate> wave = waves.get(i);
+            if (logger.isInfoEnabled()) {
+                logger.info("Rollout wave {}/{}: {}", i + 1, waves.size(),
+                        wave.stream().map(ModuleUpdate::getKey).collect(Collectors.joining(", ")));
+            }
+            try {
+                provisioningManager.executeScript(scripts.get(i), YAML_FORMAT);
+            } catch (Exception e) {
+                throw new IOException("Rollout stopped: wave " + (i + 1) + "/" + waves.size() + " could not be executed: "
+                        + e.getMessage(), e);
+            }
+            List<String> pending = awaitWave(wave, autostart);
+            if (!pending.isEmpty()) {
+                throw new IOException("Rollout stopped: " + pending + " not " + (autostart ? "ACTIVE" : "installed")
+                        + " within " + rolloutWaveTimeoutSeconds + " s after wave " + (i + 1) + "/" + waves.size()
+                        + ", " + (waves.size() - i - 1) + " wave(s) not executed");
+            }
+        }
+        logger.info("Rollout completed: {} wave(s) executed", waves.size());
+        return "Rollout completed: " + waves.size() + " wave(s) executed";
+    }
+
+    /**
+     * Wait until every update of {@code wave} has reached its expected state, or the wave timeout expires.
+     *
+     * @return the keys of the updates still pending, empty when the wave is complete
+     */
+    private List<String> awaitWave(List<ModuleUpdate> wave, boolean requireActive) {
+        Map<ModuleUpdate, CompletableFuture<Bundle>> waits = new LinkedHashMap<>();
+        for (ModuleUpdate update : wave) {
+            waits.put(update, bundleStateWaiter.await(update.getSymbolicName(),
+                    version -> isTargetReached(update, version), requireActive));
+        }
+        try {
+            CompletableFuture.allOf(waits.values().toArray(new CompletableFuture[0]))
+                    .get(rolloutWaveTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            // Reported below through the updates still pending
+        }
+        List<String> pending = new ArrayList<>();
+        waits.forEach((update, wait) -> {
+            if (!wait.isDone() || wait.isCancelled()) {
+                pending.add(update.getKey());
+            }
+            wait.cancel(false);
+        });
+        return pending;
+    }
+
+    /**
+     * State of the update's target version: ACTIVE, INSTALLED, or {@code null} when it is not installed.
+     */
+    private ProvisioningJob.BundleOutcome getBundleOutcome(ModuleUpdate update) {
+        if (isRolledOut(update, true)) {
+            return ProvisioningJob.BundleOutcome.ACTIVE;
+        }
+        return isRolledOut(update, false) ? ProvisioningJob.BundleOutcome.INSTALLED : null;
+    }
+
+    @Override
+    public ProvisioningJob getProvisioningJob(String jobId) {
+        return provisioningJobTracker != null ? provisioningJobTracker.get(jobId) : null;
+    }
+
+    @Override
+    public List<ProvisioningJob> listProvisioningJobs() {
+        return provisioningJobTracker != null ? provisioningJobTracker.list() : Collections.emptyList();
+    }
+
+    /**
+     * {@code true} when a bundle of the update's symbolic name, at the target version or later, is installed
+     * (and ACTIVE when {@code requireActive} is set).
+     */
+    private boolean isRolledOut(ModuleUpdate update, boolean requireActive) {
+        for (Bundle bundle : bundleContext.getBundles()) {
+            if (!update.getSymbolicName().equals(bundle.getSymbolicName())
+                    || (requireActive && bundle.getState() != Bundle.ACTIVE)) {
+                continue;
+            }
+            if (isTargetReached(update, bundle.getVersion())) {
+                return true;
             }
-        } else {
-            FileUtils.write(File.createTempFile("module-management-community-temp", YAML_EXTENSION, new File(settingsBean.getTmpContentDiskPath())), yamlScript, "UTF-8", true);
-            logger.info("Dry run mode enabled, not executing provisioning script:\n{}", yamlScript);
         }
+        return false;
+    }
 
-        return new UpdateModulesResult(updates, yamlScript);
+    /**
+     * {@code true} when {@code version} is the update's target version or later.
+     */
+    private static boolean isTargetReached(ModuleUpdate update, org.osgi.framework.Version version) {
+        Version target = VersionCache.parseOrNull(update.getTargetVersion());
+        Version installed = VersionCache.parseOrNull(version.toString());
+        return target != null && installed != null ? installed.compareTo(target) >= 0
+                : update.getTargetVersion().equals(version.toString());
     }
 
     @Nonnull
@@ -408,38 +834,69 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
      * {@code modules-repository.moduleList.json}. No Maven network calls are needed.
      *
      * <p><strong>Slow path (non-Jahia bundles)</strong>: still uses Maven metadata lookup, but
-     * only executed when {@code jahiaOnly = false} is explicitly requested.
+     * only executed when {@code jahiaOnly = false} is explicitly requested. Lookups run on a bounded
+     * pool ({@code mavenResolutionConcurrency}) and each is capped by {@code mavenResolutionTimeoutSeconds};
+     * lookups still queued once every round of the pool could have used its full timeout are skipped.
+     *
+     * <p>Results are cached. The cache is kept current by bundle events and store index refreshes rather
+     * than expiring after a fixed delay; only the Maven part is re-checked, once the Maven metadata TTL
+     * has elapsed.
      *
      * @param jahiaOnly   If true, only Jahia modules (module / system / templatesSet) are checked.
      * @param filters     Optional regex patterns to restrict which modules are checked.
-     * @param forceUpdate When true, bypass the 2-hour result cache.
+     * @param forceUpdate When true, bypass the result cache and rescan every bundle.
      * @return Set of update keys in the form {@code symbolicName/currentVersion : latestVersion}.
      */
     @Override
     public Set<String> listAvailableUpdates(boolean jahiaOnly, List<String> filters, boolean forceUpdate) throws IOException {
+        return findAvailableUpdates(jahiaOnly, filters, forceUpdate).stream()
+                .map(ModuleUpdate::getKey)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @Override
+    public List<ModuleUpdate> listAvailableUpdatesV2(boolean jahiaOnly, List<String> filters, ModuleUpdate.Source source,
+                                                     boolean forceUpdate, int offset, int limit) {
+        return findAvailableUpdates(jahiaOnly, filters, forceUpdate).stream()
+                .filter(update -> source == null || update.getSource() == source)
+                .sorted(Comparator.comparing(ModuleUpdate::getSymbolicName).thenComparing(ModuleUpdate::getInstalledVersion))
+                .skip(Math.max(0, offset))
+                .limit(Math.max(0, limit))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int countAvailableUpdates(boolean jahiaOnly, List<String> filters, ModuleUpdate.Source source) {
+        return (int) findAvailableUpdates(jahiaOnly, filters, false).stream()
+                .filter(update -> source == null || update.getSource() == source)
+                .count();
+    }
+
+    /**
+     * {@link #listAvailableUpdates} returning the update records rather than their keys.
+     */
+    private List<ModuleUpdate> findAvailableUpdates(boolean jahiaOnly, List<String> filters, boolean forceUpdate) {
         List<Pattern> patterns = getPatternList(filters);
         // Read the cache as one consistent snapshot — map and timestamp can never disagree.
         UpdatesSnapshot snapshot = updatesSnapshot.get();
-        Map<String, String> cached = snapshot.updates;
-        Instant checkedAt = snapshot.checkedAt;
-        if (!forceUpdate && (checkedAt != null && Instant.now().minus(Duration.ofHours(2)).isBefore(checkedAt) && cached != null)) {
-            logger.info("Module updates is cached until {}", checkedAt.plus(Duration.ofHours(2)));
-            Set<String> filteredUpdates = getFilteredUpdates(cached, filters, patterns);
-            return filteredUpdates != null ? filteredUpdates : new HashSet<>(cached.keySet());
+        if (!forceUpdate && snapshot.updates != null && (jahiaOnly || isMavenPartFresh(snapshot))) {
+            logger.debug("Module updates served from the cache computed at {}", snapshot.checkedAt);
+            return selectUpdates(snapshot, jahiaOnly, patterns);
         }
 
         SettingsBean settingsBean = SettingsBean.getInstance();
         if (settingsBean.isMaintenanceMode() || settingsBean.isReadOnlyMode() || settingsBean.isFullReadOnlyMode()) {
             logger.warn(SERVICE_IS_NOT_AVAILABLE_IN_READ_ONLY_MODE);
-            return Collections.emptySet();
+            return new ArrayList<>();
         }
         if (!settingsBean.isProcessingServer()) {
             logger.warn("ModuleManagementCommunityService is available only on processing servers");
-            return Collections.emptySet();
+            return new ArrayList<>();
         }
 
-        // Build into a local map and publish atomically once fully populated (thread-safe).
-        Map<String, String> updates = new HashMap<>();
+        // Build into a local list and publish atomically once fully populated (thread-safe).
+        long generation = bundleEventGeneration.get();
+        List<ModuleUpdate> updates = new ArrayList<>();
 
         // ── Fast path: JSON store index for Jahia modules ────────────────────────
         checkJahiaModulesAgainstStoreIndex(updates);
@@ -449,157 +906,530 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             checkMaven(updates);
         }
 
-        Map<String, String> published = Collections.unmodifiableMap(updates);
         // Publish map + timestamp together so readers never see a fresh map with a stale time.
-        updatesSnapshot.set(new UpdatesSnapshot(published, Instant.now()));
+        UpdatesSnapshot computed = UpdatesSnapshot.of(updates, Instant.now(), !jahiaOnly);
+        updatesSnapshot.set(computed);
+        // A bundle event during the scan may have been missed by it, and the listener may have found no
+        // snapshot to patch: do not keep a result that can be stale (unless the listener patched it since)
+        if (bundleEventGeneration.get() != generation) {
+            updatesSnapshot.compareAndSet(computed, EMPTY_SNAPSHOT);
+        }
+        return selectUpdates(computed, jahiaOnly, patterns);
+    }
+
+    /**
+     * The updates of {@code snapshot} passing the {@code jahiaOnly} flag and the filter patterns, which are
+     * matched against each record's bundle key.
+     */
+    private static List<ModuleUpdate> selectUpdates(UpdatesSnapshot snapshot, boolean jahiaOnly, List<Pattern> patterns) {
+        List<ModuleUpdate> selected = new ArrayList<>();
+        for (ModuleUpdate update : snapshot.updates.values()) {
+            if (jahiaOnly && !update.isJahiaModule()) {
+                continue;
+            }
+            if (!patterns.isEmpty() && patterns.stream().noneMatch(pattern -> pattern.matcher(update.getBundleKey()).matches())) {
+                continue;
+            }
+            selected.add(update);
+        }
+        return selected;
+    }
+
+    private boolean isMavenPartFresh(UpdatesSnapshot snapshot) {
+        return snapshot.includesMaven && snapshot.checkedAt.plus(mavenUpdatesTtl).isAfter(Instant.now());
+    }
+
+    /**
+     * Bring the updates cache up to date after {@code bundle} was installed, updated, uninstalled,
+     * started or stopped. For a Jahia module only the entries of that symbolic name are recomputed
+     * against the store index; a change to any other bundle only marks the Maven part of the cache as
+     * stale, since re-checking it means a Maven round-trip that is better left to the next request.
+     */
+    private void onBundleChanged(Bundle bundle) {
+        bundleEventGeneration.incrementAndGet();
+        String symbolicName = bundle.getSymbolicName();
+        if (symbolicName == null) {
+            return;
+        }
+        boolean jahiaModule = BundleUtils.isJahiaModuleBundle(bundle);
+        UpdatesSnapshot snapshot;
+        UpdatesSnapshot patched;
+        do {
+            snapshot = updatesSnapshot.get();
+            if (snapshot.updates == null) {
+                return; // nothing computed yet — the next listAvailableUpdates() builds it from scratch
+            }
+            if (!jahiaModule) {
+                if (!snapshot.includesMaven) {
+                    return;
+                }
+                patched = snapshot.withoutMaven();
+                continue;
+            }
+            // Several versions of a module can be installed side by side: re-check all of them
+            List<ModuleUpdate> moduleUpdates = new ArrayList<>(1);
+            for (Bundle installed : bundleContext.getBundles()) {
+                if (symbolicName.equals(installed.getSymbolicName()) && installed.getState() == Bundle.ACTIVE
+                        && BundleUtils.isJahiaModuleBundle(installed) && !isExcludedModule(symbolicName)) {
+                    lookupBundle(installed, symbolicName, moduleUpdates);
+                }
+            }
+            patched = snapshot.withModules(Collections.singletonMap(symbolicName, moduleUpdates));
+        } while (!updatesSnapshot.compareAndSet(snapshot, patched));
+        logger.debug("Module updates cache patched after a change to bundle {}", symbolicName);
+    }
+
+    private void checkMaven(List<ModuleUpdate> updates) {
+        MavenResolver resolver = BundleUtils.getOsgiService(MavenResolver.class, null);
+        if (resolver == null) {
+            logger.warn("Maven resolver not available — non-Jahia bundle updates cannot be checked");
+            return;
+        }
+        ModuleManager moduleManager = BundleUtils.getOsgiService(ModuleManager.class, null);
+        if (moduleManager == null) {
+            return;
+        }
+        Map<String, BundleService.BundleInformation> candidates = new LinkedHashMap<>();
+        moduleManager.getAllLocalInfos().forEach((key, bundleInfo) -> {
+            if (bundleInfo.getOsgiState() == BundleState.ACTIVE) {
+                String bKey = getBundleKey(key);
+                Bundle bundle = BundleUtils.getBundle(
+                        StringUtils.substringBeforeLast(bKey, "/"),
+                        StringUtils.substringAfterLast(bKey, "/"));
+                // Only check non-Jahia bundles here; Jahia modules are handled above
+                if (bundle != null && !BundleUtils.isJahiaModuleBundle(bundle)) {
+                    candidates.put(key, bundleInfo);
+                }
+            }
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Each check is dominated by one resolveMetadata round-trip: run them on a bounded pool
+        int threads = Math.min(mavenResolutionConcurrency, candidates.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "module-management-maven-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        // Overall budget: every check getting its full timeout, in as many rounds as the pool needs. A check
+        // still queued at that point is never started.
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(mavenResolutionTimeoutSeconds);
+        long rounds = (candidates.size() + threads - 1) / threads;
+        long deadline = start + timeoutNanos * rounds;
+        int resolved = 0;
+        List<String> notStarted = new ArrayList<>();
+        try {
+            List<MavenUpdateCheck> checks = new ArrayList<>(candidates.size());
+            candidates.forEach((key, bundleInfo) -> {
+                MavenUpdateCheck check = new MavenUpdateCheck(key);
+                check.future = executor.submit(() -> {
+                    check.startedAt = System.nanoTime();
+                    List<ModuleUpdate> found = new ArrayList<>(1);
+                    checkBundleUpdates(key, bundleInfo, resolver, found);
+                    return found;
+                });
+                checks.add(check);
+            });
+            for (MavenUpdateCheck check : checks) {
+                List<ModuleUpdate> found = awaitMavenUpdateCheck(check, timeoutNanos, deadline);
+                if (found != null) {
+                    updates.addAll(found);
+                    resolved++;
+                } else if (check.startedAt == 0) {
+                    notStarted.add(check.key);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!notStarted.isEmpty()) {
+            logger.warn("Maven update checks not started within {} s — skipped: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(deadline - start), notStarted);
+        }
+        logger.info("Maven update check complete: {}/{} bundle(s) resolved, {} skipped without being started, in {} ms with {} thread(s)",
+                resolved, candidates.size(), notStarted.size(), Duration.ofNanos(System.nanoTime() - start).toMillis(), threads);
+    }
+
+    /**
+     * Wait for one Maven check. The timeout runs from the moment a worker picks the check up, not from
+     * submission, so checks queued behind slower ones are not penalised; no wait goes past the overall
+     * {@code deadline} though. A check that has not started by then is cancelled without ever running.
+     *
+     * @return the updates found, or {@code null} when the check failed, timed out or was never started
+     */
+    private List<ModuleUpdate> awaitMavenUpdateCheck(MavenUpdateCheck check, long timeoutNanos, long deadline) {
+        while (true) {
+            long now = System.nanoTime();
+            long startedAt = check.startedAt;
+            long wait = Math.min(startedAt == 0 ? timeoutNanos : startedAt + timeoutNanos - now, deadline - now);
+            try {
+                return check.future.get(Math.max(0, wait), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (check.startedAt != 0 && System.nanoTime() - check.startedAt >= timeoutNanos) {
+                    check.future.cancel(true);
+                    logger.warn("Maven update check for {} did not complete within {} s — skipped", check.key, mavenResolutionTimeoutSeconds);
+                    return null;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    // Past the overall deadline: a queued check is dropped, a running one is interrupted
+                    check.future.cancel(true);
+                    if (check.startedAt != 0) {
+                        logger.warn("Maven update check for {} did not complete before the overall deadline — skipped", check.key);
+                    }
+                    return null;
+                }
+                // Still queued (or only just started): keep waiting for its own budget
+            } catch (CancellationException e) {
+                return null;
+            } catch (ExecutionException e) {
+                logger.warn("Maven update check for {} failed: {} — skipped", check.key, e.getCause().getMessage());
+                logger.debug("Maven update check failure", e.getCause());
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                check.future.cancel(true);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * One queued Maven update check; {@code startedAt} is set by the worker when it begins.
+     */
+    private static final class MavenUpdateCheck {
+        final String key;
+        volatile long startedAt;
+        Future<List<ModuleUpdate>> future;
+
+        MavenUpdateCheck(String key) {
+            this.key = key;
+        }
+    }
+
+    // ── Store index management ─────────────────────────────────────────────────────
+
+    /**
+     * Scan all ACTIVE Jahia module bundles and compare their version against the store index.
+     * Adds an entry to {@code updates} for each module where a newer non-SNAPSHOT version exists.
+     *
+     * <p>The bundles are split across {@link #storeScanPool} by a {@link StoreScanTask}.
+     */
+    private void checkJahiaModulesAgainstStoreIndex(List<ModuleUpdate> updates) {
+        if (storeModuleIndex.get().isEmpty()) {
+            logger.warn("Store module index is empty — Jahia module update detection skipped. " +
+                    "Call refreshStoreIndex() to populate the index.");
+            return;
+        }
+        Bundle[] bundles = bundleContext.getBundles();
+        long start = System.nanoTime();
+        List<ModuleUpdate> found = StoreScanTask.scan(storeScanPool, bundles, STORE_SCAN_SPLIT_THRESHOLD,
+                this::checkBundleAgainstStoreIndex);
+        updates.addAll(found);
+        logger.info("Store index check complete: {} update(s) found across Jahia modules in {} ms", found.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * Compares {@code bundle} against the store index when it is an ACTIVE, non-excluded Jahia module.
+     */
+    private void checkBundleAgainstStoreIndex(Bundle bundle, List<ModuleUpdate> result) {
+        if (bundle.getState() != Bundle.ACTIVE || !BundleUtils.isJahiaModuleBundle(bundle)) {
+            return;
+        }
+        String symbolicName = bundle.getSymbolicName();
+        if (isExcludedModule(symbolicName)) {
+            logger.debug("Skipping excluded module: {}", symbolicName);
+            return;
+        }
+        lookupBundle(bundle, symbolicName, result);
+    }
+
+    /**
+     * Direct store download URL of {@code version}, falling back to an {@code mvn:} coordinate when the
+     * catalogue has none.
+     */
+    private static String storeDownloadUrl(StoreModuleEntry entry, String version) {
+        String url = entry.downloadUrl(version);
+        return url != null ? url : MVN_PREFIX + entry.groupId + "/" + entry.name + "/" + version;
+    }
+
+    private boolean isExcludedModule(String symbolicName) {
+        return excludeModules.matches(symbolicName + "/");
+    }
+
+    private boolean lookupBundle(Bundle bundle, String symbolicName, List<ModuleUpdate> updates) {
+        StoreModuleEntry entry = storeModuleIndex.get().get(symbolicName);
+        if (entry == null) {
+            logger.debug("Module {} not found in store index", symbolicName);
+            return false;
+        }
+        try {
+            Version installed = VersionCache.parse(bundle.getVersion().toString());
+            String latestVersionStr = entry.latestCompatibleVersion;
+            if (latestVersionStr == null || entry.latestCompatibleParsed.compareTo(installed) <= 0) {
+                return false;
+            }
+            String installedVersion = bundle.getVersion().toString();
+            updates.add(new ModuleUpdate(symbolicName, symbolicName + "/" + installedVersion, installedVersion,
+                    latestVersionStr, storeDownloadUrl(entry, latestVersionStr),
+                    bundle.getHeaders().get(JAHIA_MODULE_TYPE), true, ModuleUpdate.Source.STORE,
+                    entry.requiredVersion(latestVersionStr)));
+            logger.debug("Store update found: {} {} → {}", symbolicName, bundle.getVersion(), latestVersionStr);
+            return true;
+        } catch (InvalidVersionSpecificationException e) {
+            logger.debug("Cannot parse installed version for {}: {}", symbolicName, e.getMessage());
+            return false;
+        }
+    }
 
-        Set<String> filteredUpdates = getFilteredUpdates(published, filters, patterns);
-        Set<String> availableUpdates = filteredUpdates != null ? filteredUpdates : new HashSet<>(published.keySet());
+    /**
+     * Split the comma-separated {@code storeModuleListUrl} setting, keeping the configured order
+     * (which is also the merge precedence). Falls back to the public store when nothing is configured.
+     */
+    private static List<String> parseStoreModuleListUrls(String configured) {
+        if (StringUtils.isBlank(configured)) {
+            return Collections.singletonList(STORE_MODULE_LIST_URL);
+        }
+        List<String> urls = Arrays.stream(configured.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .distinct()
+                .collect(Collectors.toList());
+        return urls.isEmpty() ? Collections.singletonList(STORE_MODULE_LIST_URL) : Collections.unmodifiableList(urls);
+    }
 
-        // If jahiaOnly is true, remove any non-Jahia entries that may have slipped through
-        if (jahiaOnly) {
-            availableUpdates.removeIf(update -> {
-                String bundleKey = StringUtils.substringBeforeLast(update, " : ");
-                Bundle bundle = BundleUtils.getBundle(
-                        StringUtils.substringBeforeLast(bundleKey, "/"),
-                        StringUtils.substringAfterLast(bundleKey, "/"));
-                if (bundle != null) {
-                    return !BundleUtils.isJahiaModuleBundle(bundle);
+    @Override
+    public void refreshStoreIndex() {
+        List<String> urls = storeModuleListUrls;
+        logger.info("Refreshing store module index from {}", urls);
+        Map<String, StoreIndexSnapshot> known = storeCatalogues.get();
+        // Only ask for a 304 when there is an index to keep — an empty index must always be filled
+        boolean conditional = !storeModuleIndex.get().isEmpty();
+
+        ExecutorService executor = Executors.newFixedThreadPool(urls.size(), r -> {
+            Thread thread = new Thread(r, "module-management-store-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, StoreIndexSnapshot> catalogues = new LinkedHashMap<>();
+        boolean changed = false;
+        try {
+            Map<String, Future<StoreIndexSnapshot>> fetches = new LinkedHashMap<>();
+            for (String url : urls) {
+                StoreIndexSnapshot previous = conditional ? known.get(url) : null;
+                fetches.put(url, executor.submit(() -> fetchStoreCatalogue(url, previous)));
+            }
+            // All fetches start together, so a shared deadline gives every source its own full budget
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(storeFetchTimeoutSeconds);
+            for (Map.Entry<String, Future<StoreIndexSnapshot>> fetch : fetches.entrySet()) {
+                String url = fetch.getKey();
+                StoreIndexSnapshot previous = known.get(url);
+                StoreIndexSnapshot catalogue = awaitStoreCatalogue(url, fetch.getValue(), deadline);
+                if (catalogue != null && catalogue != previous) {
+                    changed = true;
+                    persistStoreCatalogue(catalogue);
+                    catalogues.put(url, catalogue);
+                } else if (previous != null) {
+                    catalogues.put(url, previous);
                 }
-                return true;
-            });
+            }
+        } finally {
+            executor.shutdownNow();
         }
-        return availableUpdates;
-    }
 
-    private void checkMaven(Map<String, String> updates) {
-        MavenResolver resolver = BundleUtils.getOsgiService(MavenResolver.class, null);
-        if (resolver != null) {
-            ModuleManager moduleManager = BundleUtils.getOsgiService(ModuleManager.class, null);
-            if (moduleManager != null) {
-                moduleManager.getAllLocalInfos().forEach((key, bundleInfo) -> {
-                    if (bundleInfo.getOsgiState() == BundleState.ACTIVE) {
-                        String bKey = getBundleKey(key);
-                        Bundle bundle = BundleUtils.getBundle(
-                                StringUtils.substringBeforeLast(bKey, "/"),
-                                StringUtils.substringAfterLast(bKey, "/"));
-                        // Only check non-Jahia bundles here; Jahia modules are handled above
-                        if (bundle != null && !BundleUtils.isJahiaModuleBundle(bundle)) {
-                            checkBundleUpdates(key, bundleInfo, resolver, updates);
-                        }
-                    }
-                });
+        if (!changed) {
+            if (!storeModuleIndex.get().isEmpty()) {
+                // Nothing new (304s and/or failures): keep both the index and the computed updates cache
+                logger.info("Store module index unchanged — keeping {} indexed modules", storeModuleIndex.get().size());
+                return;
             }
-        } else {
-            logger.warn("Maven resolver not available — non-Jahia bundle updates cannot be checked");
+            logger.warn("No store catalogue could be fetched from {} — trying bundled fallback", urls);
+            loadBundledStoreIndex();
+            return;
+        }
+        Map<String, StoreModuleEntry> newIndex = mergeStoreCatalogues(urls, catalogues);
+        StoreIndexDiff diff = StoreIndexDiff.compute(storeModuleIndex.get(), newIndex);
+        storeCatalogues.set(Collections.unmodifiableMap(catalogues));
+        publishStoreIndex(newIndex);
+        logger.info("Store module index refreshed from {} source(s): {} modules indexed ({})",
+                catalogues.size(), newIndex.size(), diff);
+        if (!diff.affectedModules.isEmpty()) {
+            applyStoreIndexDiff(diff);
+        }
+        if (!diff.isEmpty()) {
+            postStoreIndexChangedEvent(diff);
         }
     }
 
-    // ── Store index management ─────────────────────────────────────────────────────
-
     /**
-     * Scan all ACTIVE Jahia module bundles and compare their version against the store index.
-     * Populates the {@code updates} map for entries where a newer non-SNAPSHOT version exists.
+     * Patch the updates cache for the installed Jahia modules whose store entry changed, instead of
+     * dropping it and rescanning every bundle on the next {@link #listAvailableUpdates} call.
+     * The cache timestamp is kept: the other entries were not re-checked.
      */
-    private void checkJahiaModulesAgainstStoreIndex(Map<String, String> updates) {
-        if (storeModuleIndex.get().isEmpty()) {
-            logger.warn("Store module index is empty — Jahia module update detection skipped. " +
-                    "Call refreshStoreIndex() to populate the index.");
-            return;
+    private void applyStoreIndexDiff(StoreIndexDiff diff) {
+        UpdatesSnapshot snapshot = updatesSnapshot.get();
+        if (snapshot.updates == null) {
+            return; // nothing computed yet — the next listAvailableUpdates() builds it from scratch
         }
-        VersionScheme vs = new GenericVersionScheme();
-        int found = 0;
+        Map<String, List<ModuleUpdate>> replacements = new HashMap<>();
+        int recomputed = 0;
         for (Bundle bundle : bundleContext.getBundles()) {
-            if (bundle.getState() != Bundle.ACTIVE || !BundleUtils.isJahiaModuleBundle(bundle)) {
-                continue;
-            }
             String symbolicName = bundle.getSymbolicName();
-            if (excludeModules.stream().anyMatch(p -> p.matcher(symbolicName + "/").matches())) {
-                logger.debug("Skipping excluded module: {}", symbolicName);
+            if (!diff.affectedModules.contains(symbolicName) || !BundleUtils.isJahiaModuleBundle(bundle)) {
                 continue;
             }
-            if (lookupBundle(bundle, symbolicName, vs, updates)) {
-                found++;
+            List<ModuleUpdate> moduleUpdates = replacements.computeIfAbsent(symbolicName, k -> new ArrayList<>(1));
+            if (bundle.getState() == Bundle.ACTIVE && !isExcludedModule(symbolicName)) {
+                lookupBundle(bundle, symbolicName, moduleUpdates);
             }
+            recomputed++;
         }
-        logger.info("Store index check complete: {} update(s) found across Jahia modules", found);
+        // A concurrent full recompute may have raced with us against either index — let the next call redo it
+        if (!updatesSnapshot.compareAndSet(snapshot, snapshot.withModules(replacements))) {
+            updatesSnapshot.set(EMPTY_SNAPSHOT);
+        }
+        logger.info("Module updates cache patched: {} installed bundle(s) re-checked against the refreshed store index", recomputed);
     }
 
-    private boolean lookupBundle(Bundle bundle, String symbolicName, VersionScheme vs, Map<String, String> updates) {
-        StoreModuleEntry entry = storeModuleIndex.get().get(symbolicName);
-        if (entry == null) {
-            logger.debug("Module {} not found in store index", symbolicName);
-            return false;
+    private void postStoreIndexChangedEvent(StoreIndexDiff diff) {
+        EventAdmin eventAdmin = BundleUtils.getOsgiService(EventAdmin.class, null);
+        if (eventAdmin == null) {
+            logger.debug("EventAdmin not available — store index change event not posted");
+            return;
         }
-        try {
-            Version installed = vs.parseVersion(bundle.getVersion().toString());
-            String latestVersionStr = findLatestCompatibleStoreVersion(entry, symbolicName, vs);
-            if (latestVersionStr == null) {
-                return false;
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("addedModules", diff.addedModules.toArray(new String[0]));
+        properties.put("removedModules", diff.removedModules.toArray(new String[0]));
+        properties.put("addedVersions", diff.addedVersions.toArray(new String[0]));
+        properties.put("removedVersions", diff.removedVersions.toArray(new String[0]));
+        properties.put("affectedModules", diff.affectedModules.toArray(new String[0]));
+        eventAdmin.postEvent(new Event(EVENT_TOPIC_STORE_INDEX_CHANGED, properties));
+    }
+
+    /**
+     * Fetch one catalogue. When {@code previous} is given the request is conditional and
+     * {@code previous} itself is returned on a 304.
+     */
+    private StoreIndexSnapshot fetchStoreCatalogue(String url, StoreIndexSnapshot previous) throws IOException {
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(storeFetchTimeoutSeconds);
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setConnectTimeout(Math.min(STORE_CONNECT_TIMEOUT_MILLIS, timeoutMillis));
+        conn.setReadTimeout(timeoutMillis);
+        conn.setRequestProperty("Accept", "application/json");
+        if (previous != null) {
+            if (previous.etag != null) {
+                conn.setRequestProperty("If-None-Match", previous.etag);
             }
-            Version latestStore = vs.parseVersion(latestVersionStr);
-            if (latestStore.compareTo(installed) <= 0) {
-                return false;
+            if (previous.lastModified != null) {
+                conn.setRequestProperty("If-Modified-Since", previous.lastModified);
             }
-            String key = symbolicName + "/" + bundle.getVersion() + " : " + latestVersionStr;
-            // Prefer the direct download URL; fall back to an mvn: coordinate
-            String url = entry.downloadUrls.getOrDefault(
-                    latestVersionStr,
-                    MVN_PREFIX + entry.groupId + "/" + symbolicName + "/" + latestVersionStr);
-            updates.put(key, url);
-            logger.debug("Store update found: {} {} → {}", symbolicName, bundle.getVersion(), latestVersionStr);
-            return true;
-        } catch (InvalidVersionSpecificationException e) {
-            logger.debug("Cannot parse installed version for {}: {}", symbolicName, e.getMessage());
-            return false;
         }
+        if (previous != null && conn.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            conn.disconnect();
+            logger.info("Store catalogue {} not modified since last refresh — keeping {} modules", url, previous.modules.size());
+            return previous;
+        }
+        Map<String, StoreModuleEntry> index;
+        // Parse straight off the connection — the catalogue is never materialised as a String or tree
+        try (InputStream in = new BufferedInputStream(conn.getInputStream())) {
+            index = StoreCatalogueParser.parse(in, MAX_STORE_INDEX_BYTES, jahiaVersion);
+        }
+        logger.info("Store catalogue {} fetched: {} modules", url, index.size());
+        return new StoreIndexSnapshot(url, conn.getHeaderField("ETag"), conn.getHeaderField("Last-Modified"),
+                Collections.unmodifiableMap(index));
     }
 
     /**
-     * Returns the highest non-SNAPSHOT, Jahia-compatible version string from {@code entry}, or
-     * {@code null} when none qualifies. Extracted from {@link #lookupBundle} to keep that method's
-     * cognitive complexity within bounds (Sonar S3776).
+     * Wait for one catalogue fetch until {@code deadline} ({@link System#nanoTime()} based).
+     *
+     * @return the fetched (or unchanged) catalogue, or {@code null} when the source failed or timed out
      */
-    private String findLatestCompatibleStoreVersion(StoreModuleEntry entry, String symbolicName, VersionScheme vs) {
-        Version latestStore = null;
-        String latestVersionStr = null;
-        for (String vStr : entry.versions) {
-            if (vStr.contains(SNAPSHOT) || !isCompatibleWithJahia(entry.requiredVersions.get(vStr))) {
-                continue;
+    private StoreIndexSnapshot awaitStoreCatalogue(String url, Future<StoreIndexSnapshot> fetch, long deadline) {
+        try {
+            return fetch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            fetch.cancel(true);
+            logger.warn("Store catalogue {} did not answer within {} s — keeping its previous modules", url, storeFetchTimeoutSeconds);
+        } catch (ExecutionException e) {
+            logger.warn("Failed to fetch store catalogue {}: {} — keeping its previous modules", url, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fetch.cancel(true);
+        }
+        return null;
+    }
+
+    /**
+     * Merge per-source catalogues into one index. Sources are applied in configured order and the first
+     * source that lists a module provides its whole entry, so a private mirror listed before the public
+     * store can pin or override individual modules.
+     */
+    private static Map<String, StoreModuleEntry> mergeStoreCatalogues(List<String> urls, Map<String, StoreIndexSnapshot> catalogues) {
+        if (catalogues.size() == 1) {
+            return catalogues.values().iterator().next().modules;
+        }
+        Map<String, StoreModuleEntry> merged = new HashMap<>();
+        for (String url : urls) {
+            StoreIndexSnapshot catalogue = catalogues.get(url);
+            if (catalogue != null) {
+                catalogue.modules.forEach(merged::putIfAbsent);
             }
+        }
+        return merged;
+    }
+
+    private static Path storeCatalogueSnapshotPath(String url) {
+        // Name-based UUID: stable per URL and file-system safe; the URL itself is checked again on load
+        String name = STORE_INDEX_SNAPSHOT_PREFIX + UUID.nameUUIDFromBytes(url.getBytes(StandardCharsets.UTF_8)) + STORE_INDEX_SNAPSHOT_SUFFIX;
+        return Path.of(SettingsBean.getInstance().getJahiaVarDiskPath(), STORE_INDEX_SNAPSHOT_DIR, name);
+    }
+
+    /**
+     * Load the catalogues persisted by previous refreshes for the currently configured URLs and publish
+     * their merge. Restores the conditional-GET validators too, so the first background refresh after a
+     * restart usually ends with 304s.
+     */
+    private void loadPersistedStoreIndex() {
+        List<String> urls = storeModuleListUrls;
+        long start = System.nanoTime();
+        Map<String, StoreIndexSnapshot> catalogues = new LinkedHashMap<>();
+        for (String url : urls) {
+            Path file = storeCatalogueSnapshotPath(url);
             try {
-                Version v = vs.parseVersion(vStr);
-                if (latestStore == null || v.compareTo(latestStore) > 0) {
-                    latestStore = v;
-                    latestVersionStr = vStr;
+                StoreIndexSnapshot snapshot = StoreIndexSnapshot.read(file, jahiaVersion);
+                if (snapshot == null) {
+                    logger.debug("No persisted store catalogue for {} at {}", url, file);
+                } else if (!url.equals(snapshot.sourceUrl)) {
+                    logger.info("Ignoring persisted store catalogue {} fetched from {} (expected {})",
+                            file, snapshot.sourceUrl, url);
+                } else {
+                    catalogues.put(url, snapshot);
                 }
-            } catch (InvalidVersionSpecificationException ignore) {
-                logger.debug("Unparseable store version {} for {}", vStr, symbolicName);
+            } catch (IOException e) {
+                logger.warn("Could not load persisted store catalogue from {}: {}", file, e.getMessage());
             }
         }
-        return latestVersionStr;
+        if (catalogues.isEmpty()) {
+            return;
+        }
+        Map<String, StoreModuleEntry> index = mergeStoreCatalogues(urls, catalogues);
+        storeCatalogues.set(Collections.unmodifiableMap(catalogues));
+        publishStoreIndex(index);
+        updatesSnapshot.set(EMPTY_SNAPSHOT);
+        logger.info("Store module index loaded from {} persisted catalogue(s): {} modules indexed in {} ms",
+                catalogues.size(), index.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
     }
 
-    @Override
-    public void refreshStoreIndex() {
-        logger.info("Refreshing store module index from {}", storeModuleListUrl);
+    private void persistStoreCatalogue(StoreIndexSnapshot catalogue) {
+        Path file = storeCatalogueSnapshotPath(catalogue.sourceUrl);
         try {
-            HttpURLConnection conn = (HttpURLConnection) new URL(storeModuleListUrl).openConnection();
-            conn.setConnectTimeout(10_000);
-            conn.setReadTimeout(60_000);
-            conn.setRequestProperty("Accept", "application/json");
-            String json;
-            try (InputStream in = new BufferedInputStream(conn.getInputStream())) {
-                json = new String(readBounded(in, MAX_STORE_INDEX_BYTES), StandardCharsets.UTF_8);
-            }
-            Map<String, StoreModuleEntry> newIndex = buildStoreIndex(json);
-            storeModuleIndex.set(Collections.unmodifiableMap(newIndex));
-            updatesSnapshot.set(EMPTY_SNAPSHOT); // invalidate update cache
-            logger.info("Store module index refreshed from URL: {} modules indexed", newIndex.size());
-        } catch (Exception e) {
-            logger.warn("Failed to fetch store module index from URL ({}): {} — trying bundled fallback",
-                    storeModuleListUrl, e.getMessage());
-            loadBundledStoreIndex();
+            catalogue.write(file);
+            logger.debug("Store catalogue {} persisted to {}", catalogue.sourceUrl, file);
+        } catch (IOException e) {
+            logger.warn("Could not persist store catalogue {} to {}: {}", catalogue.sourceUrl, file, e.getMessage());
         }
     }
 
@@ -632,10 +1462,11 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             logger.warn("Bundled store module list not found in classpath — update index will remain empty");
             return;
         }
-        try (InputStream in = resource.openStream()) {
-            String json = new String(readBounded(in, MAX_STORE_INDEX_BYTES), StandardCharsets.UTF_8);
-            Map<String, StoreModuleEntry> newIndex = buildStoreIndex(json);
-            storeModuleIndex.set(Collections.unmodifiableMap(newIndex));
+        try (InputStream in = new BufferedInputStream(resource.openStream())) {
+            Map<String, StoreModuleEntry> newIndex = StoreCatalogueParser.parse(in, MAX_STORE_INDEX_BYTES, jahiaVersion);
+            publishStoreIndex(newIndex);
+            // The bundled copy does not correspond to any source's validators — next refresh must be unconditional
+            storeCatalogues.set(Collections.emptyMap());
             updatesSnapshot.set(EMPTY_SNAPSHOT);
             logger.info("Store module index loaded from bundled classpath resource: {} modules indexed",
                     newIndex.size());
@@ -645,79 +1476,17 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
     }
 
     /**
-     * Parse the store module-list JSON into a map keyed by OSGi symbolic name.
-     * Each version entry's {@code requiredVersion} (e.g. {@code "version-8.1.6.0"})
-     * is stored after stripping the {@code "version-"} prefix so it can be compared
-     * directly against {@link #jahiaVersion}.
+     * Publish a freshly built catalogue together with its search index.
      */
-    private Map<String, StoreModuleEntry> buildStoreIndex(String json) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(json);
-        Map<String, StoreModuleEntry> index = new HashMap<>();
-        Iterable<JsonNode> repositories = root.isArray() ? root : Collections.singletonList(root);
-        for (JsonNode repo : repositories) {
-            JsonNode modulesNode = repo.get("modules");
-            if (modulesNode == null || !modulesNode.isArray()) {
-                continue;
-            }
-            parseModules(modulesNode, index);
-        }
-        return index;
-    }
-
-    private static void parseModules(JsonNode modulesNode, Map<String, StoreModuleEntry> index) {
-        for (JsonNode mod : modulesNode) {
-            // Only index proper Jahia forge modules — skip content nodes of other types
-            if (!"jnt:forgeModule".equals(mod.path("jcrprimarytype").asText(null))) {
-                continue;
-            }
-            String name = mod.path("name").asText(null);
-            String groupId = mod.path("groupId").asText(null);
-            if (name == null || groupId == null) {
-                continue;
-            }
-            // Module-level store page URL (same for all versions of this module)
-            String storeUrl = mod.path("remoteUrl").asText(null);
-            String title = mod.path("title").asText(null);
-            String icon = mod.path("icon").asText(null);
-            JsonNode versionsNode = mod.path("versions");
-            if (!versionsNode.isArray() || versionsNode.isEmpty()) {
-                continue;
-            }
-            List<String> versions = new ArrayList<>();
-            Map<String, String> downloadUrls = new LinkedHashMap<>();
-            Map<String, String> requiredVersions = new LinkedHashMap<>();
-            parseVersionsNode(versionsNode, versions, downloadUrls, requiredVersions);
-            if (!versions.isEmpty()) {
-                index.put(name, new StoreModuleEntry(name, groupId, storeUrl, title, icon,
-                        versions, downloadUrls, requiredVersions));
-            }
-        }
+    private void publishStoreIndex(Map<String, StoreModuleEntry> newIndex) {
+        storeModuleIndex.set(Collections.unmodifiableMap(newIndex));
+        storeSearchIndex.set(StoreSearchIndex.build(newIndex.values()));
     }
 
-    private static void parseVersionsNode(JsonNode versionsNode, List<String> versions, Map<String, String> downloadUrls, Map<String, String> requiredVersions) {
-        for (JsonNode vEntry : versionsNode) {
-            String version = vEntry.path(VERSION).asText(null);
-            if (version == null || version.isEmpty()) {
-                continue;
-            }
-            String downloadUrl = vEntry.path("downloadUrl").asText(null);
-            String requiredVersion = vEntry.path("requiredVersion").asText(null);
-            versions.add(version);
-            if (downloadUrl != null && !downloadUrl.isEmpty()) {
-                downloadUrls.put(version, downloadUrl);
-            }
-            if (requiredVersion != null && requiredVersion.startsWith("version-")) {
-                requiredVersions.put(version,
-                        StringUtils.substringAfter(requiredVersion, "version-"));
-            }
-        }
-    }
-
-    private void checkBundleUpdates(String bundleKey, BundleService.BundleInformation bundleInfo, MavenResolver resolver, Map<String, String> updates) {
+    private void checkBundleUpdates(String bundleKey, BundleService.BundleInformation bundleInfo, MavenResolver resolver, List<ModuleUpdate> updates) {
         if (bundleInfo.getOsgiState() == BundleState.ACTIVE) {
             String key = getBundleKey(bundleKey);
-            if (excludeModules.stream().anyMatch(pattern -> pattern.matcher(key).matches())) {
+            if (excludeModules.matches(key)) {
                 logger.debug("Skipping excluded module: {}", key);
                 return;
             }
@@ -726,10 +1495,9 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             logger.debug("Bundle: {}", bundle);
             if (bundle != null) {
                 String location = bundle.getLocation();
-                VersionScheme versionScheme = new GenericVersionScheme();
                 Version bundleVersion;
                 try {
-                    bundleVersion = versionScheme.parseVersion(bundle.getVersion().toString());
+                    bundleVersion = VersionCache.parse(bundle.getVersion().toString());
                 } catch (InvalidVersionSpecificationException e) {
                     throw new JahiaRuntimeException(e);
                 }
@@ -738,7 +1506,7 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         }
     }
 
-    private void resolveAvailableVersions(MavenResolver resolver, String location, Bundle bundle, Version bundleVersion, String key, Map<String, String> updates) {
+    private void resolveAvailableVersions(MavenResolver resolver, String location, Bundle bundle, Version bundleVersion, String key, List<ModuleUpdate> updates) {
         Artifact artifact = null;
         List<Version> versions = null;
         if (location.startsWith(MVN_PREFIX)) {
@@ -757,24 +1525,14 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             if (!versions.isEmpty()) {
                 Version latestVersion = versions.get(versions.size() - 1);
                 if (!(latestVersion.toString().contains(SNAPSHOT)) && latestVersion.compareTo(bundleVersion) > 0) {
-                    updates.put(key + " : " + latestVersion, MVN_PREFIX + artifact.getGroupId() + "/" + artifact.getArtifactId() + "/" + latestVersion);
+                    updates.add(new ModuleUpdate(bundle.getSymbolicName(), key, bundle.getVersion().toString(),
+                            latestVersion.toString(), MVN_PREFIX + artifact.getGroupId() + "/" + artifact.getArtifactId() + "/" + latestVersion,
+                            bundle.getHeaders().get(JAHIA_MODULE_TYPE), false, ModuleUpdate.Source.MAVEN, null));
                 }
             }
         }
     }
 
-    private Set<String> getFilteredUpdates(Map<String, String> source, List<String> filters, List<Pattern> patterns) {
-        if (CollectionUtils.isNotEmpty(filters)) {
-            Set<String> filteredUpdates = new HashSet<>();
-            source.keySet().stream().filter(key -> {
-                String finalKey = StringUtils.substringBefore(key, " : ");
-                return patterns.stream().anyMatch(pattern -> pattern.matcher(finalKey).matches());
-            }).forEach(filteredUpdates::add);
-            return filteredUpdates;
-        }
-        return null;
-    }
-
     private static List<Pattern> getPatternList(List<String> filters) {
         if (CollectionUtils.isNotEmpty(filters) && filters.stream().anyMatch(filter -> filter.equals(".*") || filter.equals("^.*$"))) {
             throw new DataFetchingException("Updating all available bundles not permitted, please specify a valid filter");
@@ -811,46 +1569,31 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
                 String classifier = parts.length > 4 ? parts[4] : "features";
                 VersionConstraint versionConstraint = versionScheme.parseVersionConstraint(getVersion(featureVersion));
                 logger.info("Checking for feature {} updates for {} : {} : {}, {}, {}", feature.getName(), groupId, artifactId, featureVersionStr, type, classifier);
-                File file = resolver.resolveMetadata(groupId, artifactId, "maven-metadata.xml", null);
-                if (file != null && file.exists()) {
-                    checkFeatureVersions(feature, file, versionScheme, versionConstraint, featureVersionStr);
-                }
-            } catch (InvalidVersionSpecificationException | IOException | XmlPullParserException e) {
+                checkFeatureVersions(feature, mavenMetadataCache.getVersions(resolver, groupId, artifactId),
+                        versionConstraint, featureVersionStr);
+            } catch (InvalidVersionSpecificationException | IOException e) {
                 throw new JahiaRuntimeException(e);
             }
         });
     }
 
-    private void checkFeatureVersions(Feature feature, File file, VersionScheme versionScheme, VersionConstraint versionConstraint, String featureVersionStr) throws IOException, XmlPullParserException {
-        List<Version> versions = new ArrayList<>();
-        try (InputStream in = Files.newInputStream(file.toPath())) {
-            Versioning versioning = (new MetadataXpp3Reader()).read(in, false).getVersioning();
-            versioning.getVersions().stream().filter(s -> {
-                try {
-                    Version version = versionScheme.parseVersion(s);
+    private void checkFeatureVersions(Feature feature, List<Version> available, VersionConstraint versionConstraint, String featureVersionStr) throws InvalidVersionSpecificationException {
+        Version featureVersion = VersionCache.parse(featureVersionStr);
+        List<Version> versions = available.stream()
+                .filter(version -> {
                     logger.debug("Checking version: {} for feature {}", version, feature.getName());
-                    if (!(version.toString().contains(SNAPSHOT))) {
-                        return versionConstraint.getRange().containsVersion(version) && version.compareTo(versionScheme.parseVersion(featureVersionStr)) > 0;
-                    } else {
+                    if (version.toString().contains(SNAPSHOT)) {
                         logger.debug("Skipping SNAPSHOT version: {}", version);
                         return false;
                     }
-                } catch (InvalidVersionSpecificationException e) {
-                    throw new DataFetchingException(e);
-                }
-            }).forEach(version -> {
-                try {
-                    versions.add(versionScheme.parseVersion(version));
-                } catch (InvalidVersionSpecificationException e) {
-                    throw new JahiaRuntimeException(e);
-                }
-            });
-            logger.info("Found {} versions", versions.size());
-            if (logger.isInfoEnabled()) {
-                versions.forEach(version ->
-                        logger.info("Version : {}", version)
-                );
-            }
+                    return versionConstraint.getRange().containsVersion(version) && version.compareTo(featureVersion) > 0;
+                })
+                .collect(Collectors.toList());
+        logger.info("Found {} versions", versions.size());
+        if (logger.isInfoEnabled()) {
+            versions.forEach(version ->
+                    logger.info("Version : {}", version)
+            );
         }
     }
 
@@ -1031,81 +1774,47 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             logger.debug("No Jahia-GroupId header for bundle {}, skipping JCR version lookup", bundle.getSymbolicName());
             return Collections.emptyList();
         }
-        String groupPath = groupId.replace('.', '/');
-        String jcrBundlePath = JCR_BUNDLES_BASE_PATH + JCR_PATH_SEPARATOR + groupPath
-                + JCR_PATH_SEPARATOR + bundle.getSymbolicName();
-
-        return jcrTemplate.doExecuteWithSystemSessionAsUser(
-                jahiaUserManagerService.lookupRootUser().getJahiaUser(),
-                Constants.EDIT_WORKSPACE, null,
-                session -> {
-                    if (!session.itemExists(jcrBundlePath)) {
-                        return Collections.emptyList();
-                    }
-                    javax.jcr.Node bundleFolder = session.getNode(jcrBundlePath);
-                    javax.jcr.NodeIterator versionFolders = bundleFolder.getNodes();
-                    List<Map<String, Object>> versions = new ArrayList<>();
-                    while (versionFolders.hasNext()) {
-                        javax.jcr.Node versionFolder = versionFolders.nextNode();
-                        if (versionFolder.isNodeType("jnt:moduleManagementBundleFolder")) {
-                            parseJARNodes(bundle, versionFolder, versions);
-                        }
-                    }
-                    versions.sort((a, b) -> {
-                        String vA = (String) a.get(VERSION);
-                        String vB = (String) b.get(VERSION);
-                        try {
-                            VersionScheme vs = new GenericVersionScheme();
-                            return vs.parseVersion(vB).compareTo(vs.parseVersion(vA));
-                        } catch (Exception e) {
-                            return vB.compareTo(vA);
-                        }
-                    });
 
-                    // Collect all OSGi-installed versions of this bundle (any state)
-                    Set<String> installedVersions = Arrays.stream(bundleContext.getBundles())
-                            .filter(b -> bundle.getSymbolicName().equals(b.getSymbolicName()))
-                            .map(b -> b.getVersion().toString())
-                            .collect(Collectors.toSet());
-
-                    // Remove versions that are already present in OSGi
-                    versions.removeIf(v -> installedVersions.contains(v.get(VERSION)));
-
-                    return versions;
-                });
-    }
+        // Collect all OSGi-installed versions of this bundle (any state)
+        Set<String> installedVersions = Arrays.stream(bundleContext.getBundles())
+                .filter(b -> bundle.getSymbolicName().equals(b.getSymbolicName()))
+                .map(b -> b.getVersion().toString())
+                .collect(Collectors.toSet());
 
-    private void parseJARNodes(Bundle bundle, Node versionFolder, List<Map<String, Object>> versions) throws RepositoryException {
-        javax.jcr.NodeIterator jarNodes = versionFolder.getNodes();
-        while (jarNodes.hasNext()) {
-            Node jarNode = jarNodes.nextNode();
-            if (jarNode.isNodeType(NT_MODULE_MANAGEMENT_BUNDLE)) {
-                Map<String, Object> info = new HashMap<>();
-                info.put(VERSION, versionFolder.getName());
-                info.put("jcrPath", jarNode.getPath());
-                info.put("fileName", jarNode.getName());
-                getJARBinaryInfo(bundle, versionFolder, jarNode, info);
-                versions.add(info);
+        // Served from the catalogue, newest first: no JCR read unless the store changed since the last lookup
+        List<Map<String, Object>> versions = new ArrayList<>();
+        for (ModuleBundleStoreCatalogue.StoredBundle stored : bundleStoreCatalogue.getVersions(groupId, bundle.getSymbolicName())) {
+            // Remove versions that are already present in OSGi
+            if (installedVersions.contains(stored.getVersion())) {
+                continue;
+            }
+            Map<String, Object> info = new HashMap<>();
+            info.put(VERSION, stored.getVersion());
+            info.put("jcrPath", stored.getJarPath());
+            info.put("fileName", stored.getFileName());
+            if (stored.getSize() >= 0) {
+                info.put("size", stored.getSize());
+            }
+            if (stored.getLastModified() != null) {
+                info.put("lastModified", stored.getLastModified().toString());
             }
+            versions.add(info);
         }
+        return versions;
     }
 
-    private void getJARBinaryInfo(Bundle bundle, Node versionFolder, Node jarNode, Map<String, Object> info) throws RepositoryException {
-        try {
-            if (jarNode.hasNode(JCR_CONTENT)) {
-                Node content = jarNode.getNode(JCR_CONTENT);
-                if (content.hasProperty(JCR_DATA)) {
-                    javax.jcr.Binary bin = content.getProperty(JCR_DATA).getBinary();
-                    info.put("size", bin.getSize());
-                    bin.dispose();
-                }
-                if (content.hasProperty("jcr:lastModified")) {
-                    info.put("lastModified", content.getProperty("jcr:lastModified").getDate().toInstant().toString());
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("Error reading metadata for {} version {}", bundle.getSymbolicName(), versionFolder.getName(), e);
+    @Override
+    public BundleStoreUsage getBundleStoreUsage() throws RepositoryException {
+        List<BundleStoreUsage.ModuleUsage> modules = new ArrayList<>();
+        for (Map.Entry<String, List<ModuleBundleStoreCatalogue.StoredBundle>> entry : bundleStoreCatalogue.getModules().entrySet()) {
+            List<ModuleBundleStoreCatalogue.StoredBundle> versions = entry.getValue();
+            long size = versions.stream().mapToLong(stored -> Math.max(0, stored.getSize())).sum();
+            long versionCount = versions.stream().map(ModuleBundleStoreCatalogue.StoredBundle::getVersion).distinct().count();
+            modules.add(new BundleStoreUsage.ModuleUsage(versions.get(0).getSymbolicName(), entry.getKey(),
+                    (int) versionCount, size));
         }
+        modules.sort(Comparator.comparingLong(BundleStoreUsage.ModuleUsage::getSize).reversed());
+        return new BundleStoreUsage(bundleStoreCatalogue.getTotalSize(), modules);
     }
 
     @Override
@@ -1138,54 +1847,21 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
                     existingVersions.size(), symbolicName,
                     existingVersions.stream().map(b -> b.getVersion().toString()).collect(Collectors.joining(", ")));
         }
-        SettingsBean settingsBean = SettingsBean.getInstance();
-        // Create the temp file first, outside the JCR session, so it survives past the session close
-        File tempFile = File.createTempFile("bundle-rollback-", ".jar", new File(settingsBean.getTmpContentDiskPath()));
-        final String[] fileNameHolder = {null};
-
-        copyJARToTmpFile(jcrPath, fileNameHolder, tempFile);
-
-        String fileName = fileNameHolder[0];
-        // SECURITY: verify the binary pulled from JCR really is an OSGi bundle before installing it.
-        validateOsgiBundle(tempFile, fileName);
-        String safeFileName = sanitizeForLog(fileName);
-        try {
-            String yamlScript = "- installBundle:\n" +
-                    YAML_URL_PREFIX + tempFile.toURI() + "'\n" +
-                    YAML_AUTOSTART_TRUE +
-                    "  uninstallPreviousVersion: true\n" +
-                    "  ignoreChecks: true\n" +
-                    "- karafCommand: \"log:log 'Bundle " + safeFileName.replace("'", "\\'") + " installed from JCR rollback'\"\n";
-            provisioningManager.executeScript(yamlScript, YAML_FORMAT);
-            if (logger.isInfoEnabled()) {
-                logger.info("Bundle {} installed from JCR path: {}", safeFileName, sanitizeForLog(jcrPath));
-            }
-        } finally {
-            FileUtils.deleteQuietly(tempFile);
+        String fileName = parts[parts.length - 1];
+        // Installed straight from the JCR binary, which is checked to be an OSGi bundle as it is read
+        Map<String, String> rejected = new HashMap<>();
+        installJcrBundles(Collections.singletonMap(fileName, jcrPath), rejected);
+        if (!rejected.isEmpty()) {
+            throw new IOException(rejected.get(fileName));
         }
-
-        // Wait up to 30 s for the restored version to be visible in OSGi
-        Bundle restoredBundle = null;
-        long deadline = System.currentTimeMillis() + 30_000L;
-        while (System.currentTimeMillis() < deadline) {
-            restoredBundle = Arrays.stream(bundleContext.getBundles())
-                    .filter(b -> symbolicName.equals(b.getSymbolicName())
-                            && targetVersion.equals(b.getVersion().toString()))
-                    .findFirst().orElse(null);
-            if (restoredBundle != null) {
-                break;
-            }
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+        if (logger.isInfoEnabled()) {
+            logger.info("Bundle {} installed from JCR path: {}", sanitizeForLog(fileName), sanitizeForLog(jcrPath));
         }
 
+        Bundle restoredBundle = awaitBundle(symbolicName, targetVersion);
         if (restoredBundle == null) {
-            logger.warn("Restored bundle {} v{} did not appear in OSGi within 30 s — skipping old-version cleanup",
-                    symbolicName, targetVersion);
+            logger.warn("Restored bundle {} v{} did not appear in OSGi within {} s — skipping old-version cleanup",
+                    symbolicName, targetVersion, bundleReadyTimeoutSeconds);
             return BUNDLE_PREFIX + fileName + " installed but could not confirm in OSGi — other versions were NOT removed";
         }
 
@@ -1206,38 +1882,340 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             }
         }
 
-        String result = BUNDLE_PREFIX + fileName + " (v" + targetVersion + ") installed successfully";
-        if (!uninstalled.isEmpty()) {
-            result += ". Removed old version(s): " + String.join(", ", uninstalled);
+        String result = BUNDLE_PREFIX + fileName + " (v" + targetVersion + ") installed successfully";
+        if (!uninstalled.isEmpty()) {
+            result += ". Removed old version(s): " + String.join(", ", uninstalled);
+        }
+        return result;
+    }
+
+    @Override
+    public String restoreBundlesFromJcr(List<String> bundles, Instant pointInTime) throws IOException {
+        SettingsBean settingsBean = SettingsBean.getInstance();
+        if (settingsBean.isMaintenanceMode() || settingsBean.isReadOnlyMode() || settingsBean.isFullReadOnlyMode()) {
+            throw new IOException(SERVICE_IS_NOT_AVAILABLE_IN_READ_ONLY_MODE);
+        }
+        boolean byVersion = bundles != null && !bundles.isEmpty();
+        if (!byVersion && pointInTime == null) {
+            throw new IOException("Either the bundle versions to restore or a point in time must be given");
+        }
+        Map<String, String> requested = new LinkedHashMap<>();
+        if (byVersion) {
+            for (String bundle : bundles) {
+                int separator = bundle != null ? bundle.lastIndexOf('@') : -1;
+                if (separator <= 0 || separator == bundle.length() - 1) {
+                    throw new IOException("Invalid bundle version, expected symbolicName@version: " + sanitizeForLog(bundle));
+                }
+                requested.put(bundle.substring(0, separator), bundle.substring(separator + 1));
+            }
+        }
+
+        // Snapshot the installed versions BEFORE installing, so we know exactly which ones get superseded
+        Map<String, List<Bundle>> installed = new HashMap<>();
+        for (Bundle bundle : bundleContext.getBundles()) {
+            if (bundle.getSymbolicName() != null) {
+                installed.computeIfAbsent(bundle.getSymbolicName(), k -> new ArrayList<>()).add(bundle);
+            }
+        }
+
+        // Selected from the catalogue: the store is not walked, JCR is only read to validate the selected JARs.
+        // The selection is made on a fresh snapshot, not on one that may be minutes old.
+        bundleStoreCatalogue.invalidate();
+        List<ModuleBundleStoreCatalogue.StoredBundle> candidates = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        try {
+            if (byVersion) {
+                for (Map.Entry<String, String> entry : requested.entrySet()) {
+                    ModuleBundleStoreCatalogue.StoredBundle match = null;
+                    for (ModuleBundleStoreCatalogue.StoredBundle stored : bundleStoreCatalogue.getVersions(entry.getKey())) {
+                        if (stored.getVersion().equals(entry.getValue())) {
+                            match = stored;
+                            break;
+                        }
+                    }
+                    if (match == null) {
+                        skipped.add(entry.getKey() + "@" + entry.getValue() + " (not in the JCR bundle store)");
+                    } else if (isInstalledVersion(installed, match)) {
+                        skipped.add(restoreKey(match) + " (already installed)");
+                    } else {
+                        candidates.add(match);
+                    }
+                }
+            } else {
+                // Restoring to a point in time leaves most modules unchanged: those are not reported
+                for (String symbolicName : installed.keySet()) {
+                    ModuleBundleStoreCatalogue.StoredBundle match = null;
+                    for (ModuleBundleStoreCatalogue.StoredBundle stored : bundleStoreCatalogue.getVersions(symbolicName)) {
+                        if (stored.getLastModified() != null && !stored.getLastModified().isAfter(pointInTime)
+                                && (match == null || stored.getLastModified().isAfter(match.getLastModified()))) {
+                            match = stored;
+                        }
+                    }
+                    if (match != null && !isInstalledVersion(installed, match)) {
+                        candidates.add(match);
+                    }
+                }
+            }
+        } catch (RepositoryException e) {
+            throw new IOException("Error reading the JCR bundle store", e);
+        }
+
+        if (candidates.isEmpty()) {
+            return noBundleRestored(skipped);
+        }
+        return installRestoredBundles(candidates, installed, skipped);
+    }
+
+    private static String noBundleRestored(List<String> skipped) {
+        return "No bundle to restore" + (skipped.isEmpty() ? "" : ". Skipped: " + String.join(", ", skipped));
+    }
+
+    private String installRestoredBundles(List<ModuleBundleStoreCatalogue.StoredBundle> candidates,
+                                          Map<String, List<Bundle>> installed, List<String> skipped) throws IOException {
+
+        // Providers first, one call: the module manager installs, refreshes and starts them together.
+        // The superseded versions are removed below, once the restored ones are confirmed.
+        Map<String, Set<String>> dependencies = collectBundleDependencies(
+                candidates.stream().map(ModuleBundleStoreCatalogue.StoredBundle::getSymbolicName)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+        List<ModuleBundleStoreCatalogue.StoredBundle> ordered = DependencyOrder.sort(candidates,
+                ModuleBundleStoreCatalogue.StoredBundle::getSymbolicName, ModuleManagementCommunityServiceImpl::restoreKey,
+                dependencies::get);
+        Map<String, String> jarPaths = new LinkedHashMap<>();
+        for (ModuleBundleStoreCatalogue.StoredBundle candidate : ordered) {
+            jarPaths.put(restoreKey(candidate), candidate.getJarPath());
+        }
+        logger.info("Restoring {} bundle(s) from JCR: {}", ordered.size(), jarPaths.keySet());
+        Map<String, String> rejected = new LinkedHashMap<>();
+        Set<String> installedKeys = new HashSet<>(installJcrBundles(jarPaths, rejected));
+        rejected.forEach((key, reason) -> skipped.add(key + " (" + reason + ")"));
+        if (installedKeys.isEmpty()) {
+            return noBundleRestored(skipped);
+        }
+
+        // Only the modules whose restored version showed up in time get their other versions removed
+        Map<ModuleBundleStoreCatalogue.StoredBundle, CompletableFuture<Bundle>> waits = new LinkedHashMap<>();
+        for (ModuleBundleStoreCatalogue.StoredBundle candidate : ordered) {
+            if (installedKeys.contains(restoreKey(candidate))) {
+                waits.put(candidate, bundleStateWaiter.await(candidate.getSymbolicName(), candidate.getVersion(), false));
+            }
+        }
+        try {
+            CompletableFuture.allOf(waits.values().toArray(new CompletableFuture[0]))
+                    .get(bundleReadyTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            // Reported below through the bundles not confirmed
+        }
+        List<String> restored = new ArrayList<>();
+        List<String> unconfirmed = new ArrayList<>();
+        List<Bundle> superseded = new ArrayList<>();
+        waits.forEach((candidate, wait) -> {
+            if (wait.isDone() && !wait.isCancelled()) {
+                restored.add(restoreKey(candidate));
+                for (Bundle old : installed.getOrDefault(candidate.getSymbolicName(), Collections.emptyList())) {
+                    if (!candidate.getVersion().equals(old.getVersion().toString()) && old.getState() != Bundle.UNINSTALLED) {
+                        superseded.add(old);
+                    }
+                }
+            } else {
+                unconfirmed.add(restoreKey(candidate));
+            }
+            wait.cancel(false);
+        });
+        List<String> removed = new ArrayList<>();
+        List<String> notRemoved = new ArrayList<>();
+        uninstallWithSingleRefresh(superseded, removed, notRemoved);
+
+        StringBuilder result = new StringBuilder("Restored ").append(restored.size()).append(" bundle(s)");
+        if (!restored.isEmpty()) {
+            result.append(": ").append(String.join(", ", restored));
+        }
+        if (!removed.isEmpty()) {
+            result.append(". Removed old version(s): ").append(String.join(", ", removed));
+        }
+        if (!notRemoved.isEmpty()) {
+            result.append(". Could not remove old version(s): ").append(String.join(", ", notRemoved));
+        }
+        if (!unconfirmed.isEmpty()) {
+            logger.warn("Restored bundles {} did not appear in OSGi within {} s — their other versions were kept",
+                    unconfirmed, bundleReadyTimeoutSeconds);
+            result.append(". Installed but could not confirm in OSGi, other versions were NOT removed: ")
+                    .append(String.join(", ", unconfirmed));
+        }
+        if (!skipped.isEmpty()) {
+            result.append(". Skipped: ").append(String.join(", ", skipped));
+        }
+        return result.toString();
+    }
+
+    private static String restoreKey(ModuleBundleStoreCatalogue.StoredBundle stored) {
+        return stored.getSymbolicName() + "@" + stored.getVersion();
+    }
+
+    private static boolean isInstalledVersion(Map<String, List<Bundle>> installed, ModuleBundleStoreCatalogue.StoredBundle stored) {
+        for (Bundle bundle : installed.getOrDefault(stored.getSymbolicName(), Collections.emptyList())) {
+            if (stored.getVersion().equals(bundle.getVersion().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Uninstall {@code bundles} through the module manager, so that the uninstallation is propagated to the
+     * cluster and the Jahia module states are updated, then refresh the framework once for all of them rather
+     * than once per bundle.
+     *
+     * @param removed    receives the {@code symbolicName@version} of the bundles uninstalled
+     * @param notRemoved receives the {@code symbolicName@version (reason)} of the bundles that could not be
+     */
+    private void uninstallWithSingleRefresh(List<Bundle> bundles, List<String> removed, List<String> notRemoved) {
+        if (bundles.isEmpty()) {
+            return;
+        }
+        ModuleManager moduleManager = BundleUtils.getOsgiService(ModuleManager.class, null);
+        List<Bundle> uninstalled = new ArrayList<>();
+        for (Bundle old : bundles) {
+            String key = old.getSymbolicName() + "@" + old.getVersion();
+            if (moduleManager == null) {
+                notRemoved.add(key + " (module manager not available)");
+                continue;
+            }
+            try {
+                moduleManager.uninstall(BundleInfo.fromBundle(old).getKey(), null);
+                uninstalled.add(old);
+                removed.add(key);
+                logger.info("Uninstalled old version {} of {}", old.getVersion(), old.getSymbolicName());
+            } catch (Exception e) {
+                logger.warn("Could not uninstall version {} of {}", old.getVersion(), old.getSymbolicName(), e);
+                notRemoved.add(key + " (" + e.getMessage() + ")");
+            }
+        }
+        if (!uninstalled.isEmpty()) {
+            bundleContext.getBundle(0).adapt(FrameworkWiring.class).refreshBundles(uninstalled);
+        }
+    }
+
+    /**
+     * Wait until {@code version} of {@code symbolicName} is installed in OSGi, at most the configured
+     * bundle ready timeout.
+     *
+     * @return the installed bundle, {@code null} if it did not show up in time
+     */
+    private Bundle awaitBundle(String symbolicName, String version) {
+        CompletableFuture<Bundle> wait = bundleStateWaiter.await(symbolicName, version, false);
+        try {
+            return wait.get(bundleReadyTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            return null;
+        } finally {
+            wait.cancel(false);
         }
-        invalidateUpdatesCache();
-        return result;
     }
 
-    private void copyJARToTmpFile(String jcrPath, String[] fileNameHolder, File tempFile) throws IOException {
+    /**
+     * Install the JARs stored at the given paths through the module manager, started and in the given order,
+     * straight from their JCR binaries: they are all read within one session, and nothing is copied to disk.
+     * SECURITY: every binary is checked to be an OSGi bundle as it is read; the ones that are not are left out.
+     *
+     * @param jarPaths JCR path of every JAR, by the key it is reported under
+     * @param rejected receives the key and the reason of every JAR left out
+     * @return the keys of the JARs installed
+     */
+    private List<String> installJcrBundles(Map<String, String> jarPaths, Map<String, String> rejected) throws IOException {
+        ModuleManager moduleManager = BundleUtils.getOsgiService(ModuleManager.class, null);
+        if (moduleManager == null) {
+            throw new IOException("Module manager not available");
+        }
+        List<String> installedKeys = new ArrayList<>();
         try {
-            // Stream JCR binary directly to disk — never holds the full JAR in memory
             jcrTemplate.doExecuteWithSystemSessionAsUser(
                     jahiaUserManagerService.lookupRootUser().getJahiaUser(),
                     Constants.EDIT_WORKSPACE, null,
                     session -> {
-                        Node jarNode = session.getNode(jcrPath);
-                        fileNameHolder[0] = jarNode.getName();
-                        Node content = jarNode.getNode(JCR_CONTENT);
-                        javax.jcr.Binary binary = content.getProperty(JCR_DATA).getBinary();
-                        try (InputStream in = new BufferedInputStream(binary.getStream(), 64 * 1024);
-                             OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile), 64 * 1024)) {
-                            org.apache.commons.io.IOUtils.copy(in, out);
-                        } catch (IOException e) {
-                            throw new RepositoryException("Error streaming JAR binary to disk", e);
+                        List<Binary> binaries = new ArrayList<>();
+                        List<Resource> resources = new ArrayList<>();
+                        try {
+                            for (Map.Entry<String, String> jar : jarPaths.entrySet()) {
+                                try {
+                                    Node jarNode = session.getNode(jar.getValue());
+                                    if (!jarNode.isNodeType(NT_MODULE_MANAGEMENT_BUNDLE)) {
+                                        throw new RepositoryException("Not a module bundle node: " + jar.getValue());
+                                    }
+                                    Binary binary = jarNode.getNode(JCR_CONTENT).getProperty(JCR_DATA).getBinary();
+                                    binaries.add(binary);
+                                    JcrBundleResource resource = new JcrBundleResource(jar.getValue(), jarNode.getName(), binary);
+                                    resource.validate();
+                                    resources.add(resource);
+                                    installedKeys.add(jar.getKey());
+                                } catch (IOException | RepositoryException e) {
+                                    rejected.put(jar.getKey(), e.getMessage());
+                                }
+                            }
+                            if (!resources.isEmpty()) {
+                                // Read by the module manager before the session is closed
+                                moduleManager.install(resources, null, true);
+                            }
+                        } catch (ModuleManagementException e) {
+                            throw new RepositoryException("The module manager could not install the bundles: " + e.getMessage(), e);
                         } finally {
-                            binary.dispose();
+                            binaries.forEach(Binary::dispose);
                         }
                         return null;
                     });
+        } catch (RepositoryException e) {
+            throw new IOException("Error installing bundles from the JCR store", e);
+        }
+        return installedKeys;
+    }
+
+    /**
+     * Copy the bundle stored at {@code jcrPath}, which must be a bundle node of the store, to a new temporary
+     * file. The caller deletes the file after use.
+     */
+    private File copyJcrBundleToTmpFile(String jcrPath, String prefix) throws IOException {
+        if (jcrPath == null || !jcrPath.startsWith(JCR_BUNDLES_BASE_PATH + "/")) {
+            throw new IOException("Invalid JCR bundle path: must be located under " + JCR_BUNDLES_BASE_PATH);
+        }
+        // Create the temp file first, outside the JCR session, so it survives past the session close
+        File tempFile = File.createTempFile(prefix, ".jar", new File(SettingsBean.getInstance().getTmpContentDiskPath()));
+        try {
+            jcrTemplate.doExecuteWithSystemSessionAsUser(
+                    jahiaUserManagerService.lookupRootUser().getJahiaUser(),
+                    Constants.EDIT_WORKSPACE, null,
+                    session -> {
+                        copyJcrBundleToFile(session, jcrPath, tempFile);
+                        return null;
+                    });
+            return tempFile;
         } catch (RepositoryException e) {
             FileUtils.deleteQuietly(tempFile);
-            throw new IOException("Error reading bundle from JCR path: " + jcrPath, e);
+            throw new IOException("Error reading bundle from JCR path: " + sanitizeForLog(jcrPath), e);
+        }
+    }
+
+    /**
+     * Stream the binary of the bundle node at {@code jcrPath} to {@code target}, within {@code session}:
+     * the binary is fully read and disposed before the session is closed. Never holds the JAR in memory.
+     */
+    private static void copyJcrBundleToFile(JCRSessionWrapper session, String jcrPath, File target) throws RepositoryException {
+        Node jarNode = session.getNode(jcrPath);
+        if (!jarNode.isNodeType(NT_MODULE_MANAGEMENT_BUNDLE)) {
+            throw new RepositoryException("Not a module bundle node: " + jcrPath);
+        }
+        Binary binary = jarNode.getNode(JCR_CONTENT).getProperty(JCR_DATA).getBinary();
+        try (InputStream in = new BufferedInputStream(binary.getStream(), 64 * 1024);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(target), 64 * 1024)) {
+            org.apache.commons.io.IOUtils.copy(in, out);
+        } catch (IOException e) {
+            throw new RepositoryException("Error streaming JAR binary to disk", e);
+        } finally {
+            binary.dispose();
         }
     }
 
@@ -1247,77 +2225,64 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         if (entry == null) {
             return Collections.emptyList();
         }
-        VersionScheme vs = new GenericVersionScheme();
-        return entry.versions.stream()
-                .filter(v -> !v.contains(SNAPSHOT))
-                .filter(v -> isCompatibleWithJahia(entry.requiredVersions.get(v)))
+        // compatibleVersions is already filtered and sorted newest-first by the index builder
+        return entry.compatibleVersions.stream()
                 .map(v -> {
                     Map<String, String> info = new LinkedHashMap<>();
                     info.put(VERSION, v);
                     info.put("storeUrl", entry.storeUrl != null ? entry.storeUrl : "");
-                    info.put("downloadUrl", entry.downloadUrls.getOrDefault(v, ""));
+                    info.put("downloadUrl", StringUtils.defaultString(entry.downloadUrl(v)));
                     return info;
                 })
-                // Sort newest-first (gracefully degrade for unparseable versions)
-                .sorted((a, b) -> {
-                    try {
-                        return vs.parseVersion(b.get(VERSION)).compareTo(vs.parseVersion(a.get(VERSION)));
-                    } catch (InvalidVersionSpecificationException e) {
-                        return b.get(VERSION).compareTo(a.get(VERSION));
-                    }
-                })
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Map<String, String>> getStoreModulesNotInstalled(String searchTerm) {
-        if (storeModuleIndex.get().isEmpty()) {
-            refreshStoreIndex();
-        }
-
-        // Collect currently installed symbolic names
-        Set<String> installed = Arrays.stream(bundleContext.getBundles())
-                .map(Bundle::getSymbolicName)
-                .collect(Collectors.toSet());
-
-        VersionScheme vs = new GenericVersionScheme();
-        String lowerSearch = searchTerm != null ? searchTerm.toLowerCase() : "";
+        return getStoreModulesNotInstalled(searchTerm, 0, Integer.MAX_VALUE);
+    }
 
-        return storeModuleIndex.get().values().stream()
-                .filter(e -> !installed.contains(e.name))
-                .filter(e -> lowerSearch.isEmpty() || e.name.toLowerCase().contains(lowerSearch))
+    @Override
+    public List<Map<String, String>> getStoreModulesNotInstalled(String searchTerm, int offset, int limit) {
+        return searchStoreModulesNotInstalled(searchTerm)
+                .skip(Math.max(0, offset))
+                .limit(Math.max(0, limit))
                 .map(e -> {
-                    // Find the latest compatible non-SNAPSHOT version
-                    String latestVersion = e.versions.stream()
-                            .filter(v -> !v.contains(SNAPSHOT))
-                            .filter(v -> isCompatibleWithJahia(e.requiredVersions.get(v)))
-                            .max((a, b) -> {
-                                try {
-                                    return vs.parseVersion(a).compareTo(vs.parseVersion(b));
-                                } catch (InvalidVersionSpecificationException ex) {
-                                    return a.compareTo(b);
-                                }
-                            })
-                            .orElse(null);
-
-                    if (latestVersion == null) {
-                        return null; // no compatible release — skip
-                    }
-
                     Map<String, String> result = new LinkedHashMap<>();
                     result.put("symbolicName", e.name);
                     result.put("title", e.title != null ? e.title : e.name);
                     result.put("icon", e.icon != null ? e.icon : "");
-                    result.put("latestVersion", latestVersion);
+                    result.put("latestVersion", e.latestCompatibleVersion);
                     result.put("storeUrl", e.storeUrl != null ? e.storeUrl : "");
                     result.put("groupId", e.groupId != null ? e.groupId : "");
                     return result;
                 })
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparing(m -> m.get("symbolicName")))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public int countStoreModulesNotInstalled(String searchTerm) {
+        return (int) searchStoreModulesNotInstalled(searchTerm).count();
+    }
+
+    /**
+     * Ranked search over the store search index, minus the modules already installed. Entries without a
+     * compatible release are never indexed, so every result has a {@code latestCompatibleVersion}.
+     */
+    private Stream<StoreModuleEntry> searchStoreModulesNotInstalled(String searchTerm) {
+        if (storeModuleIndex.get().isEmpty()) {
+            refreshStoreIndex();
+        }
+
+        // Collect currently installed symbolic names
+        Set<String> installed = Arrays.stream(bundleContext.getBundles())
+                .map(Bundle::getSymbolicName)
+                .collect(Collectors.toSet());
+
+        return storeSearchIndex.get().search(searchTerm).stream()
+                .filter(e -> !installed.contains(e.name));
+    }
+
     @Override
     public String installStoreModules(List<String> symbolicNames) throws IOException {
         SettingsBean settingsBean = SettingsBean.getInstance();
@@ -1331,42 +2296,31 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             throw new IOException("No modules selected for installation");
         }
 
-        VersionScheme vs = new GenericVersionScheme();
         StringBuilder sb = new StringBuilder();
         sb.append(YAML_INSTALL_OR_UPGRADE);
 
         List<String> included = new ArrayList<>();
         List<String> skipped = new ArrayList<>();
 
-        for (String name : symbolicNames) {
+        // Providers first: installed modules follow their wiring, the others the manifest of their store JAR
+        Set<String> requested = new LinkedHashSet<>(symbolicNames);
+        Map<String, Set<String>> dependencies = collectBundleDependencies(requested);
+        addStoreModuleDependencies(requested, dependencies);
+        for (String name : DependencyOrder.sort(requested, Function.identity(), Function.identity(), dependencies::get)) {
             StoreModuleEntry entry = storeModuleIndex.get().get(name);
             if (entry == null) {
                 skipped.add(name + " (not in store index)");
                 continue;
             }
 
-            String version = entry.versions.stream()
-                    .filter(v -> !v.contains(SNAPSHOT))
-                    .filter(v -> isCompatibleWithJahia(entry.requiredVersions.get(v)))
-                    .max((a, b) -> {
-                        try {
-                            return vs.parseVersion(a).compareTo(vs.parseVersion(b));
-                        } catch (InvalidVersionSpecificationException e) {
-                            return a.compareTo(b);
-                        }
-                    })
-                    .orElse(null);
+            String version = entry.latestCompatibleVersion;
 
             if (version == null) {
                 skipped.add(name + " (no compatible version)");
                 continue;
             }
 
-            String url = entry.downloadUrls.getOrDefault(
-                    version,
-                    MVN_PREFIX + entry.groupId + "/" + name + "/" + version
-            );
-            sb.append(YAML_URL_PREFIX).append(url).append("'\n");
+            sb.append(YAML_URL_PREFIX).append(storeDownloadUrl(entry, version)).append("'\n");
             included.add(name + "@" + version);
         }
 
@@ -1380,7 +2334,6 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
 
         logger.info("Installing {} module(s) from store: {}", included.size(), included);
         provisioningManager.executeScript(sb.toString(), YAML_FORMAT);
-        invalidateUpdatesCache();
 
         StringBuilder result = new StringBuilder("Successfully installed ")
                 .append(included.size()).append(" module(s): ")
@@ -1392,21 +2345,43 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
     }
 
     /**
-     * Returns {@code true} when the current Jahia version satisfies the given minimum required
-     * version string (already stripped of the {@code "version-"} prefix, e.g. {@code "8.1.6.0"}).
-     * Returns {@code true} unconditionally when {@code requiredVersion} is {@code null} or empty,
-     * or when parsing fails.
+     * Add the module dependencies of the {@code symbolicNames} that are not installed, and therefore have no
+     * wiring, from the {@code Jahia-Depends} header of the store JAR of their latest compatible version. Only
+     * the start of each JAR is downloaded, since the manifest is its first entry. A module whose JAR cannot
+     * be read, or that only has an {@code mvn:} coordinate, is left without dependencies.
      */
-    private boolean isCompatibleWithJahia(String requiredVersionStr) {
-        if (requiredVersionStr == null || requiredVersionStr.isEmpty()) {
-            return true;
+    private void addStoreModuleDependencies(Set<String> symbolicNames, Map<String, Set<String>> dependencies) {
+        Set<String> installed = Arrays.stream(bundleContext.getBundles())
+                .map(Bundle::getSymbolicName)
+                .collect(Collectors.toSet());
+        Map<String, StoreModuleEntry> index = storeModuleIndex.get();
+        for (String symbolicName : symbolicNames) {
+            StoreModuleEntry entry = index.get(symbolicName);
+            if (installed.contains(symbolicName) || entry == null || entry.latestCompatibleVersion == null) {
+                continue;
+            }
+            String url = entry.downloadUrl(entry.latestCompatibleVersion);
+            if (url == null) {
+                continue;
+            }
+            try {
+                dependencies.get(symbolicName).addAll(readJahiaDepends(url));
+            } catch (IOException e) {
+                logger.debug("Could not read the manifest of {} from {}: {}", symbolicName, url, e.getMessage());
+            }
         }
-        try {
-            final org.osgi.framework.Version required = new org.osgi.framework.Version(requiredVersionStr);
-            return required.compareTo(jahiaVersion) <= 0 && required.getMajor() == jahiaVersion.getMajor();
-        } catch (IllegalArgumentException e) {
-            logger.debug("Could not parse requiredVersion '{}' — including version anyway", requiredVersionStr);
-            return true;
+    }
+
+    private Set<String> readJahiaDepends(String url) throws IOException {
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(storeFetchTimeoutSeconds);
+        URLConnection conn = new URL(url).openConnection();
+        conn.setConnectTimeout(Math.min(STORE_CONNECT_TIMEOUT_MILLIS, timeoutMillis));
+        conn.setReadTimeout(timeoutMillis);
+        // Closed once the manifest is read: the rest of the JAR is never downloaded
+        try (JarInputStream jar = new JarInputStream(new BufferedInputStream(conn.getInputStream()), false)) {
+            Manifest manifest = jar.getManifest();
+            return manifest == null ? Collections.emptySet()
+                    : DependencyOrder.parseJahiaDepends(manifest.getMainAttributes().getValue(JAHIA_DEPENDS));
         }
     }
 
@@ -1417,14 +2392,11 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             throw new DataFetchingException("Module '" + symbolicName + "' not found in store index — " +
                     "call refreshStoreIndex() to populate the catalogue");
         }
-        if (!entry.versions.contains(version)) {
+        if (!entry.hasVersion(version)) {
             throw new DataFetchingException("Version '" + version + "' of module '" + symbolicName +
                     "' not found in store index");
         }
-        // Prefer the direct download URL; fall back to a Maven coordinate
-        String url = entry.downloadUrls.getOrDefault(
-                version,
-                MVN_PREFIX + entry.groupId + "/" + symbolicName + "/" + version);
+        String url = storeDownloadUrl(entry, version);
 
         String yamlScript = YAML_INSTALL_OR_UPGRADE +
                 YAML_URL_PREFIX + url + "'\n" +
@@ -1436,7 +2408,6 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
 
         logger.info("Installing {} {} from store via provisioning YAML (url: {})", symbolicName, version, url);
         provisioningManager.executeScript(yamlScript, YAML_FORMAT);
-        invalidateUpdatesCache();
         return BUNDLE_PREFIX + symbolicName + " " + version + " installed successfully from store catalogue";
     }
 
@@ -1470,7 +2441,6 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             if (logger.isInfoEnabled()) {
                 logger.info("Module {} deployed successfully via upload", sanitizeForLog(fileName));
             }
-            invalidateUpdatesCache();
             return "Module " + fileName + " deployed successfully";
         } finally {
             FileUtils.deleteQuietly(tempFile);
@@ -1515,19 +2485,9 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
                             ". A Jahia provisioning YAML must be a list of operation objects (starting with '- ').",
                     e);
         }
-        invalidateUpdatesCache();
         return "Provisioning script '" + fileName + "' executed successfully";
     }
 
-    /**
-     * Invalidate the in-memory updates cache so the next {@link #listAvailableUpdates} call
-     * recomputes against the store index. Call this after any install or deploy operation.
-     */
-    private void invalidateUpdatesCache() {
-        updatesSnapshot.set(EMPTY_SNAPSHOT);
-        logger.debug("Updates cache invalidated — will recompute on next listAvailableUpdates() call");
-    }
-
     // -------------------------------------------------------------------------
     // Export / Import
     // -------------------------------------------------------------------------
@@ -1552,6 +2512,9 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
 
         try {
             for (Bundle bundle : bundles) {
+                if (ModuleJobEngine.isCurrentJobCancelled()) {
+                    throw new InterruptedIOException("Module export cancelled");
+                }
                 String entryName = "bundles/" + bundle.getSymbolicName() + "-" + bundle.getVersion() + ".jar";
                 String mavenUrl = resolveMavenUrl(bundle);
 
@@ -1653,6 +2616,104 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         }
     }
 
+    // ── Background jobs ──────────────────────────────────────────────────────────
+
+    @Override
+    public ModuleJob installStoreModulesAsync(List<String> symbolicNames) throws IOException {
+        if (symbolicNames == null || symbolicNames.isEmpty()) {
+            throw new IOException("No modules selected for installation");
+        }
+        List<String> names = new ArrayList<>(symbolicNames);
+        return requireJobEngine().submit("installStoreModules", String.join(", ", names),
+                jobId -> installStoreModules(names));
+    }
+
+    @Override
+    public ModuleJob installBundleVersionFromStoreAsync(String symbolicName, String version) throws IOException {
+        return requireJobEngine().submit("installBundleVersionFromStore", symbolicName + " " + version,
+                jobId -> installBundleVersionFromStore(symbolicName, version));
+    }
+
+    @Override
+    public ModuleJob importModuleArchiveAsync(InputStream zipStream, String archiveName) throws IOException {
+        ModuleJobEngine engine = requireJobEngine();
+        checkExportAvailability();
+        // The upload belongs to the request: the engine keeps a copy for the job and deletes it once it is finished
+        return engine.submit("importModuleArchive", archiveName, zipStream, jobId -> {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(engine.attachmentPath(jobId)))) {
+                return importModuleArchive(in, archiveName);
+            }
+        });
+    }
+
+    @Override
+    public ModuleJob cleanupJcrVersionsAsync() throws IOException {
+        return requireJobEngine().submit("cleanupJcrVersions", "", jobId -> cleanupJcrVersions());
+    }
+
+    @Override
+    public ModuleJob exportModulesArchiveAsync(ExportOptions options) throws IOException {
+        ModuleJobEngine engine = requireJobEngine();
+        checkExportAvailability();
+        return engine.submit("exportModulesArchive", "types: " + options.getTypes(), jobId -> {
+            File zipFile = exportModulesArchive(options);
+            try {
+                Files.move(zipFile.toPath(), engine.artifactPath(jobId), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                FileUtils.deleteQuietly(zipFile);
+            }
+            return "Archive ready (" + FileUtils.byteCountToDisplaySize(Files.size(engine.artifactPath(jobId))) + ")";
+        });
+    }
+
+    @Override
+    public ModuleJob getJob(String jobId) {
+        return jobEngine != null ? jobEngine.get(jobId) : null;
+    }
+
+    @Override
+    public List<ModuleJob> listJobs() {
+        return jobEngine != null ? jobEngine.list() : Collections.emptyList();
+    }
+
+    @Override
+    public ModuleJob cancelJob(String jobId) {
+        return jobEngine != null ? jobEngine.cancel(jobId) : null;
+    }
+
+    @Override
+    public File getJobArchive(String jobId) {
+        ModuleJobEngine engine = jobEngine;
+        ModuleJob job = engine != null ? engine.get(jobId) : null;
+        if (job == null || job.getStatus() != ModuleJob.Status.SUCCEEDED || !"exportModulesArchive".equals(job.getOperation())) {
+            return null;
+        }
+        File archive = engine.artifactPath(jobId).toFile();
+        return archive.isFile() ? archive : null;
+    }
+
+    @Override
+    public void addJobListener(Consumer<ModuleJob> listener) {
+        if (jobEngine != null) {
+            jobEngine.addListener(listener);
+        }
+    }
+
+    @Override
+    public void removeJobListener(Consumer<ModuleJob> listener) {
+        if (jobEngine != null) {
+            jobEngine.removeListener(listener);
+        }
+    }
+
+    private ModuleJobEngine requireJobEngine() throws IOException {
+        ModuleJobEngine engine = jobEngine;
+        if (engine == null) {
+            throw new IOException(SERVICE_IS_NOT_AVAILABLE_IN_READ_ONLY_MODE);
+        }
+        return engine;
+    }
+
     // -- helpers --
 
     private void checkExportAvailability() throws IOException {
@@ -1669,7 +2730,7 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         return Arrays.stream(bundleContext.getBundles())
                 .filter(b -> b.getState() == Bundle.ACTIVE || b.getState() == Bundle.RESOLVED)
                 .filter(b -> {
-                    String type = b.getHeaders().get("Jahia-Module-Type");
+                    String type = b.getHeaders().get(JAHIA_MODULE_TYPE);
                     return type != null && options.getTypes().contains(type);
                 })
                 .sorted(Comparator.comparing(Bundle::getSymbolicName))
@@ -1779,59 +2840,25 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             return null;
         }
 
-        String groupPath = groupId.replace('.', '/');
         String version = bundle.getVersion().toString();
-        String jcrVersionPath = JCR_BUNDLES_BASE_PATH + JCR_PATH_SEPARATOR + groupPath
-                + JCR_PATH_SEPARATOR + bundle.getSymbolicName() + JCR_PATH_SEPARATOR + version;
-
-        SettingsBean settingsBean = SettingsBean.getInstance();
-        File tempFile = null;
         try {
-            tempFile = File.createTempFile("bundle-export-", ".jar",
-                    new File(settingsBean.getTmpContentDiskPath()));
-            final File out = tempFile;
-
-            boolean found = jcrTemplate.doExecuteWithSystemSessionAsUser(
-                    jahiaUserManagerService.lookupRootUser().getJahiaUser(),
-                    Constants.EDIT_WORKSPACE, null,
-                    session -> {
-                        if (!session.itemExists(jcrVersionPath)) {
-                            logger.debug("JCR path not found for bundle {}/{}: {}",
-                                    bundle.getSymbolicName(), version, jcrVersionPath);
-                            return false;
-                        }
-                        javax.jcr.Node versionFolder = session.getNode(jcrVersionPath);
-                        javax.jcr.NodeIterator it = versionFolder.getNodes();
-                        while (it.hasNext()) {
-                            javax.jcr.Node jarNode = it.nextNode();
-                            if (jarNode.isNodeType(NT_MODULE_MANAGEMENT_BUNDLE)) {
-                                javax.jcr.Node content = jarNode.getNode(JCR_CONTENT);
-                                javax.jcr.Binary binary = content.getProperty(JCR_DATA).getBinary();
-                                try (java.io.InputStream in = new java.io.BufferedInputStream(binary.getStream(), 65536);
-                                     java.io.OutputStream os = new java.io.BufferedOutputStream(new java.io.FileOutputStream(out), 65536)) {
-                                    org.apache.commons.io.IOUtils.copy(in, os);
-                                } catch (IOException e) {
-                                    throw new RepositoryException("Error streaming JAR from JCR", e);
-                                } finally {
-                                    binary.dispose();
-                                }
-                                logger.debug("Resolved JAR from JCR for bundle {}/{} ({})",
-                                        bundle.getSymbolicName(), version, jarNode.getPath());
-                                return true;
-                            }
-                        }
-                        return false;
-                    });
-
-            if (found && tempFile.length() > 0) {
+            // The catalogue tells whether the version is stored: JCR is only read for the JAR itself
+            ModuleBundleStoreCatalogue.StoredBundle stored = bundleStoreCatalogue.getVersion(groupId, bundle.getSymbolicName(), version);
+            if (stored == null) {
+                logger.debug("No JAR stored in JCR for bundle {}/{}", bundle.getSymbolicName(), version);
+                return null;
+            }
+            File tempFile = copyJcrBundleToTmpFile(stored.getJarPath(), "bundle-export-");
+            logger.debug("Resolved JAR from JCR for bundle {}/{} ({})",
+                    bundle.getSymbolicName(), version, stored.getJarPath());
+            if (tempFile.length() > 0) {
                 return tempFile;
             }
+            FileUtils.deleteQuietly(tempFile);
         } catch (Exception e) {
             logger.debug("JCR JAR resolution failed for bundle {}/{}: {}",
                     bundle.getSymbolicName(), bundle.getVersion(), e.getMessage());
         }
-
-        FileUtils.deleteQuietly(tempFile);
         return null;
     }
 
@@ -2039,8 +3066,6 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
 
     @Override
     public String cleanupJcrVersions() throws RepositoryException {
-        final String BASE_PATH = JCR_BUNDLES_BASE_PATH;
-
         // Collect all currently OSGi-installed versions, keyed by symbolic name
         final Map<String, Set<String>> osgiVersions = new HashMap<>();
         for (Bundle b : bundleContext.getBundles()) {
@@ -2048,6 +3073,14 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
                     .add(b.getVersion().toString());
         }
 
+        // Decided from the catalogue: moduleFolderPath → stored versions, newest first. Removing JARs must not
+        // rely on a snapshot that may be minutes old (changes from other cluster nodes are not observed): reload it.
+        bundleStoreCatalogue.invalidate();
+        Map<String, List<ModuleBundleStoreCatalogue.StoredBundle>> versionsByModule = bundleStoreCatalogue.getModules();
+        if (versionsByModule.isEmpty()) {
+            logger.info("JCR cleanup: base path {} is empty, nothing to do", JCR_BUNDLES_BASE_PATH);
+        }
+
         final int[] removed = {0};
         final long[] freedBytes = {0};
 
@@ -2055,29 +3088,20 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
                 jahiaUserManagerService.lookupRootUser().getJahiaUser(),
                 Constants.EDIT_WORKSPACE, null,
                 session -> {
-                    if (!session.itemExists(BASE_PATH)) {
-                        logger.info("JCR cleanup: base path {} not found, nothing to do", BASE_PATH);
-                        return null;
-                    }
-
-                    // Walk the tree and collect: moduleFolderPath → list of version-folder nodes
-                    Map<String, List<javax.jcr.Node>> versionsByModule = new LinkedHashMap<>();
-                    collectVersionFolders(session.getNode(BASE_PATH), versionsByModule);
-
-                    VersionScheme vs = new GenericVersionScheme();
-
-                    for (Map.Entry<String, List<javax.jcr.Node>> entry : versionsByModule.entrySet()) {
-                        List<javax.jcr.Node> versionFolders = entry.getValue();
-                        if (versionFolders.size() <= 1) {
-                            continue; // Nothing to clean up for this module
+                    for (List<ModuleBundleStoreCatalogue.StoredBundle> versions : versionsByModule.values()) {
+                        if (ModuleJobEngine.isCurrentJobCancelled()) {
+                            // Cancelled: what has been removed so far is still saved
+                            logger.info("JCR cleanup cancelled, saving the modules cleaned up so far");
+                            break;
                         }
-
-                        cleanupModule(entry, versionFolders, vs, osgiVersions, freedBytes, removed);
+                        cleanupModule(session, versions, osgiVersions, freedBytes, removed);
                     }
 
                     session.save();
                     return null;
                 });
+        // Do not wait for the observation events: the next read must not list the removed versions
+        bundleStoreCatalogue.invalidate();
 
         String summary = String.format(
                 "JCR version cleanup complete: removed %d version folder(s), freed approximately %.1f MB",
@@ -2086,67 +3110,53 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         return summary;
     }
 
-    private void cleanupModule(Map.Entry<String, List<Node>> entry, List<Node> versionFolders, VersionScheme vs, Map<String, Set<String>> osgiVersions, long[] freedBytes, int[] removed) {
-        // Derive the symbolic name from the module folder path
-        String moduleFolderPath = entry.getKey();
-        String symbolicName = moduleFolderPath.substring(moduleFolderPath.lastIndexOf('/') + 1);
-
-        // Sort descending (newest version first)
-        List<Node> sorted = new ArrayList<>(versionFolders);
-        sorted.sort((a, b) -> {
-            try {
-                return vs.parseVersion(b.getName()).compareTo(vs.parseVersion(a.getName()));
-            } catch (Exception e) {
-                try {
-                    return b.getName().compareTo(a.getName());
-                } catch (Exception ex) {
-                    return 0;
-                }
-            }
-        });
+    private void cleanupModule(JCRSessionWrapper session, List<ModuleBundleStoreCatalogue.StoredBundle> versions,
+                               Map<String, Set<String>> osgiVersions, long[] freedBytes, int[] removed) {
+        // Several JARs may be stored for a version: group them by version folder, newest version first
+        Map<String, List<ModuleBundleStoreCatalogue.StoredBundle>> byVersion = new LinkedHashMap<>();
+        for (ModuleBundleStoreCatalogue.StoredBundle stored : versions) {
+            byVersion.computeIfAbsent(stored.getVersion(), k -> new ArrayList<>()).add(stored);
+        }
+        if (byVersion.size() <= 1) {
+            return; // Nothing to clean up for this module
+        }
+        String symbolicName = versions.get(0).getSymbolicName();
 
         // Determine which version names to retain
         Set<String> keep = new LinkedHashSet<>();
         // 1) Always keep every version that is currently in OSGi
         keep.addAll(osgiVersions.getOrDefault(symbolicName, Collections.emptySet()));
         // 2) Keep the most-recent JCR version
-        if (!sorted.isEmpty()) {
-            try {
-                keep.add(sorted.get(0).getName());
-            } catch (RepositoryException ignored) {
-                // Node name unavailable — simply skip retaining this entry; cleanup is best-effort.
-            }
-        }
+        keep.add(versions.get(0).getVersion());
         // 3) Keep one additional "previous" version
-        for (Node vf : sorted) {
+        for (String version : byVersion.keySet()) {
             if (keep.size() >= 2) break;
-            try {
-                keep.add(vf.getName());
-            } catch (RepositoryException ignored) {
-                // Node name unavailable — skip; cleanup is best-effort.
-            }
+            keep.add(version);
         }
 
-        removeUnneededVersions(versionFolders, freedBytes, removed, keep, symbolicName);
+        removeUnneededVersions(session, byVersion, freedBytes, removed, keep, symbolicName);
     }
 
-    private void removeUnneededVersions(List<Node> versionFolders, long[] freedBytes, int[] removed, Set<String> keep, String symbolicName) {
+    private void removeUnneededVersions(JCRSessionWrapper session, Map<String, List<ModuleBundleStoreCatalogue.StoredBundle>> byVersion,
+                                        long[] freedBytes, int[] removed, Set<String> keep, String symbolicName) {
         // Remove everything not in the keep set
-        for (Node vf : versionFolders) {
+        for (Map.Entry<String, List<ModuleBundleStoreCatalogue.StoredBundle>> entry : byVersion.entrySet()) {
+            String versionName = entry.getKey();
+            if (keep.contains(versionName)) {
+                continue;
+            }
             try {
-                String versionName = vf.getName();
-                if (!keep.contains(versionName)) {
-                    freedBytes[0] += computeVersionFolderSize(vf);
-                    vf.remove();
-                    removed[0]++;
-                    logger.info("JCR cleanup: removed {} v{}", symbolicName, versionName);
+                session.getNode(entry.getValue().get(0).getVersionFolderPath()).remove();
+                for (ModuleBundleStoreCatalogue.StoredBundle stored : entry.getValue()) {
+                    freedBytes[0] += Math.max(0, stored.getSize());
                 }
+                removed[0]++;
+                logger.info("JCR cleanup: removed {} v{}", symbolicName, versionName);
+            } catch (PathNotFoundException ex) {
+                // Removed since the catalogue was read, e.g. by a cleanup on another node
+                logger.debug("JCR cleanup: {} v{} is already gone", symbolicName, versionName);
             } catch (RepositoryException ex) {
-                try {
-                    logger.warn("JCR cleanup: could not remove a version of {}: {}", symbolicName, ex.getMessage());
-                } catch (Exception ignored) {
-                    // Logging must never abort the cleanup loop — swallow secondary failures.
-                }
+                logger.warn("JCR cleanup: could not remove a version of {}: {}", symbolicName, ex.getMessage());
             }
         }
     }
@@ -2248,69 +3258,6 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
         return groupId;
     }
 
-    /**
-     * Recursively walk {@code folder} and populate {@code result} with:
-     * {@code moduleFolderPath → list of version-folder nodes}.
-     * <p>
-     * A <em>version folder</em> is a {@code jnt:moduleManagementBundleFolder}
-     * that directly contains at least one {@code jnt:moduleManagementBundle} child.
-     * Its parent is treated as the symbolic-name folder.
-     */
-    private void collectVersionFolders(javax.jcr.Node folder,
-                                       Map<String, List<javax.jcr.Node>> result) throws RepositoryException {
-        javax.jcr.NodeIterator children = folder.getNodes();
-        while (children.hasNext()) {
-            javax.jcr.Node child = children.nextNode();
-            if (!child.isNodeType("jnt:moduleManagementBundleFolder")) {
-                continue;
-            }
-            if (hasModuleBundleChild(child)) {
-                // child is a version folder — its parent (folder) is the symbolic-name folder
-                result.computeIfAbsent(folder.getPath(), k -> new ArrayList<>()).add(child);
-            } else {
-                // Recurse: this might be a groupId path component or symbolic-name folder
-                collectVersionFolders(child, result);
-            }
-        }
-    }
-
-    /**
-     * Returns {@code true} if {@code folder} has at least one {@code jnt:moduleManagementBundle} child.
-     */
-    private boolean hasModuleBundleChild(javax.jcr.Node folder) throws RepositoryException {
-        javax.jcr.NodeIterator it = folder.getNodes();
-        while (it.hasNext()) {
-            if (it.nextNode().isNodeType(NT_MODULE_MANAGEMENT_BUNDLE)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Sum the {@code jcr:data} binary sizes of all {@code jnt:moduleManagementBundle} children
-     * in a version folder.
-     */
-    private long computeVersionFolderSize(javax.jcr.Node versionFolder) throws RepositoryException {
-        long size = 0;
-        javax.jcr.NodeIterator it = versionFolder.getNodes();
-        while (it.hasNext()) {
-            javax.jcr.Node child = it.nextNode();
-            if (child.hasNode(JCR_CONTENT)) {
-                javax.jcr.Node content = child.getNode(JCR_CONTENT);
-                if (content.hasProperty(JCR_DATA)) {
-                    javax.jcr.Binary bin = content.getProperty(JCR_DATA).getBinary();
-                    try {
-                        size += bin.getSize();
-                    } finally {
-                        bin.dispose();
-                    }
-                }
-            }
-        }
-        return size;
-    }
-
     private boolean checkImported(final JahiaTemplatesPackage jahiaTemplatesPackage) {
 
         try {
@@ -2374,52 +3321,29 @@ public class ModuleManagementCommunityServiceImpl implements ModuleManagementCom
             throw new DataFetchingException(e);
         }
         try {
-            Version bundleVersion = versionScheme.parseVersion(bundle.getVersion().toString());
-            File file = resolver.resolveMetadata(artifact.getGroupId(), artifact.getArtifactId(), "maven-metadata.xml", null);
-            if (file != null && file.exists()) {
-                List<Version> versions = getVersions(bundle, file, versionScheme, versionConstraint, bundleVersion);
-                logger.debug("Found {} versions", versions.size());
-                if (logger.isDebugEnabled()) {
-                    versions.forEach(version ->
-                            logger.debug("Version : {}", version)
-                    );
-                }
-                return versions;
+            Version bundleVersion = VersionCache.parse(bundle.getVersion().toString());
+            // Sorted ascending by the cache, so the last element is the newest candidate
+            List<Version> versions = mavenMetadataCache.getVersions(resolver, artifact.getGroupId(), artifact.getArtifactId())
+                    .stream()
+                    .filter(version -> {
+                        logger.debug("Checking version: {} for bundle {}", version, bundle.getSymbolicName());
+                        if (version.toString().contains(SNAPSHOT)) {
+                            logger.debug("Skipping SNAPSHOT version: {}", version);
+                            return false;
+                        }
+                        return versionConstraint.getRange().containsVersion(version) && version.compareTo(bundleVersion) > 0;
+                    })
+                    .collect(Collectors.toList());
+            logger.debug("Found {} versions", versions.size());
+            if (logger.isDebugEnabled()) {
+                versions.forEach(version ->
+                        logger.debug("Version : {}", version)
+                );
             }
+            return versions;
         } catch (IOException | InvalidVersionSpecificationException e) {
             throw new DataFetchingException(e);
         }
-        return Collections.emptyList();
-    }
-
-    private List<Version> getVersions(Bundle bundle, File file, VersionScheme versionScheme, VersionConstraint versionConstraint, Version bundleVersion) {
-        List<Version> versions = new ArrayList<>();
-        try (InputStream in = Files.newInputStream(file.toPath())) {
-            Versioning versioning = (new MetadataXpp3Reader()).read(in, false).getVersioning();
-            versioning.getVersions().stream().filter(s -> {
-                try {
-                    Version version = versionScheme.parseVersion(s);
-                    logger.debug("Checking version: {} for bundle {}", version, bundle.getSymbolicName());
-                    if (!(version.toString().contains(SNAPSHOT))) {
-                        return versionConstraint.getRange().containsVersion(version) && version.compareTo(bundleVersion) > 0;
-                    } else {
-                        logger.debug("Skipping SNAPSHOT version: {}", version);
-                        return false;
-                    }
-                } catch (InvalidVersionSpecificationException e) {
-                    throw new DataFetchingException(e);
-                }
-            }).forEach(version -> {
-                try {
-                    versions.add(versionScheme.parseVersion(version));
-                } catch (InvalidVersionSpecificationException e) {
-                    throw new JahiaRuntimeException(e);
-                }
-            });
-        } catch (IOException | XmlPullParserException e) {
-            throw new DataFetchingException(e);
-        }
-        return versions;
     }
 
     private String getVersion(org.osgi.framework.Version version) {
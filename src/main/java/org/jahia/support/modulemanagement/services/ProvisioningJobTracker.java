@@ -0,0 +1,217 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.jahia.support.modulemanagement.ModuleUpdate;
+import org.jahia.support.modulemanagement.ProvisioningJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Follows the provisioning scripts written to {@code patches/provisioning} until the Jahia provisioning
+ * watcher has executed them.
+ *
+ * <p>Completion is detected from the {@code .installed} / {@code .failed} marker the watcher leaves next to
+ * each script, through a {@link WatchService} on the directory: nothing is polled. The watch thread is started
+ * with the first job and runs until {@link #close()}. Marker files are also checked when a pending job is read,
+ * which covers events lost to an overflow of the watch service.
+ *
+ * <p>Only the most recent {@link #MAX_JOBS} jobs are kept, in memory: jobs are not expected to outlive the
+ * module, and the marker files themselves remain on disk.
+ */
+final class ProvisioningJobTracker {
+    private static final Logger logger = LoggerFactory.getLogger(ProvisioningJobTracker.class);
+
+    static final String INSTALLED_SUFFIX = ".installed";
+    static final String FAILED_SUFFIX = ".failed";
+    private static final int MAX_JOBS = 100;
+
+    private final Path directory;
+    /** Current state of an update's target version, {@code null} when it is not installed. */
+    private final Function<ModuleUpdate, ProvisioningJob.BundleOutcome> outcomeOf;
+    // Guarded by "this"; insertion order is submission order
+    private final Map<String, ProvisioningJob> jobs = new LinkedHashMap<>();
+    private WatchService watchService;
+    private boolean closed;
+
+    ProvisioningJobTracker(Path directory, Function<ModuleUpdate, ProvisioningJob.BundleOutcome> outcomeOf) {
+        this.directory = directory;
+        this.outcomeOf = outcomeOf;
+    }
+
+    /**
+     * A new unique job identifier, to be used in the script file name.
+     */
+    static String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Start following {@code fileName}. Call before writing the script so that its marker cannot be missed.
+     */
+    synchronized ProvisioningJob submit(String jobId, String fileName, List<ModuleUpdate> updates) throws IOException {
+        if (closed) {
+            throw new IOException("Provisioning job tracking is stopped");
+        }
+        startWatching();
+        ProvisioningJob job = new ProvisioningJob(jobId, fileName, Instant.now(), null, ProvisioningJob.Status.PENDING,
+                new ArrayList<>(updates), outcomes(updates, true));
+        jobs.put(jobId, job);
+        evictCompletedJobs();
+        return job;
+    }
+
+    /**
+     * The job with that identifier, with up-to-date outcomes when it is still pending; {@code null} if unknown.
+     */
+    ProvisioningJob get(String jobId) {
+        ProvisioningJob job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+        }
+        return job != null ? refresh(job) : null;
+    }
+
+    /**
+     * All known jobs, most recent first.
+     */
+    List<ProvisioningJob> list() {
+        List<ProvisioningJob> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        List<ProvisioningJob> result = new ArrayList<>(snapshot.size());
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            result.add(refresh(snapshot.get(i)));
+        }
+        return result;
+    }
+
+    synchronized void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Error closing provisioning watch service", e);
+            }
+            watchService = null;
+        }
+    }
+
+    private ProvisioningJob refresh(ProvisioningJob job) {
+        if (job.getStatus() != ProvisioningJob.Status.PENDING) {
+            return job;
+        }
+        if (Files.exists(directory.resolve(job.getFileName() + INSTALLED_SUFFIX))) {
+            return complete(job.getFileName(), ProvisioningJob.Status.INSTALLED);
+        }
+        if (Files.exists(directory.resolve(job.getFileName() + FAILED_SUFFIX))) {
+            return complete(job.getFileName(), ProvisioningJob.Status.FAILED);
+        }
+        return new ProvisioningJob(job.getId(), job.getFileName(), job.getSubmittedAt(), null, job.getStatus(),
+                job.getUpdates(), outcomes(job.getUpdates(), true));
+    }
+
+    /**
+     * Record the marker of {@code fileName}, freezing the outcome of its bundles. Returns the completed job,
+     * or {@code null} when no pending job uses that file.
+     */
+    private synchronized ProvisioningJob complete(String fileName, ProvisioningJob.Status status) {
+        for (ProvisioningJob job : jobs.values()) {
+            if (job.getFileName().equals(fileName)) {
+                if (job.getStatus() != ProvisioningJob.Status.PENDING) {
+                    return job;
+                }
+                ProvisioningJob completed = new ProvisioningJob(job.getId(), fileName, job.getSubmittedAt(), Instant.now(),
+                        status, job.getUpdates(), outcomes(job.getUpdates(), false));
+                jobs.put(job.getId(), completed);
+                logger.info("Provisioning job {} ({}) {}: {}/{} bundle(s) installed", job.getId(), fileName,
+                        status, completed.getCompletedBundles(), job.getUpdates().size());
+                return completed;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, ProvisioningJob.BundleOutcome> outcomes(List<ModuleUpdate> updates, boolean pending) {
+        Map<String, ProvisioningJob.BundleOutcome> outcomes = new LinkedHashMap<>();
+        for (ModuleUpdate update : updates) {
+            ProvisioningJob.BundleOutcome outcome = outcomeOf.apply(update);
+            if (outcome == null) {
+                outcome = pending ? ProvisioningJob.BundleOutcome.PENDING : ProvisioningJob.BundleOutcome.MISSING;
+            }
+            outcomes.put(update.getKey(), outcome);
+        }
+        return outcomes;
+    }
+
+    private void evictCompletedJobs() {
+        Iterator<ProvisioningJob> it = jobs.values().iterator();
+        while (jobs.size() > MAX_JOBS && it.hasNext()) {
+            if (it.next().getStatus() != ProvisioningJob.Status.PENDING) {
+                it.remove();
+            }
+        }
+    }
+
+    private void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        WatchService service = FileSystems.getDefault().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE);
+        watchService = service;
+        Thread thread = new Thread(() -> watch(service), "module-management-provisioning-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost: pending jobs are re-checked against the markers when read
+                        continue;
+                    }
+                    onCreated(event.context().toString());
+                }
+                if (!key.reset()) {
+                    logger.warn("Provisioning directory {} is no longer watched", directory);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Provisioning watch service closed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onCreated(String name) {
+        if (name.endsWith(INSTALLED_SUFFIX)) {
+            complete(name.substring(0, name.length() - INSTALLED_SUFFIX.length()), ProvisioningJob.Status.INSTALLED);
+        } else if (name.endsWith(FAILED_SUFFIX)) {
+            complete(name.substring(0, name.length() - FAILED_SUFFIX.length()), ProvisioningJob.Status.FAILED);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.jahia.support.modulemanagement.ModuleUpdate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Splits a set of module updates into waves that are installed one after the other.
+ *
+ * <p>Updates are put in {@link DependencyOrder} — providers first, related bundles grouped — then packed into
+ * consecutive waves of at most {@code waveSize} bundles. A wave therefore never needs a module of a later
+ * wave, and each one only triggers the framework refresh of its own bundles. A group of related updates that
+ * fits in a wave is never split across two: it starts a new wave when the current one has no room left.
+ * Larger groups fill as many waves as they need, in provider-first order.
+ */
+final class RolloutPlan {
+
+    private final List<List<ModuleUpdate>> waves;
+
+    private RolloutPlan(List<List<ModuleUpdate>> waves) {
+        this.waves = waves;
+    }
+
+    /**
+     * @param updates        the updates to roll out
+     * @param dependenciesOf symbolic names a bundle depends on; names that are not being updated are ignored
+     * @param waveSize       maximum number of bundles per wave, at least 1
+     */
+    static RolloutPlan of(Collection<ModuleUpdate> updates, Function<String, Collection<String>> dependenciesOf, int waveSize) {
+        List<List<ModuleUpdate>> waves = new ArrayList<>();
+        List<ModuleUpdate> current = new ArrayList<>(waveSize);
+        for (List<ModuleUpdate> group : DependencyOrder.groups(updates, ModuleUpdate::getSymbolicName, ModuleUpdate::getKey, dependenciesOf)) {
+            if (!current.isEmpty() && group.size() <= waveSize && current.size() + group.size() > waveSize) {
+                waves.add(Collections.unmodifiableList(current));
+                current = new ArrayList<>(waveSize);
+            }
+            for (ModuleUpdate update : group) {
+                if (current.size() == waveSize) {
+                    waves.add(Collections.unmodifiableList(current));
+                    current = new ArrayList<>(waveSize);
+                }
+                current.add(update);
+            }
+        }
+        if (!current.isEmpty()) {
+            waves.add(Collections.unmodifiableList(current));
+        }
+        return new RolloutPlan(Collections.unmodifiableList(waves));
+    }
+
+    List<List<ModuleUpdate>> getWaves() {
+        return waves;
+    }
+}
@@ -0,0 +1,219 @@
+package org.jahia.support.modulemanagement.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.framework.Version;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser of the store module list ({@code modules-repository.moduleList.json}).
+ *
+ * <p>Each version entry's {@code requiredVersion} (e.g. {@code "version-8.1.6.0"}) is stored after stripping
+ * the {@code "version-"} prefix so it can be compared directly against the running Jahia version; each entry
+ * precomputes its compatible versions for that Jahia version as it is built.
+ *
+ * <p>The catalogue is read in a single streaming pass with a {@link JsonParser}: fields that are not indexed
+ * ({@code id}, {@code path}, …) are skipped without being materialised, so peak heap stays proportional to
+ * the index rather than to the size of the JSON document.
+ */
+final class StoreCatalogueParser {
+
+    // Shared, thread-safe factory
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private StoreCatalogueParser() {
+    }
+
+    /**
+     * Parse the store module-list JSON into a map keyed by OSGi symbolic name.
+     *
+     * @param maxBytes     size above which the document is rejected with an {@link IOException}
+     * @param jahiaVersion running Jahia version the entries compute their compatible versions for
+     */
+    static Map<String, StoreModuleEntry> parse(InputStream in, long maxBytes, Version jahiaVersion) throws IOException {
+        Map<String, StoreModuleEntry> index = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(new SizeCappedInputStream(in, maxBytes))) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                parseRepository(parser, index, jahiaVersion);
+            } else if (token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        parseRepository(parser, index, jahiaVersion);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Consume one repository object (parser positioned on its {@code START_OBJECT}), indexing the
+     * entries of its {@code modules} array and skipping every other field.
+     */
+    private static void parseRepository(JsonParser parser, Map<String, StoreModuleEntry> index, Version jahiaVersion) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("modules".equals(field) && value == JsonToken.START_ARRAY) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        parseModule(parser, index, jahiaVersion);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void parseModule(JsonParser parser, Map<String, StoreModuleEntry> index, Version jahiaVersion) throws IOException {
+        String primaryType = null;
+        String name = null;
+        String groupId = null;
+        String storeUrl = null;
+        String title = null;
+        String icon = null;
+        // Parallel per-version columns, indexed by version ordinal
+        List<String> versions = new ArrayList<>();
+        List<String> downloadUrls = new ArrayList<>();
+        List<String> requiredVersions = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "jcrprimarytype":
+                    primaryType = readScalar(parser);
+                    break;
+                case "name":
+                    name = readScalar(parser);
+                    break;
+                case "groupId":
+                    groupId = readScalar(parser);
+                    break;
+                case "remoteUrl":
+                    // Module-level store page URL (same for all versions of this module)
+                    storeUrl = readScalar(parser);
+                    break;
+                case "title":
+                    title = readScalar(parser);
+                    break;
+                case "icon":
+                    icon = readScalar(parser);
+                    break;
+                case "versions":
+                    if (value == JsonToken.START_ARRAY) {
+                        parseVersions(parser, versions, downloadUrls, requiredVersions);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        // Only index proper Jahia forge modules — skip content nodes of other types
+        if (!"jnt:forgeModule".equals(primaryType) || name == null || groupId == null || versions.isEmpty()) {
+            return;
+        }
+        index.put(name, new StoreModuleEntry(name, groupId, storeUrl, title, icon,
+                versions, downloadUrls, requiredVersions, jahiaVersion));
+    }
+
+    private static void parseVersions(JsonParser parser, List<String> versions, List<String> downloadUrls, List<String> requiredVersions) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String version = null;
+            String downloadUrl = null;
+            String requiredVersion = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("version".equals(field)) {
+                    version = readScalar(parser);
+                } else if ("downloadUrl".equals(field)) {
+                    downloadUrl = readScalar(parser);
+                } else if ("requiredVersion".equals(field)) {
+                    requiredVersion = readScalar(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (version == null || version.isEmpty()) {
+                continue;
+            }
+            versions.add(version);
+            downloadUrls.add(downloadUrl != null && !downloadUrl.isEmpty() ? downloadUrl : null);
+            requiredVersions.add(requiredVersion != null && requiredVersion.startsWith("version-")
+                    ? StringUtils.substringAfter(requiredVersion, "version-") : null);
+        }
+    }
+
+    /**
+     * Return the current scalar value as text ({@code null} for JSON null), skipping the value
+     * entirely when it is an object or array.
+     */
+    private static String readScalar(JsonParser parser) throws IOException {
+        String value = parser.getValueAsString(null);
+        parser.skipChildren();
+        return value;
+    }
+
+    /**
+     * Input stream that fails with an {@link IOException} once more than {@code maxBytes} have been
+     * read, so a streaming parse keeps the same oversized-response defence as reading the whole body.
+     */
+    private static final class SizeCappedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long total;
+
+        SizeCappedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws IOException {
+            total += read;
+            if (total > maxBytes) {
+                throw new IOException("Store index response exceeds the maximum allowed size of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
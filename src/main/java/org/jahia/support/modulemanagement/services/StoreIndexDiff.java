@@ -0,0 +1,111 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Difference between two generations of the store module index, computed on every refresh.
+ *
+ * <p>Besides the raw delta (modules added or removed, versions added or removed) it records the set of
+ * <em>affected</em> modules: those whose update-relevant data — latest compatible version, its download URL,
+ * its required Jahia version or the groupId used to build the {@code mvn:} fallback — changed. Only installed bundles with one of these
+ * symbolic names need their entry in the updates cache recomputed. Entries carried over unchanged from the
+ * previous index (same instance, e.g. a source that answered 304) are skipped without inspection.
+ */
+final class StoreIndexDiff {
+
+    final Set<String> addedModules;
+    final Set<String> removedModules;
+    /** {@code symbolicName/version} of every version that appeared in a module present in both indexes. */
+    final Set<String> addedVersions;
+    /** {@code symbolicName/version} of every version that disappeared from a module present in both indexes. */
+    final Set<String> removedVersions;
+    /** Symbolic names whose update detection result may have changed. */
+    final Set<String> affectedModules;
+
+    private StoreIndexDiff(Set<String> addedModules, Set<String> removedModules, Set<String> addedVersions,
+                           Set<String> removedVersions, Set<String> affectedModules) {
+        this.addedModules = Collections.unmodifiableSet(addedModules);
+        this.removedModules = Collections.unmodifiableSet(removedModules);
+        this.addedVersions = Collections.unmodifiableSet(addedVersions);
+        this.removedVersions = Collections.unmodifiableSet(removedVersions);
+        this.affectedModules = Collections.unmodifiableSet(affectedModules);
+    }
+
+    static StoreIndexDiff compute(Map<String, StoreModuleEntry> previous, Map<String, StoreModuleEntry> current) {
+        Set<String> addedModules = new TreeSet<>();
+        Set<String> removedModules = new TreeSet<>();
+        Set<String> addedVersions = new TreeSet<>();
+        Set<String> removedVersions = new TreeSet<>();
+        Set<String> affected = new HashSet<>();
+
+        for (Map.Entry<String, StoreModuleEntry> e : current.entrySet()) {
+            String name = e.getKey();
+            StoreModuleEntry now = e.getValue();
+            StoreModuleEntry before = previous.get(name);
+            if (before == null) {
+                addedModules.add(name);
+                affected.add(name);
+                continue;
+            }
+            if (before == now) {
+                continue;
+            }
+            diffVersions(name, before.versions(), now.versions(), addedVersions, removedVersions);
+            if (!sameLatest(before, now)) {
+                affected.add(name);
+            }
+        }
+        for (String name : previous.keySet()) {
+            if (!current.containsKey(name)) {
+                removedModules.add(name);
+                affected.add(name);
+            }
+        }
+        return new StoreIndexDiff(addedModules, removedModules, addedVersions, removedVersions, affected);
+    }
+
+    boolean isEmpty() {
+        return addedModules.isEmpty() && removedModules.isEmpty() && addedVersions.isEmpty()
+                && removedVersions.isEmpty() && affectedModules.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + addedModules.size() + "/-" + removedModules.size() + " modules, +"
+                + addedVersions.size() + "/-" + removedVersions.size() + " versions, "
+                + affectedModules.size() + " affected";
+    }
+
+    private static void diffVersions(String name, List<String> before, List<String> now,
+                                     Set<String> addedVersions, Set<String> removedVersions) {
+        if (before.equals(now)) {
+            return;
+        }
+        Set<String> beforeSet = new HashSet<>(before);
+        Set<String> nowSet = new HashSet<>(now);
+        for (String v : now) {
+            if (!beforeSet.contains(v)) {
+                addedVersions.add(name + "/" + v);
+            }
+        }
+        for (String v : before) {
+            if (!nowSet.contains(v)) {
+                removedVersions.add(name + "/" + v);
+            }
+        }
+    }
+
+    private static boolean sameLatest(StoreModuleEntry before, StoreModuleEntry now) {
+        String latest = now.latestCompatibleVersion;
+        return Objects.equals(before.latestCompatibleVersion, latest)
+                && Objects.equals(before.groupId, now.groupId)
+                && (latest == null || Objects.equals(before.downloadUrl(latest), now.downloadUrl(latest))
+                && Objects.equals(before.requiredVersion(latest), now.requiredVersion(latest)));
+    }
+}
@@ -0,0 +1,161 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-digested, binary on-disk copy of the last catalogue successfully fetched from one store source,
+ * together with the URL it came from and its conditional-GET validators. The service also keeps one
+ * instance per configured source in memory as that source's state between refreshes.
+ *
+ * <p>The file holds exactly the fields of {@link StoreModuleEntry} as length-prefixed UTF-8 strings, so
+ * loading it is a single pass over a memory-mapped buffer — no JSON parsing — and takes milliseconds
+ * even for the full catalogue. It is written to a temporary file and atomically moved into place, so a
+ * crash mid-write never leaves a truncated snapshot behind.
+ */
+final class StoreIndexSnapshot {
+
+    private static final int MAGIC = 0x4D4D4349; // "MMCI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+
+    final String sourceUrl;
+    final String etag;
+    final String lastModified;
+    final Map<String, StoreModuleEntry> modules;
+
+    StoreIndexSnapshot(String sourceUrl, String etag, String lastModified, Map<String, StoreModuleEntry> modules) {
+        this.sourceUrl = sourceUrl;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.modules = modules;
+    }
+
+    /**
+     * Atomically replace {@code file} with this snapshot.
+     */
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 65536))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, sourceUrl);
+                writeString(out, etag);
+                writeString(out, lastModified);
+                out.writeInt(modules.size());
+                for (StoreModuleEntry entry : modules.values()) {
+                    writeEntry(out, entry);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Load a snapshot previously written by {@link #write}. Compatibility data is recomputed against
+     * {@code jahiaVersion} rather than stored, so a snapshot stays valid across Jahia upgrades.
+     *
+     * @return the snapshot, or {@code null} when {@code file} does not exist
+     * @throws IOException when the file exists but is unreadable, truncated or of an unknown format
+     */
+    static StoreIndexSnapshot read(Path file, org.osgi.framework.Version jahiaVersion) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported store index snapshot format: " + file);
+            }
+            String sourceUrl = readString(buffer);
+            String etag = readString(buffer);
+            String lastModified = readString(buffer);
+            int count = buffer.getInt();
+            Map<String, StoreModuleEntry> modules = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+            for (int i = 0; i < count; i++) {
+                StoreModuleEntry entry = readEntry(buffer, jahiaVersion);
+                modules.put(entry.name, entry);
+            }
+            return new StoreIndexSnapshot(sourceUrl, etag, lastModified, Collections.unmodifiableMap(modules));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupted store index snapshot: " + file, e);
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, StoreModuleEntry entry) throws IOException {
+        writeString(out, entry.name);
+        writeString(out, entry.groupId);
+        writeString(out, entry.storeUrl);
+        writeString(out, entry.title);
+        writeString(out, entry.icon);
+        int versionCount = entry.versionCount();
+        out.writeInt(versionCount);
+        for (int i = 0; i < versionCount; i++) {
+            writeString(out, entry.version(i));
+            writeString(out, entry.downloadUrl(i));
+            writeString(out, entry.requiredVersion(i));
+        }
+    }
+
+    private static StoreModuleEntry readEntry(ByteBuffer buffer, org.osgi.framework.Version jahiaVersion) {
+        String name = readString(buffer);
+        String groupId = readString(buffer);
+        String storeUrl = readString(buffer);
+        String title = readString(buffer);
+        String icon = readString(buffer);
+        int versionCount = buffer.getInt();
+        List<String> versions = new ArrayList<>(versionCount);
+        List<String> downloadUrls = new ArrayList<>(versionCount);
+        List<String> requiredVersions = new ArrayList<>(versionCount);
+        for (int i = 0; i < versionCount; i++) {
+            versions.add(readString(buffer));
+            downloadUrls.add(readString(buffer));
+            requiredVersions.add(readString(buffer));
+        }
+        return new StoreModuleEntry(name, groupId, storeUrl, title, icon, versions, downloadUrls, requiredVersions, jahiaVersion);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
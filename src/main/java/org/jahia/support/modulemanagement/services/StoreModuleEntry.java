@@ -0,0 +1,274 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.eclipse.aether.version.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight record representing one module entry from the Jahia store catalogue.
+ * Versions are stored in the order they appear in the JSON (not necessarily sorted).
+ *
+ * <p>Everything readers need about the running Jahia version — the compatible releases in newest-first
+ * order and the latest of them, already parsed — is computed once when the entry is built (i.e. once per
+ * index refresh), so update detection and the store browser do plain field reads instead of re-parsing
+ * every version string on every call.
+ *
+ * <p>The index stays in memory on every node for the whole JVM lifetime, so per-version data is kept in
+ * columns indexed by version ordinal rather than in maps keyed by the version string:
+ * <ul>
+ *   <li>{@code groupId} and required Jahia versions are interned — a few dozen distinct values shared by
+ *       the whole catalogue;</li>
+ *   <li>download URLs are stored as one per-module prefix plus a per-version suffix, and the suffix is
+ *       dropped altogether when the URL follows the Maven layout
+ *       {@code <prefix><version>/<name>-<version>.jar} (the case for virtually every store artifact).
+ *       URLs are rebuilt on demand by {@link #downloadUrl(String)}.</li>
+ * </ul>
+ */
+final class StoreModuleEntry {
+    private static final Logger logger = LoggerFactory.getLogger(StoreModuleEntry.class);
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    // Download URL encodings, one per version ordinal
+    private static final byte URL_NONE = 0;     // no direct download URL
+    private static final byte URL_MAVEN = 1;    // urlPrefix + version + "/" + name + "-" + version + ".jar"
+    private static final byte URL_SUFFIX = 2;   // urlPrefix + urlSuffixes[i]
+    private static final byte URL_FULL = 3;     // urlSuffixes[i] holds the whole URL (does not share the prefix)
+
+    final String name;       // OSGi symbolic name
+    final String groupId;    // Maven groupId (interned)
+    final String storeUrl;   // Jahia store page URL (module-level remoteUrl)
+    final String title;      // Human-readable display title
+    final String icon;       // Icon image URL
+    /**
+     * Non-SNAPSHOT versions compatible with the running Jahia, newest first. Versions that cannot be
+     * parsed are kept at the end, in descending lexical order.
+     */
+    final List<String> compatibleVersions;
+    /**
+     * Highest parseable entry of {@link #compatibleVersions}, or {@code null} when no release qualifies.
+     */
+    final String latestCompatibleVersion;
+    /**
+     * Parsed form of {@link #latestCompatibleVersion}.
+     */
+    final Version latestCompatibleParsed;
+
+    /** All known version strings (may include SNAPSHOTs), in catalogue order. */
+    private final String[] versions;
+    /** Minimum Jahia version per version ordinal (e.g. {@code "8.1.6.0"}), interned; {@code null} if unknown. */
+    private final String[] requiredVersions;
+    /** Shared leading part of this module's download URLs; {@code null} when it has none. */
+    private final String urlPrefix;
+    private final byte[] urlKinds;
+    /** Explicit URL suffixes, {@code null} unless at least one URL does not follow the Maven layout. */
+    private final String[] urlSuffixes;
+
+    /**
+     * @param versions         version strings in catalogue order
+     * @param downloadUrls     direct download URL per version (same size as {@code versions}, elements may be null)
+     * @param requiredVersions minimum Jahia version per version (same size as {@code versions}, elements may be null)
+     * @param jahiaVersion     running Jahia version the compatibility data is computed for
+     */
+    StoreModuleEntry(String name, String groupId, String storeUrl, String title, String icon,
+                     List<String> versions, List<String> downloadUrls,
+                     List<String> requiredVersions, org.osgi.framework.Version jahiaVersion) {
+        this.name = name;
+        this.groupId = groupId != null ? groupId.intern() : null;
+        this.storeUrl = storeUrl;
+        this.title = title;
+        this.icon = icon;
+
+        int count = versions.size();
+        this.versions = versions.toArray(new String[0]);
+        this.requiredVersions = new String[count];
+        for (int i = 0; i < count; i++) {
+            String required = requiredVersions.get(i);
+            this.requiredVersions[i] = required != null ? required.intern() : null;
+        }
+
+        this.urlPrefix = urlPrefix(name, versions, downloadUrls);
+        this.urlKinds = new byte[count];
+        String[] suffixes = null;
+        for (int i = 0; i < count; i++) {
+            String url = downloadUrls.get(i);
+            if (url == null) {
+                urlKinds[i] = URL_NONE;
+                continue;
+            }
+            if (url.equals(mavenLayoutUrl(i))) {
+                urlKinds[i] = URL_MAVEN;
+                continue;
+            }
+            if (suffixes == null) {
+                suffixes = new String[count];
+            }
+            if (url.startsWith(urlPrefix)) {
+                urlKinds[i] = URL_SUFFIX;
+                suffixes[i] = url.substring(urlPrefix.length());
+            } else {
+                urlKinds[i] = URL_FULL;
+                suffixes[i] = url;
+            }
+        }
+        this.urlSuffixes = suffixes;
+
+        List<Map.Entry<Version, String>> parsed = new ArrayList<>();
+        List<String> unparseable = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String v = this.versions[i];
+            if (v.contains(SNAPSHOT) || !isCompatibleWithJahia(this.requiredVersions[i], jahiaVersion)) {
+                continue;
+            }
+            Version parsedVersion = VersionCache.parseOrNull(v);
+            if (parsedVersion != null) {
+                parsed.add(new AbstractMap.SimpleImmutableEntry<>(parsedVersion, v));
+            } else {
+                logger.debug("Unparseable store version {} for {}", v, name);
+                unparseable.add(v);
+            }
+        }
+        parsed.sort(Map.Entry.<Version, String>comparingByKey().reversed());
+        unparseable.sort(Comparator.reverseOrder());
+        String[] compatible = new String[parsed.size() + unparseable.size()];
+        int n = 0;
+        for (Map.Entry<Version, String> e : parsed) {
+            compatible[n++] = e.getValue();
+        }
+        for (String v : unparseable) {
+            compatible[n++] = v;
+        }
+        this.compatibleVersions = compatible.length == 0 ? Collections.emptyList() : List.of(compatible);
+        this.latestCompatibleParsed = parsed.isEmpty() ? null : parsed.get(0).getKey();
+        this.latestCompatibleVersion = parsed.isEmpty() ? null : parsed.get(0).getValue();
+    }
+
+    /**
+     * All known version strings (may include SNAPSHOTs), in catalogue order.
+     */
+    List<String> versions() {
+        return Collections.unmodifiableList(Arrays.asList(versions));
+    }
+
+    int versionCount() {
+        return versions.length;
+    }
+
+    String version(int ordinal) {
+        return versions[ordinal];
+    }
+
+    boolean hasVersion(String version) {
+        return indexOf(version) >= 0;
+    }
+
+    /**
+     * Direct download URL of {@code version}, or {@code null} when the catalogue has none (or does not
+     * list that version).
+     */
+    String downloadUrl(String version) {
+        int ordinal = indexOf(version);
+        return ordinal < 0 ? null : downloadUrl(ordinal);
+    }
+
+    String downloadUrl(int ordinal) {
+        switch (urlKinds[ordinal]) {
+            case URL_MAVEN:
+                return mavenLayoutUrl(ordinal);
+            case URL_SUFFIX:
+                return urlPrefix + urlSuffixes[ordinal];
+            case URL_FULL:
+                return urlSuffixes[ordinal];
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Minimum Jahia version required by the version at {@code ordinal}, or {@code null} when unknown.
+     */
+    String requiredVersion(int ordinal) {
+        return requiredVersions[ordinal];
+    }
+
+    /**
+     * Minimum Jahia version required by {@code version}, or {@code null} when unknown (or not listed).
+     */
+    String requiredVersion(String version) {
+        int ordinal = indexOf(version);
+        return ordinal < 0 ? null : requiredVersions[ordinal];
+    }
+
+    private int indexOf(String version) {
+        for (int i = 0; i < versions.length; i++) {
+            if (versions[i].equals(version)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String mavenLayoutUrl(int ordinal) {
+        if (urlPrefix == null) {
+            return null;
+        }
+        String v = versions[ordinal];
+        return urlPrefix + v + '/' + name + '-' + v + ".jar";
+    }
+
+    /**
+     * The part of the download URLs shared by every version: taken from the first URL that follows the
+     * Maven layout, otherwise the longest common prefix of all URLs cut back to a {@code '/'}.
+     */
+    private static String urlPrefix(String name, List<String> versions, List<String> urls) {
+        String common = null;
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            if (url == null) {
+                continue;
+            }
+            String v = versions.get(i);
+            String tail = v + '/' + name + '-' + v + ".jar";
+            if (url.endsWith(tail)) {
+                return url.substring(0, url.length() - tail.length());
+            }
+            common = common == null ? url : common.substring(0, commonLength(common, url));
+        }
+        return common == null ? null : common.substring(0, common.lastIndexOf('/') + 1);
+    }
+
+    private static int commonLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int len = 0;
+        while (len < max && a.charAt(len) == b.charAt(len)) {
+            len++;
+        }
+        return len;
+    }
+
+    /**
+     * Returns {@code true} when {@code jahiaVersion} satisfies the given minimum required version string
+     * (already stripped of the {@code "version-"} prefix, e.g. {@code "8.1.6.0"}) within the same major.
+     * Returns {@code true} unconditionally when {@code requiredVersion} is {@code null} or empty,
+     * or when parsing fails.
+     */
+    static boolean isCompatibleWithJahia(String requiredVersionStr, org.osgi.framework.Version jahiaVersion) {
+        if (requiredVersionStr == null || requiredVersionStr.isEmpty()) {
+            return true;
+        }
+        try {
+            final org.osgi.framework.Version required = new org.osgi.framework.Version(requiredVersionStr);
+            return required.compareTo(jahiaVersion) <= 0 && required.getMajor() == jahiaVersion.getMajor();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Could not parse requiredVersion '{}' — including version anyway", requiredVersionStr);
+            return true;
+        }
+    }
+}
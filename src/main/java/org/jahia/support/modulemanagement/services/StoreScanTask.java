@@ -0,0 +1,58 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs {@code check} on every element of {@code items[from, to)}, splitting in halves down to {@code threshold}
+ * elements when running in a {@link ForkJoinPool}.
+ *
+ * <p>Each task checks a contiguous slice into its own list, and the lists are concatenated on the way back up,
+ * so workers never contend on a shared collection and the results keep the order of a serial scan.
+ */
+final class StoreScanTask<T, R> extends RecursiveTask<List<R>> {
+    private final transient T[] items;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final transient BiConsumer<T, List<R>> check;
+
+    private StoreScanTask(T[] items, int from, int to, int threshold, BiConsumer<T, List<R>> check) {
+        this.items = items;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.check = check;
+    }
+
+    /**
+     * Check every element of {@code items}, in {@code pool} when there are more than {@code threshold} of them,
+     * on the calling thread otherwise (or when {@code pool} is {@code null}).
+     *
+     * @param check adds the results for one element to the given list
+     */
+    static <T, R> List<R> scan(ForkJoinPool pool, T[] items, int threshold, BiConsumer<T, List<R>> check) {
+        StoreScanTask<T, R> task = new StoreScanTask<>(items, 0, items.length, threshold, check);
+        return pool != null && items.length > threshold ? pool.invoke(task) : task.compute();
+    }
+
+    @Override
+    protected List<R> compute() {
+        if (to - from > threshold && getPool() != null) {
+            int middle = (from + to) >>> 1;
+            StoreScanTask<T, R> right = new StoreScanTask<>(items, middle, to, threshold, check);
+            right.fork();
+            List<R> result = new StoreScanTask<>(items, from, middle, threshold, check).compute();
+            result.addAll(right.join());
+            return result;
+        }
+        List<R> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            check.accept(items[i], result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,228 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable search index over the store catalogue, rebuilt together with the store module index on every
+ * refresh so that queries never scan or lower-case the whole catalogue.
+ *
+ * <p>Only entries with at least one release compatible with the running Jahia version are indexed. The
+ * symbolic name, title and groupId of each entry are lower-cased once and every 1-, 2- and 3-character
+ * substring of them is recorded in a posting list of entry ordinals. A query is answered by intersecting the
+ * posting lists of its trigrams (or of the query itself when shorter than three characters), verifying the
+ * few surviving candidates with a plain substring check, and ranking them:
+ * exact name &gt; name prefix &gt; title prefix &gt; word prefix in name or title &gt; substring in name
+ * &gt; substring in title &gt; match in groupId. Ties are broken by symbolic name.
+ */
+final class StoreSearchIndex {
+
+    static final StoreSearchIndex EMPTY = new StoreSearchIndex(Collections.emptyList());
+
+    private static final int MAX_GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private static final int SCORE_EXACT_NAME = 100;
+    private static final int SCORE_NAME_PREFIX = 80;
+    private static final int SCORE_TITLE_PREFIX = 70;
+    private static final int SCORE_WORD_PREFIX = 60;
+    private static final int SCORE_NAME_CONTAINS = 40;
+    private static final int SCORE_TITLE_CONTAINS = 30;
+    private static final int SCORE_GROUP_CONTAINS = 10;
+
+    /** Indexed entries, sorted by symbolic name; ordinals in the posting lists refer to this array. */
+    private final StoreModuleEntry[] entries;
+    private final String[] names;
+    private final String[] titles;
+    private final String[] groupIds;
+    /** n-gram → ascending ordinals of the entries whose name, title or groupId contains it. */
+    private final Map<String, int[]> postings;
+
+    private StoreSearchIndex(Collection<StoreModuleEntry> catalogue) {
+        List<StoreModuleEntry> indexed = new ArrayList<>(catalogue.size());
+        for (StoreModuleEntry entry : catalogue) {
+            if (entry.latestCompatibleVersion != null) {
+                indexed.add(entry);
+            }
+        }
+        indexed.sort(Comparator.comparing(e -> e.name));
+        int size = indexed.size();
+        this.entries = indexed.toArray(new StoreModuleEntry[0]);
+        this.names = new String[size];
+        this.titles = new String[size];
+        this.groupIds = new String[size];
+
+        Map<String, GrowableIntArray> builder = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            StoreModuleEntry entry = entries[i];
+            names[i] = lower(entry.name);
+            titles[i] = lower(entry.title);
+            groupIds[i] = lower(entry.groupId);
+            addGrams(builder, names[i], i);
+            addGrams(builder, titles[i], i);
+            addGrams(builder, groupIds[i], i);
+        }
+        Map<String, int[]> compacted = new HashMap<>(Math.max(16, builder.size() * 4 / 3 + 1));
+        builder.forEach((gram, list) -> compacted.put(gram, list.toArray()));
+        this.postings = compacted;
+    }
+
+    /**
+     * Build an index over {@code catalogue} (usually the values of the store module index).
+     */
+    static StoreSearchIndex build(Collection<StoreModuleEntry> catalogue) {
+        return catalogue.isEmpty() ? EMPTY : new StoreSearchIndex(catalogue);
+    }
+
+    /**
+     * Return the entries matching {@code searchTerm}, best match first. A {@code null} or blank term returns
+     * every indexed entry in symbolic-name order.
+     */
+    List<StoreModuleEntry> search(String searchTerm) {
+        String query = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(entries));
+        }
+
+        int[] candidates = candidates(query);
+        List<int[]> scored = new ArrayList<>(candidates.length);
+        for (int ordinal : candidates) {
+            int score = score(ordinal, query);
+            if (score > 0) {
+                scored.add(new int[]{ordinal, score});
+            }
+        }
+        // Higher score first; entries are already in name order, so the ordinal is the tie-breaker
+        scored.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+
+        List<StoreModuleEntry> result = new ArrayList<>(scored.size());
+        for (int[] s : scored) {
+            result.add(entries[s[0]]);
+        }
+        return result;
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() <= MAX_GRAM) {
+            return postings.getOrDefault(query, NO_POSTINGS);
+        }
+        int[] result = null;
+        for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+            int[] list = postings.get(query.substring(i, i + MAX_GRAM));
+            if (list == null) {
+                return NO_POSTINGS;
+            }
+            result = result == null ? list : intersect(result, list);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private int score(int ordinal, String query) {
+        String name = names[ordinal];
+        String title = titles[ordinal];
+        if (name.equals(query)) {
+            return SCORE_EXACT_NAME;
+        }
+        if (name.startsWith(query)) {
+            return SCORE_NAME_PREFIX;
+        }
+        if (title.startsWith(query)) {
+            return SCORE_TITLE_PREFIX;
+        }
+        if (hasWordPrefix(name, query) || hasWordPrefix(title, query)) {
+            return SCORE_WORD_PREFIX;
+        }
+        if (name.contains(query)) {
+            return SCORE_NAME_CONTAINS;
+        }
+        if (title.contains(query)) {
+            return SCORE_TITLE_CONTAINS;
+        }
+        // Trigram candidates can be false positives, so the final check must still be a real substring test
+        return groupIds[ordinal].contains(query) ? SCORE_GROUP_CONTAINS : 0;
+    }
+
+    /**
+     * {@code true} when {@code query} starts right after a separator ({@code -}, {@code .}, space, …)
+     * somewhere in {@code text}.
+     */
+    private static boolean hasWordPrefix(String text, String query) {
+        int from = 0;
+        int idx;
+        while ((idx = text.indexOf(query, from)) >= 0) {
+            if (idx > 0 && !Character.isLetterOrDigit(text.charAt(idx - 1))) {
+                return true;
+            }
+            from = idx + 1;
+        }
+        return false;
+    }
+
+    private static void addGrams(Map<String, GrowableIntArray> builder, String text, int ordinal) {
+        for (int len = 1; len <= MAX_GRAM; len++) {
+            for (int i = 0; i + len <= text.length(); i++) {
+                builder.computeIfAbsent(text.substring(i, i + len), k -> new GrowableIntArray()).addOnce(ordinal);
+            }
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Append-only int list used while building posting lists. Ordinals are added in ascending order, so a
+     * duplicate can only ever be the last element.
+     */
+    private static final class GrowableIntArray {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Parsed Maven versions shared by update detection, the store index, Maven metadata, the previous-versions
+ * list and JCR cleanup, which otherwise parse the same few thousand version strings over and over — sorts
+ * used to parse both sides of every comparison.
+ *
+ * <p>Parsed {@link Version}s are immutable, so one instance per string can be handed to every caller.
+ * Strings that fail to parse are remembered too. The cache is bounded: it is simply cleared when it grows
+ * past {@link #MAX_ENTRIES}, which a real installation never reaches.
+ */
+final class VersionCache {
+
+    static final int MAX_ENTRIES = 16_384;
+    // GenericVersionScheme is stateless and therefore safe to share
+    private static final VersionScheme VERSION_SCHEME = new GenericVersionScheme();
+    /** Cached value of a string that is not a valid version. */
+    private static final Object UNPARSEABLE = new Object();
+
+    private static final ConcurrentMap<String, Object> CACHE = new ConcurrentHashMap<>();
+
+    private VersionCache() {
+    }
+
+    /**
+     * Parse {@code version}, reusing the instance parsed earlier for the same string.
+     */
+    static Version parse(String version) throws InvalidVersionSpecificationException {
+        Version parsed = parseOrNull(version);
+        if (parsed == null) {
+            throw new InvalidVersionSpecificationException(version, "Invalid version: " + version);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parse {@code version}, or return {@code null} when it is {@code null} or not a valid version.
+     */
+    static Version parseOrNull(String version) {
+        if (version == null) {
+            return null;
+        }
+        Object cached = CACHE.get(version);
+        if (cached == null) {
+            try {
+                cached = VERSION_SCHEME.parseVersion(version);
+            } catch (InvalidVersionSpecificationException e) {
+                cached = UNPARSEABLE;
+            }
+            if (CACHE.size() >= MAX_ENTRIES) {
+                CACHE.clear();
+            }
+            CACHE.putIfAbsent(version, cached);
+        }
+        return cached == UNPARSEABLE ? null : (Version) cached;
+    }
+
+    /**
+     * Number of strings currently cached, parseable or not.
+     */
+    static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Sort {@code items} newest version first. Every version string is parsed once up front; items whose
+     * version does not parse come last, in descending lexical order, and {@code null} versions at the end.
+     */
+    static <T> void sortNewestFirst(List<T> items, Function<T, String> versionOf) {
+        List<Keyed<T>> keyed = new ArrayList<>(items.size());
+        for (T item : items) {
+            String version = versionOf.apply(item);
+            keyed.add(new Keyed<>(item, version, parseOrNull(version)));
+        }
+        keyed.sort(NEWEST_FIRST);
+        for (int i = 0; i < keyed.size(); i++) {
+            items.set(i, keyed.get(i).item);
+        }
+    }
+
+    private static final Comparator<Keyed<?>> NEWEST_FIRST = Comparator
+            .comparing((Keyed<?> k) -> k.parsed, Comparator.nullsLast(Comparator.<Version>reverseOrder()))
+            .thenComparing(k -> k.version, Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+    private static final class Keyed<T> {
+        final T item;
+        final String version;
+        final Version parsed;
+
+        Keyed(T item, String version, Version parsed) {
+            this.item = item;
+            this.version = version;
+            this.parsed = parsed;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.jahia.support.modulemanagement.services;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Timing and allocation measurement for the {@code *Benchmark} classes. Their names keep them out of the
+ * default test run; run one with {@code mvn test -Dtest=StoreCatalogueParserBenchmark}.
+ *
+ * <p>Each task runs a number of warm-up rounds, then measured rounds; the median time and the bytes
+ * allocated per round by the calling thread are reported. {@link #retainedBytes} estimates how much heap
+ * the objects a task returns keep alive, from the used heap after a full collection on either side.
+ */
+final class BenchmarkSupport {
+
+    static final int WARMUP_ROUNDS = 20;
+    static final int MEASURED_ROUNDS = 30;
+    static final int RETAINED_COPIES = 10;
+
+    /** Keeps the results of the tasks reachable, so that their work cannot be optimised away. */
+    @SuppressWarnings("unused")
+    private static volatile Object sink;
+
+    private BenchmarkSupport() {
+    }
+
+    static final class Result {
+        final String name;
+        final long medianNanos;
+        final long allocatedBytes;
+
+        private Result(String name, long medianNanos, long allocatedBytes) {
+            this.name = name;
+            this.medianNanos = medianNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %10.3f ms/op %12d B/op", name, medianNanos / 1_000_000.0, allocatedBytes);
+        }
+    }
+
+    static Result measure(String name, Callable<?> task) throws Exception {
+        return measure(name, WARMUP_ROUNDS, MEASURED_ROUNDS, task);
+    }
+
+    static Result measure(String name, int warmupRounds, int measuredRounds, Callable<?> task) throws Exception {
+        for (int i = 0; i < warmupRounds; i++) {
+            sink = task.call();
+        }
+        long[] times = new long[measuredRounds];
+        long allocated = 0;
+        for (int i = 0; i < measuredRounds; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            sink = task.call();
+            times[i] = System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(times);
+        Result result = new Result(name, times[measuredRounds / 2], allocated / measuredRounds);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Heap kept alive by the result of {@code task}: the used heap after a collection with the results of
+     * {@link #RETAINED_COPIES} runs held, minus the used heap after a collection before they ran, divided by
+     * that count. The task runs once beforehand, so that the caches it fills are not counted. An estimate,
+     * which depends on the collector honouring {@link System#gc()}.
+     */
+    static long retainedBytes(Callable<?> task) throws Exception {
+        task.call();
+        sink = null;
+        long before = usedHeapAfterGc();
+        Object[] results = new Object[RETAINED_COPIES];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = task.call();
+        }
+        sink = results;
+        long after = usedHeapAfterGc();
+        sink = null;
+        return Math.max(0, after - before) / RETAINED_COPIES;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        // Until a collection frees nothing more: references cleared by one collection are only freed by the next
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(20);
+            long now = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or 0 when the JVM does not tell.
+     */
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
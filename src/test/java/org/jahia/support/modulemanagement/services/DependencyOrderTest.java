@@ -0,0 +1,69 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DependencyOrderTest {
+
+    @Test
+    public void jahiaDependsGivesTheModuleNames() {
+        assertEquals(List.of("default", "bootstrap3-core", "other-module", "legacy"), List.copyOf(DependencyOrder.parseJahiaDepends(
+                "default, bootstrap3-core=[4.0,5), other-module=optional,legacy;resolution:=optional")));
+        assertEquals(List.of("forms-core"), List.copyOf(DependencyOrder.parseJahiaDepends("forms-core=(1.0,2.0],")));
+        assertTrue(DependencyOrder.parseJahiaDepends(null).isEmpty());
+        assertTrue(DependencyOrder.parseJahiaDepends(" ").isEmpty());
+    }
+
+    @Test
+    public void providersComeFirstWhateverTheRequestedOrder() {
+        // As read from the manifests of store modules that are not installed yet
+        Map<String, Set<String>> dependencies = Map.of(
+                "forms-snippets", DependencyOrder.parseJahiaDepends("default,forms-core=[3.0,4)"),
+                "forms-core", DependencyOrder.parseJahiaDepends("default"),
+                "news", Collections.emptySet());
+
+        List<String> ordered = sort(Arrays.asList("forms-snippets", "news", "forms-core"), dependencies);
+
+        assertEquals(Arrays.asList("forms-core", "forms-snippets", "news"), ordered);
+    }
+
+    @Test
+    public void relatedModulesAreKeptTogether() {
+        Map<String, Set<String>> dependencies = Map.of(
+                "a-consumer", Set.of("z-provider"),
+                "m-standalone", Collections.emptySet(),
+                "z-provider", Collections.emptySet());
+
+        List<List<String>> groups = DependencyOrder.groups(Arrays.asList("z-provider", "m-standalone", "a-consumer"),
+                Function.identity(), Function.identity(), dependencies::get);
+
+        assertEquals(Arrays.asList(Arrays.asList("z-provider", "a-consumer"), List.of("m-standalone")), groups);
+    }
+
+    @Test
+    public void cycleIsPlacedAfterTheRestOfItsGroup() {
+        Map<String, Set<String>> dependencies = Map.of(
+                "a", Set.of("b"),
+                "b", Set.of("a"),
+                "c", Set.of("a"),
+                "base", Collections.emptySet(),
+                "d", Set.of("base"));
+
+        assertEquals(Arrays.asList("a", "b", "c", "base", "d"),
+                sort(Arrays.asList("d", "c", "b", "a", "base"), dependencies));
+    }
+
+    private static List<String> sort(Collection<String> names, Map<String, Set<String>> dependencies) {
+        return DependencyOrder.sort(names, Function.identity(), Function.identity(), dependencies::get);
+    }
+}
@@ -0,0 +1,137 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Test;
+
+import javax.jcr.Binary;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JcrBundleResourceTest {
+
+    private static final String JCR_PATH = "/module-management/bundles/org/jahia/modules/forms/3.2.0/forms-3.2.0.jar";
+
+    @Test
+    public void streamHandedOutIsTheWholeJarOnceTheManifestIsChecked() throws IOException {
+        byte[] jar = bundle("forms", 2 * JcrBundleResource.MANIFEST_READ_LIMIT);
+        FakeBinary binary = new FakeBinary(jar);
+        JcrBundleResource resource = new JcrBundleResource(JCR_PATH, "forms-3.2.0.jar", binary);
+
+        byte[] read;
+        try (InputStream in = resource.getInputStream()) {
+            read = in.readAllBytes();
+        }
+
+        assertArrayEquals(jar, read);
+        assertEquals("The binary is read once", 1, binary.streams.get());
+        assertEquals(jar.length, resource.contentLength());
+        assertEquals("forms-3.2.0.jar", resource.getFilename());
+        assertTrue(resource.exists());
+    }
+
+    @Test
+    public void everyStreamIsChecked() throws IOException {
+        FakeBinary binary = new FakeBinary(bundle("forms", 16));
+        JcrBundleResource resource = new JcrBundleResource(JCR_PATH, "forms-3.2.0.jar", binary);
+
+        resource.validate();
+        resource.getInputStream().close();
+
+        assertEquals(2, binary.streams.get());
+    }
+
+    @Test
+    public void jarWithoutSymbolicNameIsRejected() throws IOException {
+        assertRejected(bundle(null, 16), "forms-3.2.0.jar", "missing Bundle-SymbolicName");
+    }
+
+    @Test
+    public void jarWithoutManifestIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("org/jahia/modules/forms/Forms.class"));
+            zip.write(new byte[16]);
+        }
+
+        assertRejected(out.toByteArray(), "forms-3.2.0.jar", "missing MANIFEST.MF");
+    }
+
+    @Test
+    public void otherContentIsRejected() throws IOException {
+        assertRejected("not a jar".getBytes(StandardCharsets.UTF_8), "forms-3.2.0.jar", "missing MANIFEST.MF");
+        assertRejected(bundle("forms", 16), "forms-3.2.0.zip", "Only .jar");
+    }
+
+    private static void assertRejected(byte[] content, String fileName, String reason) {
+        JcrBundleResource resource = new JcrBundleResource(JCR_PATH, fileName, new FakeBinary(content));
+        try {
+            resource.validate();
+            fail("Expected " + reason);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+
+    /**
+     * A JAR whose manifest has the given symbolic name, followed by an incompressible entry of {@code size} bytes.
+     */
+    private static byte[] bundle(String symbolicName, int size) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (symbolicName != null) {
+            manifest.getMainAttributes().putValue("Bundle-SymbolicName", symbolicName);
+        }
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JarOutputStream jar = new JarOutputStream(out, manifest)) {
+            jar.putNextEntry(new ZipEntry("data.bin"));
+            jar.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class FakeBinary implements Binary {
+        private final byte[] content;
+        private final AtomicInteger streams = new AtomicInteger();
+
+        FakeBinary(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public InputStream getStream() {
+            streams.incrementAndGet();
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read(byte[] b, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+
+        @Override
+        public void dispose() {
+            // Nothing held
+        }
+    }
+}
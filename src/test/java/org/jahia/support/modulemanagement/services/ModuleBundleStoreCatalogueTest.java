@@ -0,0 +1,188 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Workspace;
+import javax.jcr.observation.EventListener;
+import javax.jcr.observation.ObservationManager;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ModuleBundleStoreCatalogueTest {
+
+    private static final String GROUP_ID = "org.jahia.modules";
+
+    /** Content of the store, as the JCR query would return it. */
+    private final Map<String, List<ModuleBundleStoreCatalogue.StoredBundle>> store = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final FakeObservationSession session = new FakeObservationSession();
+    private ModuleBundleStoreCatalogue catalogue;
+
+    @Before
+    public void setUp() {
+        store(bundle("forms", "3.2.0", 100));
+        store(bundle("forms", "3.10.0", 200));
+        store(bundle("news", "1.0.0", 50));
+        catalogue = new ModuleBundleStoreCatalogue(() -> {
+            loads.incrementAndGet();
+            Map<String, List<ModuleBundleStoreCatalogue.StoredBundle>> copy = new HashMap<>();
+            store.forEach((symbolicName, versions) -> copy.put(symbolicName, new ArrayList<>(versions)));
+            return copy;
+        }, session::asSession);
+    }
+
+    @Test
+    public void readsAreServedFromOneLoad() throws RepositoryException {
+        catalogue.open();
+
+        assertEquals(Arrays.asList("3.10.0", "3.2.0"), versions("forms"));
+        assertEquals(Arrays.asList("1.0.0"), versions("news"));
+        assertEquals(350, catalogue.getTotalSize());
+        assertEquals(2, catalogue.getModules().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void externalStoreWriteReloadsOnNextRead() throws RepositoryException {
+        catalogue.open();
+        assertEquals(Arrays.asList("3.10.0", "3.2.0"), versions("forms"));
+
+        // Another writer stores a JAR: the store changes and the observation manager delivers the events
+        store(bundle("forms", "3.11.0", 300));
+        assertEquals("No reload before the events", Arrays.asList("3.10.0", "3.2.0"), versions("forms"));
+        session.listener.onEvent(null);
+
+        assertEquals(Arrays.asList("3.11.0", "3.10.0", "3.2.0"), versions("forms"));
+        assertEquals(650, catalogue.getTotalSize());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void observationSessionStaysOpenUntilClose() throws RepositoryException {
+        catalogue.open();
+
+        assertSame(catalogue, session.listener);
+        assertEquals(ModuleBundleStoreCatalogue.BASE_PATH, session.absPath);
+        assertTrue(session.isDeep);
+        assertFalse("The listener lives as long as its session", session.loggedOut);
+
+        catalogue.close();
+
+        assertNull(session.listener);
+        assertTrue(session.loggedOut);
+    }
+
+    @Test
+    public void catalogueWorksWithoutObservation() throws RepositoryException {
+        ModuleBundleStoreCatalogue unobserved = new ModuleBundleStoreCatalogue(() -> {
+            loads.incrementAndGet();
+            return new HashMap<>(store);
+        }, () -> {
+            throw new RepositoryException("Observation not supported");
+        });
+        unobserved.open();
+
+        assertEquals(Arrays.asList("3.10.0", "3.2.0"), unobserved.getVersions("forms").stream()
+                .map(ModuleBundleStoreCatalogue.StoredBundle::getVersion).collect(Collectors.toList()));
+        unobserved.invalidate();
+        unobserved.getVersions("forms");
+        assertEquals(2, loads.get());
+        unobserved.close();
+    }
+
+    @Test
+    public void versionIsLookedUpInItsGroup() throws RepositoryException {
+        assertEquals(200, catalogue.getVersion(GROUP_ID, "forms", "3.10.0").getSize());
+        assertNull(catalogue.getVersion(GROUP_ID, "forms", "4.0.0"));
+        assertNull(catalogue.getVersion("org.example", "forms", "3.10.0"));
+    }
+
+    private List<String> versions(String symbolicName) throws RepositoryException {
+        return catalogue.getVersions(GROUP_ID, symbolicName).stream()
+                .map(ModuleBundleStoreCatalogue.StoredBundle::getVersion).collect(Collectors.toList());
+    }
+
+    private void store(ModuleBundleStoreCatalogue.StoredBundle stored) {
+        store.computeIfAbsent(stored.getSymbolicName(), k -> new ArrayList<>()).add(stored);
+    }
+
+    private static ModuleBundleStoreCatalogue.StoredBundle bundle(String symbolicName, String version, long size) {
+        String moduleFolder = ModuleBundleStoreCatalogue.moduleFolderPath(GROUP_ID, symbolicName);
+        String versionFolder = moduleFolder + "/" + version;
+        String fileName = symbolicName + "-" + version + ".jar";
+        return new ModuleBundleStoreCatalogue.StoredBundle(symbolicName, version, moduleFolder, versionFolder,
+                versionFolder + "/" + fileName, fileName, size, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    /**
+     * Records what the catalogue does with its observation session; only the methods it calls are implemented.
+     */
+    private static final class FakeObservationSession {
+        EventListener listener;
+        String absPath;
+        boolean isDeep;
+        boolean loggedOut;
+
+        Session asSession() {
+            ObservationManager observationManager = proxy(ObservationManager.class, (method, args) -> {
+                switch (method) {
+                    case "addEventListener":
+                        listener = (EventListener) args[0];
+                        absPath = (String) args[2];
+                        isDeep = (Boolean) args[3];
+                        return null;
+                    case "removeEventListener":
+                        if (args[0] == listener) {
+                            listener = null;
+                        }
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+            Workspace workspace = proxy(Workspace.class, (method, args) -> {
+                if ("getObservationManager".equals(method)) {
+                    return observationManager;
+                }
+                throw new UnsupportedOperationException(method);
+            });
+            return proxy(Session.class, (method, args) -> {
+                switch (method) {
+                    case "getWorkspace":
+                        return workspace;
+                    case "logout":
+                        loggedOut = true;
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+}
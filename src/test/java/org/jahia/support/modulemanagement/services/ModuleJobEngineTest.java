@@ -0,0 +1,171 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.jahia.support.modulemanagement.ModuleJob;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModuleJobEngineTest {
+
+    private Path directory;
+    private ModuleJobEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("module-jobs-");
+        engine = new ModuleJobEngine(directory, 1, 5);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        engine.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void attachmentIsReadableByTheJobAndDeletedOnceItSucceeds() throws Exception {
+        ModuleJob job = engine.submit("importModuleArchive", "modules.zip", attachment("archive"),
+                jobId -> new String(Files.readAllBytes(engine.attachmentPath(jobId)), StandardCharsets.UTF_8));
+
+        ModuleJob finished = awaitFinished(job.getId());
+
+        assertEquals(ModuleJob.Status.SUCCEEDED, finished.getStatus());
+        assertEquals("archive", finished.getResult());
+        assertFalse(Files.exists(engine.attachmentPath(job.getId())));
+    }
+
+    @Test
+    public void attachmentIsDeletedWhenTheJobFails() throws Exception {
+        ModuleJob job = engine.submit("importModuleArchive", "modules.zip", attachment("archive"), jobId -> {
+            throw new IOException("Invalid archive");
+        });
+
+        ModuleJob finished = awaitFinished(job.getId());
+
+        assertEquals(ModuleJob.Status.FAILED, finished.getStatus());
+        assertEquals("Invalid archive", finished.getError());
+        assertFalse(Files.exists(engine.attachmentPath(job.getId())));
+    }
+
+    @Test
+    public void attachmentIsDeletedWhenTheJobIsCancelledWhileQueued() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ModuleJob blocker = engine.submit("cleanupJcrVersions", "", jobId -> {
+            release.await(10, TimeUnit.SECONDS);
+            return "done";
+        });
+        ModuleJob queued = engine.submit("importModuleArchive", "modules.zip", attachment("archive"), jobId -> "imported");
+        assertTrue(Files.exists(engine.attachmentPath(queued.getId())));
+
+        ModuleJob cancelled = engine.cancel(queued.getId());
+        release.countDown();
+        awaitFinished(blocker.getId());
+
+        assertEquals(ModuleJob.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(ModuleJob.Status.CANCELLED, engine.get(queued.getId()).getStatus());
+        assertFalse(Files.exists(engine.attachmentPath(queued.getId())));
+    }
+
+    @Test
+    public void attachmentsOfInterruptedJobsAreDeletedAtRestart() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ModuleJob job = engine.submit("importModuleArchive", "modules.zip", attachment("archive"), jobId -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "imported";
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // A new engine on the same directory, as after a restart of the module while the job was running
+        ModuleJobEngine restarted = new ModuleJobEngine(directory, 1, 5);
+        try {
+            assertEquals(ModuleJob.Status.FAILED, restarted.get(job.getId()).getStatus());
+            assertFalse(Files.exists(restarted.attachmentPath(job.getId())));
+        } finally {
+            release.countDown();
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    public void runningJobIsCancelledCooperativelyWithoutInterrupt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        ModuleJob job = engine.submit("exportModulesArchive", "", jobId -> {
+            started.countDown();
+            int steps = 0;
+            while (!ModuleJobEngine.isCurrentJobCancelled()) {
+                steps++;
+                // Stands for a provisioning script or a JCR save, which must not be interrupted
+                long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5);
+                while (System.nanoTime() < end) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        interrupted.set(true);
+                    }
+                }
+            }
+            return steps + " steps";
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertTrue(engine.cancel(job.getId()).isCancelRequested());
+        ModuleJob finished = awaitFinished(job.getId());
+
+        assertEquals(ModuleJob.Status.CANCELLED, finished.getStatus());
+        assertFalse("The worker must not be interrupted", interrupted.get());
+    }
+
+    @Test
+    public void unfinishedJobsAreFoundByOperation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ModuleJob rollout = engine.submit("updateModulesRollout", "", jobId -> {
+            release.await(10, TimeUnit.SECONDS);
+            return "done";
+        });
+
+        assertTrue(engine.hasUnfinishedJob("updateModulesRollout"));
+        assertFalse(engine.hasUnfinishedJob("cleanupJcrVersions"));
+        release.countDown();
+        awaitFinished(rollout.getId());
+        assertFalse(engine.hasUnfinishedJob("updateModulesRollout"));
+    }
+
+    @Test
+    public void cancellationFlagIsOnlySetInsideACancelledJob() {
+        assertFalse(ModuleJobEngine.isCurrentJobCancelled());
+    }
+
+    private static ByteArrayInputStream attachment(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ModuleJob awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ModuleJob job = engine.get(id);
+            if (job != null && job.getStatus().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not finish in time");
+    }
+}
@@ -0,0 +1,108 @@
+package org.jahia.support.modulemanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.osgi.framework.Version;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Streaming parse of the bundled store catalogue against the former path: whole body read into a
+ * {@code String}, {@code readTree}, then a walk of the tree. Both build the same index.
+ */
+public class StoreCatalogueParserBenchmark {
+
+    private static final String CATALOGUE = "modules-repository.moduleList.json";
+    private static final Version JAHIA_VERSION = new Version("8.2.0.0");
+
+    @Test
+    public void streamingParseAgainstTreeParse() throws Exception {
+        byte[] catalogue = catalogue();
+        assertEquals(streamingParse(catalogue).keySet(), treeParse(catalogue).keySet());
+
+        BenchmarkSupport.Result streaming = BenchmarkSupport.measure("catalogue, streaming parser",
+                () -> streamingParse(catalogue));
+        BenchmarkSupport.Result tree = BenchmarkSupport.measure("catalogue, String + readTree",
+                () -> treeParse(catalogue));
+        long streamingPeak = BenchmarkSupport.retainedBytes(() -> streamingParse(catalogue));
+        long treePeak = BenchmarkSupport.retainedBytes(() -> treeParseIntermediates(catalogue));
+        System.out.printf("Peak live heap: streaming %d B (index only), tree %d B (body, String, tree and index)%n",
+                streamingPeak, treePeak);
+
+        assertTrue("The streaming parser must allocate less than the tree path",
+                streaming.allocatedBytes < tree.allocatedBytes);
+        assertTrue("The streaming parser must hold less at its peak than the tree path", streamingPeak < treePeak);
+    }
+
+    private static Map<String, StoreModuleEntry> streamingParse(byte[] catalogue) throws IOException {
+        return StoreCatalogueParser.parse(new ByteArrayInputStream(catalogue), Long.MAX_VALUE, JAHIA_VERSION);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, StoreModuleEntry> treeParse(byte[] catalogue) throws IOException {
+        return (Map<String, StoreModuleEntry>) treeParseIntermediates(catalogue)[3];
+    }
+
+    /**
+     * The former path, returning everything it holds at its peak: the body, its {@code String}, the tree and
+     * the index.
+     */
+    private static Object[] treeParseIntermediates(byte[] catalogue) throws IOException {
+        byte[] body = new ByteArrayInputStream(catalogue).readAllBytes();
+        String json = new String(body, StandardCharsets.UTF_8);
+        JsonNode root = new ObjectMapper().readTree(json);
+        Map<String, StoreModuleEntry> index = new HashMap<>();
+        Iterable<JsonNode> repositories = root.isArray() ? root : Collections.singletonList(root);
+        for (JsonNode repository : repositories) {
+            for (JsonNode module : repository.path("modules")) {
+                if (!"jnt:forgeModule".equals(module.path("jcrprimarytype").asText(null))) {
+                    continue;
+                }
+                String name = module.path("name").asText(null);
+                String groupId = module.path("groupId").asText(null);
+                List<String> versions = new ArrayList<>();
+                List<String> downloadUrls = new ArrayList<>();
+                List<String> requiredVersions = new ArrayList<>();
+                for (JsonNode version : module.path("versions")) {
+                    String v = version.path("version").asText(null);
+                    if (v == null || v.isEmpty()) {
+                        continue;
+                    }
+                    String downloadUrl = version.path("downloadUrl").asText(null);
+                    String requiredVersion = version.path("requiredVersion").asText(null);
+                    versions.add(v);
+                    downloadUrls.add(downloadUrl != null && !downloadUrl.isEmpty() ? downloadUrl : null);
+                    requiredVersions.add(requiredVersion != null && requiredVersion.startsWith("version-")
+                            ? StringUtils.substringAfter(requiredVersion, "version-") : null);
+                }
+                if (name != null && groupId != null && !versions.isEmpty()) {
+                    index.put(name, new StoreModuleEntry(name, groupId, module.path("remoteUrl").asText(null),
+                            module.path("title").asText(null), module.path("icon").asText(null),
+                            versions, downloadUrls, requiredVersions, JAHIA_VERSION));
+                }
+            }
+        }
+        return new Object[]{body, json, root, index};
+    }
+
+    private byte[] catalogue() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CATALOGUE)) {
+            assertNotNull(CATALOGUE + " must be on the classpath", in);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.jahia.support.modulemanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.osgi.framework.Version;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StoreCatalogueParserTest {
+
+    /** Snapshot of the public store catalogue, bundled with the module. */
+    private static final String CATALOGUE = "modules-repository.moduleList.json";
+    private static final Version JAHIA_VERSION = new Version("8.2.0.0");
+
+    @Test
+    public void bundledCatalogueIsIndexedLikeAFullTreeRead() throws IOException {
+        Map<String, StoreModuleEntry> index;
+        try (InputStream in = catalogue()) {
+            index = StoreCatalogueParser.parse(in, Long.MAX_VALUE, JAHIA_VERSION);
+        }
+        Map<String, JsonNode> expected = forgeModules();
+
+        assertTrue("The fixture must hold a realistic number of modules", expected.size() > 100);
+        assertEquals(expected.keySet(), index.keySet());
+        for (Map.Entry<String, JsonNode> module : expected.entrySet()) {
+            JsonNode node = module.getValue();
+            StoreModuleEntry entry = index.get(module.getKey());
+            assertEquals(node.path("groupId").asText(), entry.groupId);
+            assertEquals(text(node, "remoteUrl"), entry.storeUrl);
+            assertEquals(text(node, "title"), entry.title);
+            assertEquals(text(node, "icon"), entry.icon);
+
+            List<String> versions = new ArrayList<>();
+            for (JsonNode version : node.path("versions")) {
+                versions.add(version.path("version").asText());
+            }
+            assertEquals(versions, entry.versions());
+            for (int i = 0; i < versions.size(); i++) {
+                JsonNode version = node.path("versions").get(i);
+                assertEquals(module.getKey() + " " + versions.get(i), text(version, "downloadUrl"), entry.downloadUrl(i));
+                String required = text(version, "requiredVersion");
+                assertEquals(required != null ? required.substring("version-".length()) : null, entry.requiredVersion(i));
+            }
+        }
+    }
+
+    @Test
+    public void otherNodeTypesAndUnknownFieldsAreSkipped() throws IOException {
+        String json = "{\"id\":\"repo\",\"extra\":{\"modules\":[{\"name\":\"nested\"}]},\"modules\":["
+                + "{\"jcrprimarytype\":\"jnt:forgePackage\",\"name\":\"a-package\",\"groupId\":\"org.jahia.packages\","
+                + "\"versions\":[{\"version\":\"1.0.0\"}]},"
+                + "{\"tags\":[\"a\",{\"b\":[1,2]}],\"jcrprimarytype\":\"jnt:forgeModule\",\"name\":\"forms\","
+                + "\"groupId\":\"org.jahia.modules\",\"title\":{\"en\":\"Forms\"},\"versions\":["
+                + "{\"version\":\"3.1.0\",\"changeLog\":{\"items\":[\"x\"]},\"requiredVersion\":\"version-8.1.0.0\"},"
+                + "{\"version\":\"\"},\"not an object\",{\"version\":\"3.2.0\",\"requiredVersion\":\"8.2.0.0\"}]},"
+                + "{\"jcrprimarytype\":\"jnt:forgeModule\",\"name\":\"no-versions\",\"groupId\":\"org.jahia.modules\"}]}";
+
+        Map<String, StoreModuleEntry> index = parse(json, Long.MAX_VALUE);
+
+        assertEquals(1, index.size());
+        StoreModuleEntry forms = index.get("forms");
+        assertNotNull(forms);
+        assertNull("Object values are not read as text", forms.title);
+        assertEquals(List.of("3.1.0", "3.2.0"), forms.versions());
+        assertEquals("8.1.0.0", forms.requiredVersion("3.1.0"));
+        assertNull("Only the version- form is understood", forms.requiredVersion("3.2.0"));
+        assertNull(forms.downloadUrl("3.1.0"));
+    }
+
+    @Test
+    public void documentLargerThanTheCapIsRejected() throws IOException {
+        try (InputStream in = catalogue()) {
+            StoreCatalogueParser.parse(in, 64 * 1024, JAHIA_VERSION);
+            fail("A catalogue larger than the cap must be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("65536 bytes"));
+        }
+    }
+
+    @Test
+    public void emptyOrScalarDocumentGivesAnEmptyIndex() throws IOException {
+        assertTrue(parse("", Long.MAX_VALUE).isEmpty());
+        assertTrue(parse("\"modules\"", Long.MAX_VALUE).isEmpty());
+        assertTrue(parse("[1, [], {\"modules\": {}}]", Long.MAX_VALUE).isEmpty());
+    }
+
+    private InputStream catalogue() {
+        InputStream in = getClass().getClassLoader().getResourceAsStream(CATALOGUE);
+        assertNotNull(CATALOGUE + " must be on the classpath", in);
+        return in;
+    }
+
+    /**
+     * Reference reading of the catalogue through a full Jackson tree: the forge modules by name, the last one
+     * winning like in the index.
+     */
+    private Map<String, JsonNode> forgeModules() throws IOException {
+        JsonNode root;
+        try (InputStream in = catalogue()) {
+            root = new ObjectMapper().readTree(in);
+        }
+        Map<String, JsonNode> modules = new HashMap<>();
+        for (JsonNode repository : root) {
+            for (JsonNode module : repository.path("modules")) {
+                if ("jnt:forgeModule".equals(module.path("jcrprimarytype").asText())
+                        && module.path("versions").size() > 0) {
+                    modules.put(module.path("name").asText(), module);
+                }
+            }
+        }
+        return modules;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.asText().isEmpty() ? null : value.asText();
+    }
+
+    private static Map<String, StoreModuleEntry> parse(String json, long maxBytes) throws IOException {
+        return StoreCatalogueParser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                maxBytes, JAHIA_VERSION);
+    }
+}
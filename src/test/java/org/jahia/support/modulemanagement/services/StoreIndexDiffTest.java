@@ -0,0 +1,73 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Test;
+import org.osgi.framework.Version;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StoreIndexDiffTest {
+
+    private static final Version JAHIA_VERSION = new Version("8.2.0.0");
+
+    @Test
+    public void changedRequiredVersionOfTheLatestVersionAffectsTheModule() {
+        Map<String, StoreModuleEntry> previous = index(entry("forms", Arrays.asList("3.0.0", "3.1.0"),
+                Arrays.asList("8.0.0.0", "8.1.0.0")));
+        Map<String, StoreModuleEntry> current = index(entry("forms", Arrays.asList("3.0.0", "3.1.0"),
+                Arrays.asList("8.0.0.0", "8.1.6.0")));
+
+        StoreIndexDiff diff = StoreIndexDiff.compute(previous, current);
+
+        assertEquals(Set.of("forms"), diff.affectedModules);
+        assertTrue(diff.addedVersions.isEmpty());
+        assertTrue(diff.removedVersions.isEmpty());
+    }
+
+    @Test
+    public void changeOnAnOlderVersionOnlyDoesNotAffectTheModule() {
+        Map<String, StoreModuleEntry> previous = index(entry("forms", Arrays.asList("3.0.0", "3.1.0"),
+                Arrays.asList("8.0.0.0", "8.1.0.0")));
+        Map<String, StoreModuleEntry> current = index(entry("forms", Arrays.asList("3.0.0", "3.1.0"),
+                Arrays.asList("8.0.6.0", "8.1.0.0")));
+
+        assertTrue(StoreIndexDiff.compute(previous, current).isEmpty());
+    }
+
+    @Test
+    public void newLatestVersionAndAddedOrRemovedModulesAreReported() {
+        Map<String, StoreModuleEntry> previous = index(
+                entry("forms", Arrays.asList("3.0.0"), Arrays.asList("8.0.0.0")),
+                entry("news", Arrays.asList("1.0.0"), Arrays.asList("8.0.0.0")));
+        Map<String, StoreModuleEntry> current = index(
+                entry("forms", Arrays.asList("3.0.0", "3.1.0"), Arrays.asList("8.0.0.0", "8.1.0.0")),
+                entry("events", Arrays.asList("2.0.0"), Arrays.asList("8.0.0.0")));
+
+        StoreIndexDiff diff = StoreIndexDiff.compute(previous, current);
+
+        assertEquals(Set.of("events"), diff.addedModules);
+        assertEquals(Set.of("news"), diff.removedModules);
+        assertEquals(Set.of("forms/3.1.0"), diff.addedVersions);
+        assertEquals(Set.of("forms", "events", "news"), diff.affectedModules);
+    }
+
+    private static Map<String, StoreModuleEntry> index(StoreModuleEntry... entries) {
+        Map<String, StoreModuleEntry> index = new HashMap<>();
+        for (StoreModuleEntry entry : entries) {
+            index.put(entry.name, entry);
+        }
+        return index;
+    }
+
+    private static StoreModuleEntry entry(String name, List<String> versions, List<String> requiredVersions) {
+        return new StoreModuleEntry(name, "org.jahia.modules", null, null, null, versions,
+                Collections.nCopies(versions.size(), null), requiredVersions, JAHIA_VERSION);
+    }
+}
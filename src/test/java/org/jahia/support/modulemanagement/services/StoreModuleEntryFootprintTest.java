@@ -0,0 +1,162 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Test;
+import org.osgi.framework.Version;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Heap footprint of the per-version data of the index built from the bundled catalogue, against the layout
+ * it replaced: an {@code ArrayList} of versions plus two {@code LinkedHashMap}s keyed by version, holding the
+ * full download URLs and the required Jahia versions.
+ */
+public class StoreModuleEntryFootprintTest {
+
+    private static final String CATALOGUE = "modules-repository.moduleList.json";
+    private static final Version JAHIA_VERSION = new Version("8.2.0.0");
+    private static final List<String> PER_VERSION_FIELDS =
+            List.of("versions", "requiredVersions", "urlPrefix", "urlKinds", "urlSuffixes");
+
+    @Test
+    public void perVersionDataIsKeptInArraysWithoutVersionKeys() {
+        for (Field field : StoreModuleEntry.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            assertFalse(field.getName() + " must not be a map", Map.class.isAssignableFrom(field.getType()));
+            if (PER_VERSION_FIELDS.contains(field.getName())) {
+                assertTrue(field.getName() + " must be an array or a string",
+                        field.getType().isArray() || field.getType() == String.class);
+            } else {
+                assertFalse(field.getName() + " must not hold per-version data",
+                        field.getType().isArray() || Collection.class.isAssignableFrom(field.getType())
+                                && !"compatibleVersions".equals(field.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void catalogueTakesLessThanHalfTheHeapOfTheFormerLayout() throws Exception {
+        Map<String, StoreModuleEntry> index = catalogue();
+        Footprint compact = new Footprint();
+        Footprint former = new Footprint();
+        for (StoreModuleEntry entry : index.values()) {
+            for (String name : PER_VERSION_FIELDS) {
+                compact.add(field(entry, name));
+            }
+            addFormerLayout(former, entry);
+        }
+
+        assertTrue("Compact " + compact.bytes + " B, former " + former.bytes + " B",
+                compact.bytes * 2 < former.bytes);
+    }
+
+    /**
+     * The per-version data of {@code entry} as the former layout held it: the same version strings, a
+     * download URL string per version and required Jahia versions that were not shared.
+     */
+    private static void addFormerLayout(Footprint footprint, StoreModuleEntry entry) {
+        int count = entry.versionCount();
+        footprint.add(Footprint.ARRAY_LIST);
+        footprint.add(Footprint.referenceArray(count));
+        int downloadUrls = 0;
+        int requiredVersions = 0;
+        for (int i = 0; i < count; i++) {
+            footprint.add(entry.version(i));
+            String url = entry.downloadUrl(i);
+            if (url != null) {
+                footprint.add(url);
+                downloadUrls++;
+            }
+            String required = entry.requiredVersion(i);
+            if (required != null) {
+                footprint.add(new String(required));
+                requiredVersions++;
+            }
+        }
+        footprint.add(Footprint.linkedHashMap(downloadUrls));
+        footprint.add(Footprint.linkedHashMap(requiredVersions));
+    }
+
+    private static Object field(StoreModuleEntry entry, String name) throws ReflectiveOperationException {
+        Field field = StoreModuleEntry.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(entry);
+    }
+
+    private Map<String, StoreModuleEntry> catalogue() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CATALOGUE)) {
+            assertNotNull(CATALOGUE + " must be on the classpath", in);
+            return StoreCatalogueParser.parse(in, Long.MAX_VALUE, JAHIA_VERSION);
+        }
+    }
+
+    /**
+     * Shallow sizes on a 64-bit JVM with compressed references, summed once per instance so that shared
+     * strings count once. Latin-1 strings only, which is what the catalogue holds.
+     */
+    private static final class Footprint {
+        static final int ARRAY_LIST = 24;
+        private static final int STRING = 24;
+        private static final int LINKED_HASH_MAP = 56;
+        private static final int LINKED_HASH_MAP_ENTRY = 40;
+
+        private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes;
+
+        void add(long size) {
+            bytes += size;
+        }
+
+        void add(Object value) {
+            if (value != null && seen.add(value)) {
+                if (value instanceof String) {
+                    bytes += STRING + align(16 + ((String) value).length());
+                } else if (value instanceof byte[]) {
+                    bytes += align(16 + ((byte[]) value).length);
+                } else if (value instanceof Object[]) {
+                    Object[] array = (Object[]) value;
+                    bytes += referenceArray(array.length);
+                    for (Object element : array) {
+                        add(element);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Not sized: " + value.getClass());
+                }
+            }
+        }
+
+        static long referenceArray(int length) {
+            return align(16 + 4L * length);
+        }
+
+        /**
+         * A map of {@code size} entries whose keys and values are counted separately: the map, its table
+         * (a power of two keeping the load under 0.75) and its entries.
+         */
+        static long linkedHashMap(int size) {
+            int table = 16;
+            while (size > table * 3 / 4) {
+                table *= 2;
+            }
+            return LINKED_HASH_MAP + referenceArray(table) + (long) LINKED_HASH_MAP_ENTRY * size;
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
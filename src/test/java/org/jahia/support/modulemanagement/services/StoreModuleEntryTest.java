@@ -0,0 +1,113 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.Test;
+import org.osgi.framework.Version;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StoreModuleEntryTest {
+
+    private static final Version JAHIA_VERSION = new Version("8.2.0.0");
+    private static final String REPOSITORY = "https://store.jahia.com/cms/mavenproxy/private-app-store/org/jahia/modules/forms/";
+
+    @Test
+    public void everyKindOfDownloadUrlIsRebuiltAsGiven() {
+        List<String> urls = Arrays.asList(
+                REPOSITORY + "3.0.0/forms-3.0.0.jar",             // Maven layout
+                REPOSITORY + "3.1.0/forms-3.1.0-patched.jar",     // shares the prefix
+                "https://mirror.example.com/forms-3.2.0.jar",     // unrelated URL
+                null,                                             // no direct download
+                REPOSITORY + "3.4.0/forms-3.4.0.jar");
+        StoreModuleEntry entry = entry("forms", Arrays.asList("3.0.0", "3.1.0", "3.2.0", "3.3.0", "3.4.0"), urls);
+
+        for (int i = 0; i < urls.size(); i++) {
+            assertEquals(urls.get(i), entry.downloadUrl(i));
+        }
+        assertEquals(urls.get(2), entry.downloadUrl("3.2.0"));
+        assertNull("Unknown version", entry.downloadUrl("9.9.9"));
+    }
+
+    @Test
+    public void urlsWithoutMavenLayoutShareTheirCommonFolder() {
+        List<String> urls = Arrays.asList(
+                "https://downloads.example.com/forms/forms-release-1.jar",
+                "https://downloads.example.com/forms/forms-release-2.jar");
+        StoreModuleEntry entry = entry("forms", Arrays.asList("1.0.0", "2.0.0"), urls);
+
+        assertEquals(urls.get(0), entry.downloadUrl("1.0.0"));
+        assertEquals(urls.get(1), entry.downloadUrl("2.0.0"));
+    }
+
+    @Test
+    public void groupIdAndRequiredVersionsAreShared() {
+        StoreModuleEntry forms = entry(new String("org.jahia.modules"), "forms",
+                Arrays.asList(new String("8.1.0.0"), null));
+        StoreModuleEntry news = entry(new String("org.jahia.modules"), "news",
+                Arrays.asList(new String("8.1.0.0"), new String("8.2.0.0")));
+
+        assertSame(forms.groupId, news.groupId);
+        assertSame(forms.requiredVersion(0), news.requiredVersion(0));
+        assertNull(forms.requiredVersion(1));
+        assertEquals("8.2.0.0", news.requiredVersion("2.0.0"));
+    }
+
+    @Test
+    public void compatibleVersionsAreReleasesForTheRunningJahiaNewestFirst() {
+        StoreModuleEntry entry = entry("forms",
+                Arrays.asList("1.2.0", "1.10.0", "2.0.0", "1.11.0-SNAPSHOT", "0.9.0", "1.9.0"),
+                Collections.nCopies(6, null),
+                Arrays.asList("8.0.0.0", "8.1.6.0", "8.2.1.0", null, "7.3.0.0", "bad"));
+
+        assertEquals(Arrays.asList("1.10.0", "1.9.0", "1.2.0"), entry.compatibleVersions);
+        assertEquals("1.10.0", entry.latestCompatibleVersion);
+        assertEquals(VersionCache.parseOrNull("1.10.0"), entry.latestCompatibleParsed);
+        assertEquals(6, entry.versionCount());
+        assertTrue(entry.hasVersion("2.0.0"));
+        assertFalse(entry.hasVersion("3.0.0"));
+    }
+
+    @Test
+    public void entryWithoutCompatibleReleaseHasNoLatestVersion() {
+        StoreModuleEntry entry = entry("forms", Arrays.asList("1.0.0-SNAPSHOT", "2.0.0"),
+                Arrays.asList(null, null), Arrays.asList(null, "9.0.0.0"));
+
+        assertTrue(entry.compatibleVersions.isEmpty());
+        assertNull(entry.latestCompatibleVersion);
+        assertNull(entry.latestCompatibleParsed);
+    }
+
+    @Test
+    public void requiredVersionIsCheckedWithinTheSameMajor() {
+        assertTrue(StoreModuleEntry.isCompatibleWithJahia(null, JAHIA_VERSION));
+        assertTrue(StoreModuleEntry.isCompatibleWithJahia("", JAHIA_VERSION));
+        assertTrue(StoreModuleEntry.isCompatibleWithJahia("8.2.0.0", JAHIA_VERSION));
+        assertTrue(StoreModuleEntry.isCompatibleWithJahia("8.1.6.0", JAHIA_VERSION));
+        assertFalse(StoreModuleEntry.isCompatibleWithJahia("8.2.1.0", JAHIA_VERSION));
+        assertFalse(StoreModuleEntry.isCompatibleWithJahia("7.3.0.0", JAHIA_VERSION));
+        assertTrue("Unparseable requirements do not hide a version",
+                StoreModuleEntry.isCompatibleWithJahia("eight", JAHIA_VERSION));
+    }
+
+    private static StoreModuleEntry entry(String groupId, String name, List<String> requiredVersions) {
+        return new StoreModuleEntry(name, groupId, null, null, null, Arrays.asList("1.0.0", "2.0.0"),
+                Arrays.asList(null, null), requiredVersions, JAHIA_VERSION);
+    }
+
+    private static StoreModuleEntry entry(String name, List<String> versions, List<String> downloadUrls) {
+        return entry(name, versions, downloadUrls, Collections.nCopies(versions.size(), null));
+    }
+
+    private static StoreModuleEntry entry(String name, List<String> versions, List<String> downloadUrls,
+                                          List<String> requiredVersions) {
+        return new StoreModuleEntry(name, "org.jahia.modules", null, null, null, versions, downloadUrls,
+                requiredVersions, JAHIA_VERSION);
+    }
+}
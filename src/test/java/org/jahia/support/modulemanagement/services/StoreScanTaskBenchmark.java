@@ -0,0 +1,88 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Store index scan on the calling thread and on pools of 1, 2, 4 and as many threads as processors. The
+ * installed bundles are the modules of the bundled catalogue, each at an old version, so that every one
+ * is looked up, compared and most of them reported; then the same list sixteen times over, for larger
+ * installations. Allocations are those of the calling thread only, so they are not comparable between
+ * the scan on the calling thread and the scans in a pool.
+ */
+public class StoreScanTaskBenchmark {
+
+    private static final String CATALOGUE = "modules-repository.moduleList.json";
+    private static final org.osgi.framework.Version JAHIA_VERSION = new org.osgi.framework.Version("8.2.0.0");
+    private static final int THRESHOLD = 64;
+    private static final int LARGE_INSTALLATION_COPIES = 16;
+
+    @Test
+    public void scanOnPoolsOfOneToAllProcessors() throws Exception {
+        Map<String, StoreModuleEntry> index = catalogue();
+        List<String> names = new ArrayList<>(index.keySet());
+        Collections.sort(names);
+        String[] installed = names.toArray(new String[0]);
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < LARGE_INSTALLATION_COPIES; i++) {
+            large.addAll(names);
+        }
+
+        scan("catalogue", installed, check(index));
+        scan("catalogue x" + LARGE_INSTALLATION_COPIES, large.toArray(new String[0]), check(index));
+    }
+
+    private static void scan(String name, String[] installed, BiConsumer<String, List<String>> check) throws Exception {
+        List<String> serial = StoreScanTask.scan(null, installed, THRESHOLD, check);
+        BenchmarkSupport.measure(name + ", calling thread", () -> StoreScanTask.scan(null, installed, THRESHOLD, check));
+        for (int threads : new TreeSet<>(List.of(1, 2, 4, Runtime.getRuntime().availableProcessors()))) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertEquals(serial, StoreScanTask.scan(pool, installed, THRESHOLD, check));
+                BenchmarkSupport.measure(name + ", " + threads + " thread(s)",
+                        () -> StoreScanTask.scan(pool, installed, THRESHOLD, check));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * What the service does for each installed module: index lookup, version comparison and the update
+     * with its download URL.
+     */
+    private static BiConsumer<String, List<String>> check(Map<String, StoreModuleEntry> index) {
+        return (module, updates) -> {
+            StoreModuleEntry entry = index.get(module);
+            try {
+                Version installed = VersionCache.parse("1.0.0");
+                if (entry.latestCompatibleVersion != null && entry.latestCompatibleParsed.compareTo(installed) > 0) {
+                    updates.add(module + "/" + entry.downloadUrl(entry.latestCompatibleVersion));
+                }
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private Map<String, StoreModuleEntry> catalogue() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CATALOGUE)) {
+            assertNotNull(CATALOGUE + " must be on the classpath", in);
+            return StoreCatalogueParser.parse(in, Long.MAX_VALUE, JAHIA_VERSION);
+        }
+    }
+}
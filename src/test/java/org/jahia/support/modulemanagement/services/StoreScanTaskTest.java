@@ -0,0 +1,88 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StoreScanTaskTest {
+
+    private static final int THRESHOLD = 16;
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void parallelScanFindsWhatTheSerialScanFindsInTheSameOrder() {
+        Integer[] bundles = new Integer[1_000];
+        for (int i = 0; i < bundles.length; i++) {
+            bundles[i] = i;
+        }
+        // Stands for the store index lookup: only some bundles have an update, some have several
+        BiConsumer<Integer, List<String>> check = (bundle, updates) -> {
+            if (bundle % 3 == 0) {
+                updates.add("update-" + bundle);
+            }
+            if (bundle % 100 == 0) {
+                updates.add("dependency-" + bundle);
+            }
+        };
+
+        List<String> serial = StoreScanTask.scan(null, bundles, THRESHOLD, check);
+        List<String> parallel = StoreScanTask.scan(pool, bundles, THRESHOLD, check);
+
+        assertEquals(334 + 10, serial.size());
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    public void everyBundleIsCheckedOnceAndInThePool() {
+        Integer[] bundles = new Integer[THRESHOLD * 10 + 3];
+        for (int i = 0; i < bundles.length; i++) {
+            bundles[i] = i;
+        }
+        Set<Integer> checked = ConcurrentHashMap.newKeySet();
+        boolean[] outsidePool = {false};
+
+        List<Integer> found = StoreScanTask.scan(pool, bundles, THRESHOLD, (Integer bundle, List<Integer> updates) -> {
+            assertTrue("Bundle " + bundle + " checked twice", checked.add(bundle));
+            if (!ForkJoinTask.inForkJoinPool()) {
+                outsidePool[0] = true;
+            }
+            updates.add(bundle);
+        });
+
+        assertEquals(bundles.length, checked.size());
+        assertEquals(bundles.length, found.size());
+        assertFalse(outsidePool[0]);
+    }
+
+    @Test
+    public void smallScanRunsOnTheCallingThread() {
+        Integer[] bundles = {1, 2, 3};
+
+        List<Boolean> inPool = StoreScanTask.scan(pool, bundles, THRESHOLD,
+                (Integer bundle, List<Boolean> updates) -> updates.add(ForkJoinTask.inForkJoinPool()));
+
+        assertEquals(List.of(false, false, false), inPool);
+    }
+}
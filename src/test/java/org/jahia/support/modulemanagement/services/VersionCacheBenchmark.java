@@ -0,0 +1,72 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Newest-first sort of a shuffled list of 200 versions through {@link VersionCache#sortNewestFirst}, against
+ * the comparator it replaced, which parsed both sides of every comparison.
+ */
+public class VersionCacheBenchmark {
+
+    private static final int VERSIONS = 200;
+
+    @Test
+    public void sortWithCachedVersionsAgainstParsingInTheComparator() throws Exception {
+        List<String> versions = versions();
+        List<String> expected = uncachedSort(versions);
+        assertEquals(expected, cachedSort(versions));
+
+        BenchmarkSupport.Result cached = BenchmarkSupport.measure(VERSIONS + " versions, sortNewestFirst",
+                () -> cachedSort(versions));
+        BenchmarkSupport.Result uncached = BenchmarkSupport.measure(VERSIONS + " versions, parse in comparator",
+                () -> uncachedSort(versions));
+
+        assertTrue("Sorting on cached versions must allocate less than parsing in the comparator",
+                cached.allocatedBytes < uncached.allocatedBytes);
+    }
+
+    private static List<String> cachedSort(List<String> versions) {
+        List<String> sorted = new ArrayList<>(versions);
+        VersionCache.sortNewestFirst(sorted, Function.identity());
+        return sorted;
+    }
+
+    private static List<String> uncachedSort(List<String> versions) {
+        VersionScheme scheme = new GenericVersionScheme();
+        List<String> sorted = new ArrayList<>(versions);
+        sorted.sort(Comparator.comparing((String v) -> {
+            try {
+                return scheme.parseVersion(v);
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IllegalStateException(e);
+            }
+        }).reversed());
+        return sorted;
+    }
+
+    /**
+     * Releases, milestones and snapshots across a few major versions, in a fixed random order.
+     */
+    private static List<String> versions() {
+        List<String> versions = new ArrayList<>(VERSIONS);
+        for (int i = 0; versions.size() < VERSIONS; i++) {
+            String release = (1 + i / 40) + "." + (i / 8 % 5) + "." + (i % 8);
+            versions.add(i % 5 == 4 ? release + "-SNAPSHOT" : i % 7 == 6 ? release + "-M1" : release);
+        }
+        Collections.shuffle(versions, new Random(42));
+        return versions;
+    }
+}
@@ -0,0 +1,86 @@
+package org.jahia.support.modulemanagement.services;
+
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VersionCacheTest {
+
+    @Test
+    public void sameStringGivesTheSameInstance() throws InvalidVersionSpecificationException {
+        String version = "3.2.1";
+
+        assertSame(VersionCache.parse(version), VersionCache.parse(new String(version)));
+        assertSame(VersionCache.parse(version), VersionCache.parseOrNull(version));
+        assertEquals("3.2.1", VersionCache.parse(version).toString());
+    }
+
+    @Test
+    public void nullIsNotAVersion() {
+        assertNull(VersionCache.parseOrNull(null));
+        try {
+            VersionCache.parse(null);
+            fail("null must be rejected");
+        } catch (InvalidVersionSpecificationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void versionsAreComparedNumerically() throws InvalidVersionSpecificationException {
+        assertTrue(VersionCache.parse("1.10.0").compareTo(VersionCache.parse("1.9.0")) > 0);
+        assertTrue(VersionCache.parse("2.0.0").compareTo(VersionCache.parse("2.0.0-SNAPSHOT")) > 0);
+    }
+
+    @Test
+    public void itemsAreSortedNewestFirstWithNullVersionsLast() {
+        List<String[]> items = new ArrayList<>();
+        for (String version : Arrays.asList("1.2.0", null, "1.10.0", "1.2.0-SNAPSHOT", "1.9.0", "2.0.0")) {
+            items.add(new String[]{version});
+        }
+
+        VersionCache.sortNewestFirst(items, item -> item[0]);
+
+        List<String> sorted = new ArrayList<>();
+        items.forEach(item -> sorted.add(item[0]));
+        assertEquals(Arrays.asList("2.0.0", "1.10.0", "1.9.0", "1.2.0", "1.2.0-SNAPSHOT", null), sorted);
+    }
+
+    @Test
+    public void sortParsesEachVersionOnce() {
+        List<String> items = new ArrayList<>(Arrays.asList("1.0.0", "3.0.0", "2.0.0", "1.5.0"));
+        int[] calls = {0};
+        Function<String, String> versionOf = item -> {
+            calls[0]++;
+            return item;
+        };
+
+        VersionCache.sortNewestFirst(items, versionOf);
+
+        assertEquals(Arrays.asList("3.0.0", "2.0.0", "1.5.0", "1.0.0"), items);
+        assertEquals(4, calls[0]);
+    }
+
+    @Test
+    public void cacheStaysBoundedAndCorrectPastItsLimit() throws InvalidVersionSpecificationException {
+        for (int i = 0; i < VersionCache.MAX_ENTRIES + 1_000; i++) {
+            VersionCache.parseOrNull("1." + i + ".0");
+            assertTrue(VersionCache.size() <= VersionCache.MAX_ENTRIES);
+        }
+
+        assertNotNull(VersionCache.parseOrNull("1.42.0"));
+        assertEquals("1.42.0", VersionCache.parse("1.42.0").toString());
+        assertTrue(VersionCache.parse("1.17000.0").compareTo(VersionCache.parse("1.42.0")) > 0);
+    }
+}